@@ -0,0 +1,162 @@
+package Benchmarks;
+
+import Entities.Job;
+import Entities.JobSeeker;
+import Entities.Location;
+import Entities.Recruiter;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Generates synthetic jobs, job seekers and search terms for the benchmarks. Text is drawn from a fixed vocabulary
+ * with a skewed distribution, so a few words are common to most jobs and most words are rare, like real job ads. The
+ * same seed always gives the same corpus, so results can be compared between runs.
+ *
+ * @author Charlie Timlock, Levi Quilliam, Tim Perkins, and Merrill Nguyen
+ * @version 1.0
+ */
+public class Corpus
+{
+    private static final String[] TITLES = {"Software Engineer", "Java Developer", "Data Analyst", "Project Manager",
+            "Registered Nurse", "Accountant", "Sales Representative", "Graphic Designer", "Electrician",
+            "Civil Engineer", "Teacher", "Chef", "Marketing Coordinator", "Systems Administrator", "Pharmacist"};
+    private static final String[] LEVELS = {"Graduate", "Junior", "Intermediate", "Senior", "Lead", "Principal"};
+    private static final String[] CATEGORIES = {"Information Technology", "Healthcare", "Finance", "Education",
+            "Hospitality", "Construction", "Marketing", "Retail", "Engineering", "Government"};
+    private static final String[] WORK_TYPES = {"Full time", "Part time", "Contract", "Casual"};
+    private static final String[] ARRANGEMENTS = {"On site", "Remote", "Hybrid"};
+    /**
+     * Number of distinct made up words on top of the title, level and category words.
+     */
+    private static final int VOCABULARY_SIZE = 5000;
+
+    private final Random random;
+    private final String[] vocabulary;
+    private final Recruiter recruiter;
+    private final Location location;
+
+    /**
+     * Non-default constructor which creates a generator.
+     *
+     * @param seed The seed of the random numbers used to generate text.
+     */
+    public Corpus(long seed)
+    {
+        random = new Random(seed);
+        vocabulary = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < VOCABULARY_SIZE; i++)
+            vocabulary[i] = makeWord(i);
+        recruiter = new Recruiter("Bench", "Recruiter", "bench@recruiter.com", "password", new Date(0));
+        location = new Location(1, "Australia", "Victoria", "Melbourne", "3000");
+    }
+
+    /**
+     * Generates a list of advertised jobs, each with a unique id.
+     *
+     * @param count The number of jobs.
+     * @return The jobs.
+     */
+    public ArrayList<Job> jobs(int count)
+    {
+        ArrayList<Job> jobs = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++)
+        {
+            ArrayList<String> keywords = new ArrayList<>();
+            for (int k = 0; k < 3 + random.nextInt(6); k++)
+                keywords.add(word());
+            ArrayList<String> categories = new ArrayList<>();
+            categories.add(pick(CATEGORIES));
+            if (random.nextBoolean())
+                categories.add(pick(CATEGORIES));
+            jobs.add(new Job(i, pick(LEVELS) + " " + pick(TITLES), recruiter, new Date(0), new Date(0), null, "Bench Pty Ltd",
+                    categories, location, pick(WORK_TYPES), pick(ARRANGEMENTS), 40000 + random.nextInt(160) * 1000,
+                    pick(LEVELS), text(40 + random.nextInt(160)), true, keywords));
+        }
+        return jobs;
+    }
+
+    /**
+     * Generates a job seeker with a resume of about the given size.
+     *
+     * @param resumeKilobytes The approximate size of the resume text in kilobytes.
+     * @return The job seeker.
+     */
+    public JobSeeker jobSeeker(int resumeKilobytes)
+    {
+        ArrayList<String> keywords = new ArrayList<>();
+        for (int k = 0; k < 8; k++)
+            keywords.add(word());
+        return new JobSeeker("Bench", "Seeker", "bench@seeker.com", "password", new Date(0), pick(TITLES), pick(LEVELS),
+                "0400000000", resume(resumeKilobytes), location, new Date(0), keywords, 60000 + random.nextInt(100) * 1000);
+    }
+
+    /**
+     * Generates resume text of about the given size.
+     *
+     * @param kilobytes The approximate size of the text in kilobytes.
+     * @return The text.
+     */
+    public String resume(int kilobytes)
+    {
+        StringBuilder resume = new StringBuilder(kilobytes * 1024 + 16);
+        while (resume.length() < kilobytes * 1024)
+            resume.append(word()).append(random.nextInt(12) == 0 ? ". " : " ");
+        return resume.toString();
+    }
+
+    /**
+     * Generates a search term of one to four words, usually including a title word.
+     *
+     * @return The search term.
+     */
+    public String searchTerm()
+    {
+        StringBuilder term = new StringBuilder(pick(TITLES));
+        for (int i = random.nextInt(3); i > 0; i--)
+            term.append(' ').append(word());
+        return term.toString();
+    }
+
+    /**
+     * Generates text of the given number of words.
+     *
+     * @param words The number of words.
+     * @return The text.
+     */
+    public String text(int words)
+    {
+        StringBuilder text = new StringBuilder(words * 8);
+        for (int i = 0; i < words; i++)
+            text.append(word()).append(' ');
+        return text.toString();
+    }
+
+    /**
+     * Picks a word with a roughly Zipfian distribution, so the first words of the vocabulary are the most common.
+     */
+    private String word()
+    {
+        int index = (int) Math.floor(Math.pow(VOCABULARY_SIZE, random.nextDouble())) - 1;
+        return vocabulary[index];
+    }
+
+    private String pick(String[] values)
+    {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String makeWord(int index)
+    {
+        StringBuilder word = new StringBuilder();
+        String letters = "abcdefghijklmnopqrstuvwxyz";
+        int value = index + 26 * 26;
+        while (value > 0)
+        {
+            word.append(letters.charAt(value % 26));
+            value /= 26;
+        }
+        return word.toString();
+    }
+}
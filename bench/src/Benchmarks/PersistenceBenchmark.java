@@ -0,0 +1,204 @@
+package Benchmarks;
+
+import Database.DatabaseManager;
+import Entities.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency benchmarks of {@link DatabaseManager} against a scratch SQLite database in a temp file, seeded with
+ * recruiters, job seekers, jobs, applications and invitations in proportion to the number of jobs. Sample time mode
+ * reports the latency percentiles of each call as well as the mean.
+ * <p>
+ * The insert benchmarks add rows to the same database as the read benchmarks, so they are measured after the reads
+ * when the whole class is run.
+ *
+ * @author Charlie Timlock, Levi Quilliam, Tim Perkins, and Merrill Nguyen
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceBenchmark
+{
+    private static final int RECRUITERS = 50;
+    private static final int JOB_SEEKERS = 500;
+    private static final int STATES = 8;
+
+    @Param({"1000", "10000"})
+    public int jobCount;
+
+    private Path databaseFile;
+    private DatabaseManager db;
+    private Corpus corpus;
+    private Random random;
+    private ArrayList<Recruiter> recruiters;
+    private ArrayList<JobSeeker> jobSeekers;
+    private ArrayList<Job> jobs;
+    /**
+     * Jobs which have at least one application.
+     */
+    private ArrayList<Job> appliedJobs;
+    private int insertedJobSeekers;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException
+    {
+        databaseFile = Files.createTempFile("jobsearchie-bench", ".db");
+        db = new DatabaseManager(databaseFile.toString());
+        corpus = new Corpus(42);
+        random = new Random(42);
+
+        recruiters = new ArrayList<>();
+        for (int i = 0; i < RECRUITERS; i++)
+        {
+            Recruiter recruiter = new Recruiter("Bench", "Recruiter", "recruiter" + i + "@bench.com", "password", new Date(0), "Company " + i, "Hiring", "0400000000", new Date(0));
+            recruiters.add(db.insertRecruiter(recruiter));
+        }
+        jobSeekers = new ArrayList<>();
+        for (int i = 0; i < JOB_SEEKERS; i++)
+            jobSeekers.add(db.insertJobSeeker(newJobSeeker(i)));
+        insertedJobSeekers = JOB_SEEKERS;
+
+        ArrayList<Job> generated = corpus.jobs(jobCount);
+        generated.forEach(this::prepareForInsert);
+        jobs = db.insertJobs(generated).getInserted();
+
+        appliedJobs = new ArrayList<>();
+        for (int i = 0; i < jobCount; i++)
+        {
+            Job job = jobs.get(random.nextInt(jobs.size()));
+            db.insertApplication(new Application(pick(jobSeekers), job, ".pdf", ".pdf", "Pending", new Date(i * 1000L)));
+            appliedJobs.add(job);
+        }
+        for (int i = 0; i < jobCount / 4; i++)
+        {
+            Job job = pick(jobs);
+            db.insertInvitation(new Invitation(pick(jobSeekers), job.getAuthor(), job, new Date(i * 1000L), new Date(i * 2000L), job.getLocation(), "Please come in for an interview.", "In person", false));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException
+    {
+        db.close();
+        Files.deleteIfExists(databaseFile);
+        Files.deleteIfExists(Paths.get(databaseFile + "-wal"));
+        Files.deleteIfExists(Paths.get(databaseFile + "-shm"));
+    }
+
+    @Benchmark
+    public List<Job> getAllJobs()
+    {
+        return db.getAllJobs();
+    }
+
+    @Benchmark
+    public Job getJob()
+    {
+        return db.getJob(pick(jobs).getId());
+    }
+
+    @Benchmark
+    public List<Application> getJobApplications()
+    {
+        return db.getJobApplications(pick(appliedJobs));
+    }
+
+    /**
+     * Loads a job's applications and then each applicant, which loads the applicants in one batch.
+     */
+    @Benchmark
+    public List<JobSeeker> getJobApplicants()
+    {
+        ArrayList<JobSeeker> applicants = new ArrayList<>();
+        for (Application application : db.getJobApplications(pick(appliedJobs)))
+            applicants.add(application.getJobSeeker());
+        return applicants;
+    }
+
+    @Benchmark
+    public ApplicationCounts getApplicationCounts()
+    {
+        return db.getApplicationCounts(pick(appliedJobs));
+    }
+
+    /**
+     * Ranks a job's applicants by relevancy and picks out the first page, scoring only applicants not already scored.
+     */
+    @Benchmark
+    public List<Application> getRankedApplications()
+    {
+        return db.getRankedApplications(pick(appliedJobs), 20).getPage(0);
+    }
+
+    @Benchmark
+    public List<Invitation> getAllInvitations()
+    {
+        return db.getAllInvitations();
+    }
+
+    /**
+     * Loads every invitation and then each invitation's job, which loads the jobs in batches.
+     */
+    @Benchmark
+    public List<Job> getAllInvitedJobs()
+    {
+        ArrayList<Job> invitedJobs = new ArrayList<>();
+        for (Invitation invitation : db.getAllInvitations())
+            invitedJobs.add(invitation.getJob());
+        return invitedJobs;
+    }
+
+    @Benchmark
+    public Job insertJob() throws SQLException
+    {
+        Job job = corpus.jobs(1).get(0);
+        prepareForInsert(job);
+        return db.insertJob(job);
+    }
+
+    @Benchmark
+    public JobSeeker insertJobSeeker() throws SQLException
+    {
+        return db.insertJobSeeker(newJobSeeker(insertedJobSeekers++));
+    }
+
+    /**
+     * Gives a generated job a recruiter from the database and a location spread over several states, and clears its
+     * id so it can be inserted.
+     */
+    private void prepareForInsert(Job job)
+    {
+        job.setId(-1);
+        job.setAuthor(pick(recruiters));
+        int state = random.nextInt(STATES);
+        job.setLocation(new Location("Australia", "State " + state, "City " + random.nextInt(20), String.valueOf(3000 + state)));
+    }
+
+    private JobSeeker newJobSeeker(int number)
+    {
+        JobSeeker jobSeeker = corpus.jobSeeker(1 + random.nextInt(20));
+        jobSeeker.setEmail("seeker" + number + "@bench.com");
+        jobSeeker.setLocation(new Location("Australia", "State " + random.nextInt(STATES), "City " + random.nextInt(20), "3000"));
+        return jobSeeker;
+    }
+
+    private <T> T pick(List<T> values)
+    {
+        return values.get(random.nextInt(values.size()));
+    }
+}
@@ -0,0 +1,58 @@
+package Benchmarks;
+
+import Entities.Job;
+import Entities.JobSeeker;
+import Utilities.ScoringEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link Job#getPersonalRelevancy(JobSeeker)} over a whole corpus, one job at a time and on the
+ * {@link ScoringEngine}. The jobs' term vectors are made in setup, as they are once a job has been searched for.
+ *
+ * @author Charlie Timlock, Levi Quilliam, Tim Perkins, and Merrill Nguyen
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersonalRelevancyBenchmark
+{
+    @Param({"1000", "10000", "100000"})
+    public int jobCount;
+
+    @Param({"1", "20"})
+    public int resumeKilobytes;
+
+    private ArrayList<Job> jobs;
+    private JobSeeker jobSeeker;
+
+    @Setup
+    public void setUp()
+    {
+        Corpus corpus = new Corpus(42);
+        jobs = corpus.jobs(jobCount);
+        jobSeeker = corpus.jobSeeker(resumeKilobytes);
+        jobs.forEach(Job::getJobVector);
+    }
+
+    @Benchmark
+    public long sequential()
+    {
+        long total = 0;
+        for (Job job : jobs)
+            total += job.getPersonalRelevancy(jobSeeker);
+        return total;
+    }
+
+    @Benchmark
+    public int[] scoringEngine()
+    {
+        return ScoringEngine.getDefault().score(jobs, job -> job.getPersonalRelevancy(jobSeeker));
+    }
+}
@@ -0,0 +1,70 @@
+package Benchmarks;
+
+import Entities.Job;
+import Utilities.RelevanceScorer;
+import Utilities.TermVector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link RelevanceScorer}, comparing a resume of each size against a job. Scoring raw text splits and
+ * hashes both texts every time, while scoring vectors reuses vectors which have already been made, as the search does.
+ *
+ * @author Charlie Timlock, Levi Quilliam, Tim Perkins, and Merrill Nguyen
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RelevanceScorerBenchmark
+{
+    @Param({"1", "5", "20"})
+    public int resumeKilobytes;
+
+    private String resume;
+    private String jobText;
+    private TermVector resumeVector;
+    private TermVector jobVector;
+    private HashMap<String, Integer> jobFields;
+    private String searchTerm;
+
+    @Setup
+    public void setUp()
+    {
+        Corpus corpus = new Corpus(42);
+        Job job = corpus.jobs(1).get(0);
+        resume = corpus.resume(resumeKilobytes);
+        jobText = job.getJobString();
+        resumeVector = TermVector.of(resume);
+        jobVector = TermVector.of(jobText);
+        jobFields = new HashMap<>();
+        jobFields.put(job.getJobTitle(), 50);
+        jobFields.put(String.join(" ", job.getKeywords()), 15);
+        jobFields.put(String.join(" ", job.getCategories()), 15);
+        jobFields.put(job.getDescription(), 20);
+        searchTerm = corpus.searchTerm();
+    }
+
+    @Benchmark
+    public int cosineScoreOfText()
+    {
+        return RelevanceScorer.getCosineScore(resume, jobText);
+    }
+
+    @Benchmark
+    public int cosineScoreOfVectors()
+    {
+        return RelevanceScorer.getCosineScore(resumeVector, jobVector);
+    }
+
+    @Benchmark
+    public int weightedCosine()
+    {
+        return RelevanceScorer.getCosine(jobFields, searchTerm);
+    }
+}
@@ -0,0 +1,113 @@
+package Benchmarks;
+
+import Database.DatabaseManager;
+import Entities.Job;
+import Entities.JobSeeker;
+import Entities.Recruiter;
+import Utilities.RankingMode;
+import Utilities.ResultPager;
+import Utilities.ScoringEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of a whole job seeker search without the prompts:
+ * {@link DatabaseManager#searchJobs(String, int, RankingMode)}, a minimum personal relevancy filter and the first page
+ * of results sorted by personal relevancy. The jobs are inserted into a scratch SQLite database in a temp file, so the
+ * search goes through the same index and job loading as the search screen. Each invocation searches for the next of a
+ * fixed set of search terms.
+ *
+ * @author Charlie Timlock, Levi Quilliam, Tim Perkins, and Merrill Nguyen
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchPipelineBenchmark
+{
+    /**
+     * The same limits as the job seeker search screen.
+     */
+    private static final int MAX_SEARCH_RESULTS = 200;
+    private static final int JOBS_PER_PAGE = 10;
+    private static final int MINIMUM_RELEVANCY = 20;
+    private static final int SEARCH_TERMS = 64;
+
+    @Param({"1000", "10000", "100000"})
+    public int jobCount;
+
+    @Param({"5"})
+    public int resumeKilobytes;
+
+    @Param({"COSINE", "BM25"})
+    public RankingMode rankingMode;
+
+    private Path databaseFile;
+    private DatabaseManager db;
+    private JobSeeker jobSeeker;
+    private String[] searchTerms;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException
+    {
+        databaseFile = Files.createTempFile("jobsearchie-search", ".db");
+        db = new DatabaseManager(databaseFile.toString());
+        Corpus corpus = new Corpus(42);
+        Recruiter recruiter = db.insertRecruiter(new Recruiter("Bench", "Recruiter", "bench@recruiter.com", "password", new Date(0), "Bench Pty Ltd", "Hiring", "0400000000", new Date(0)));
+        ArrayList<Job> jobs = corpus.jobs(jobCount);
+        for (Job job : jobs)
+        {
+            job.setId(-1);
+            job.setAuthor(recruiter);
+        }
+        db.insertJobs(jobs);
+
+        jobSeeker = corpus.jobSeeker(resumeKilobytes);
+        searchTerms = new String[SEARCH_TERMS];
+        for (int i = 0; i < SEARCH_TERMS; i++)
+            searchTerms[i] = corpus.searchTerm();
+        next = 0;
+        // The first search builds the index, so it is made before measuring.
+        db.searchJobs(searchTerms[0], MAX_SEARCH_RESULTS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException
+    {
+        db.close();
+        Files.deleteIfExists(databaseFile);
+        Files.deleteIfExists(Paths.get(databaseFile + "-wal"));
+        Files.deleteIfExists(Paths.get(databaseFile + "-shm"));
+        Path indexFile = databaseFile.resolveSibling(databaseFile.getFileName().toString().replaceFirst("\\.db$", ".idx"));
+        Files.deleteIfExists(indexFile);
+        Files.deleteIfExists(Paths.get(indexFile + ".log"));
+    }
+
+    @Benchmark
+    public List<Job> searchFilterAndSort()
+    {
+        String searchTerm = searchTerms[next++ % SEARCH_TERMS];
+        ArrayList<Job> results = db.searchJobs(searchTerm, MAX_SEARCH_RESULTS, rankingMode);
+        int[] relevancies = ScoringEngine.getDefault().score(results, job -> job.getPersonalRelevancy(jobSeeker));
+        ArrayList<Job> filtered = new ArrayList<>();
+        for (int i = 0; i < relevancies.length; i++)
+        {
+            if (relevancies[i] >= MINIMUM_RELEVANCY)
+                filtered.add(results.get(i));
+        }
+        return ResultPager.ranked(filtered, job -> job.getPersonalRelevancy(jobSeeker), true, JOBS_PER_PAGE).getPage(0);
+    }
+}
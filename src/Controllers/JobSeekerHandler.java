@@ -6,6 +6,8 @@ import Entities.Application;
 import Entities.Invitation;
 import Entities.Job;
 import Entities.JobSeeker;
+import Utilities.ResultPager;
+import Utilities.ScoringEngine;
 import Utilities.UserIO;
 
 import java.io.IOException;
@@ -25,6 +27,10 @@ public class JobSeekerHandler extends UserHandler
 {
 
     private static final int JOBS_PER_PAGE = 10;
+    /**
+     * The maximum number of jobs a single search will return.
+     */
+    private static final int MAX_SEARCH_RESULTS = 200;
 
     private static ArrayList<Job> applyFilter(ArrayList<Job> jobs, JobSeeker jobSeeker)
     {
@@ -105,7 +111,7 @@ public class JobSeekerHandler extends UserHandler
         }
     }
 
-    private static ArrayList<Job> applySort(ArrayList<Job> jobs, JobSeeker jobSeeker)
+    private static ResultPager<Job> applySort(ArrayList<Job> jobs, JobSeeker jobSeeker)
     {
         String[] options = new String[]{"Sort by personal relevancy descending", "Sort by compensation ascending", "Sort by compensation descending"};
         String option = UserIO.menuSelectorKey("Please select an option to sort by: ", options);
@@ -119,7 +125,7 @@ public class JobSeekerHandler extends UserHandler
                 return sortByCompensationAsc(jobs);
             default:
                 System.out.println("Error should not be able to reach here");
-                return jobs;
+                return ResultPager.inOrder(jobs, JOBS_PER_PAGE);
         }
     }
 
@@ -160,24 +166,12 @@ public class JobSeekerHandler extends UserHandler
         return options;
     }
 
-    private static ArrayList<Job> defaultFilter(ArrayList<Job> jobs, String searchTerm)
-    {
-        OptionalInt maxCosine = jobs.stream().mapToInt(job -> job.getCosine(searchTerm)).max();
-        OptionalInt minCosine = jobs.stream().mapToInt(job -> job.getCosine(searchTerm)).min();
-        return reverseJobs(jobs.stream().filter(job -> job.getCosine(searchTerm) >= ((maxCosine.getAsInt() - minCosine.getAsInt()) / 2)).filter(Job::getIsAdvertised).collect(Collectors.toCollection(ArrayList::new)));
-    }
-
-    private static ArrayList<Job> defaultSort(ArrayList<Job> jobs, String searchTerm)
-    {
-        return reverseJobs(jobs.stream().sorted(Comparator.comparing(job -> job.getCosine(searchTerm))).collect(Collectors.toCollection(ArrayList::new)));
-    }
-
     private static void displayJobDetail(Job job, JobSeeker jobSeeker)
     {
         UserIO.printBlock(job.getJobDetailMap(jobSeeker));
     }
 
-    private static void displayJobs(ArrayList<Job> jobs, JobSeeker jobSeeker, DatabaseManager db)
+    private static void displayJobs(ResultPager<Job> jobs, JobSeeker jobSeeker, DatabaseManager db)
     {
         int pageNo = 0;
         int totalPages = jobs.size() / JOBS_PER_PAGE;
@@ -185,13 +179,7 @@ public class JobSeekerHandler extends UserHandler
         do
         {
             UserIO.displayTitle("Search Results");
-            try
-            {
-                printJobs(jobs.subList(pageNo * JOBS_PER_PAGE, pageNo * JOBS_PER_PAGE + JOBS_PER_PAGE), jobSeeker, pageNo);
-            } catch (Exception e)
-            {
-                printJobs(jobs.subList(pageNo * JOBS_PER_PAGE, jobs.size()), jobSeeker, pageNo);
-            }
+            printJobs(jobs.getPage(pageNo), jobSeeker, pageNo);
             UserIO.printCenter("Page " + (pageNo + 1) + " of " + (totalPages + 1));
             ArrayList<String[]> options = buildJobOptions(pageNo, totalPages);
 
@@ -242,7 +230,7 @@ public class JobSeekerHandler extends UserHandler
     {
         UserIO.displayBody("Please enter the maximum personal relevancy you would like to filter by");
         int maximum = UserIO.getNumericAttribute(0, 100);
-        return jobs.stream().filter(job -> job.getPersonalRelevancy(jobSeeker) <= maximum).collect(Collectors.toCollection(ArrayList::new));
+        return filterByPersonalRelevancy(jobs, jobSeeker, 0, maximum);
     }
 
     private static ArrayList<Job> filterByMinimumCompensation(ArrayList<Job> jobs)
@@ -256,7 +244,28 @@ public class JobSeekerHandler extends UserHandler
     {
         UserIO.displayBody("Please enter the minimum personal relevancy you would like to filter by");
         int minimum = UserIO.getNumericAttribute(0, 100);
-        return jobs.stream().filter(job -> job.getPersonalRelevancy(jobSeeker) >= minimum).collect(Collectors.toCollection(ArrayList::new));
+        return filterByPersonalRelevancy(jobs, jobSeeker, minimum, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Keeps the jobs whose personal relevancy is within a range, scoring the jobs in parallel.
+     *
+     * @param jobs      The jobs to be filtered.
+     * @param jobSeeker The job seeker the relevancy is worked out for.
+     * @param minimum   The smallest relevancy kept.
+     * @param maximum   The largest relevancy kept.
+     * @return Returns the jobs within the range, in their original order.
+     */
+    private static ArrayList<Job> filterByPersonalRelevancy(ArrayList<Job> jobs, JobSeeker jobSeeker, int minimum, int maximum)
+    {
+        int[] relevancies = ScoringEngine.getDefault().score(jobs, job -> job.getPersonalRelevancy(jobSeeker));
+        ArrayList<Job> filtered = new ArrayList<>();
+        for (int i = 0; i < relevancies.length; i++)
+        {
+            if (relevancies[i] >= minimum && relevancies[i] <= maximum)
+                filtered.add(jobs.get(i));
+        }
+        return filtered;
     }
 
     private static ArrayList<Job> filterJobs(ArrayList<Job> jobs, JobSeeker jobSeeker)
@@ -303,17 +312,6 @@ public class JobSeekerHandler extends UserHandler
         }
     }
 
-    private static ArrayList<Job> reverseJobs(ArrayList<Job> jobs)
-    {
-        if (jobs.size() > 1)
-        {
-            Job value = jobs.remove(0);
-            reverseJobs(jobs);
-            jobs.add(value);
-        }
-        return jobs;
-    }
-
     /**
      * Main search method which is used by a job seeker.
      *
@@ -327,8 +325,7 @@ public class JobSeekerHandler extends UserHandler
         ArrayList<Job> jobs;
         do
         {
-            jobs = db.getAllJobs();
-            jobs = defaultFilter(jobs, searchTerm);
+            jobs = db.searchJobs(searchTerm, MAX_SEARCH_RESULTS);
             if (jobs.size() == 0)
             {
                 String[] options = new String[]{"Yes", "No"};
@@ -357,33 +354,40 @@ public class JobSeekerHandler extends UserHandler
                 }
             }
         } while (true);
-        jobs = sortJobs(jobs, jobSeeker, searchTerm);
-        displayJobs(jobs, jobSeeker, db);
+        displayJobs(sortJobs(jobs, jobSeeker), jobSeeker, db);
     }
 
-    private static ArrayList<Job> sortByCompensationAsc(ArrayList<Job> jobs)
+    private static ResultPager<Job> sortByCompensationAsc(ArrayList<Job> jobs)
     {
-        return jobs.stream().sorted(Comparator.comparing(Job::getCompensation)).collect(Collectors.toCollection(ArrayList::new));
+        return ResultPager.ranked(jobs, Job::getCompensation, false, JOBS_PER_PAGE);
     }
 
-    private static ArrayList<Job> sortByCompensationDec(ArrayList<Job> jobs)
+    private static ResultPager<Job> sortByCompensationDec(ArrayList<Job> jobs)
     {
-        return reverseJobs(jobs.stream().sorted(Comparator.comparing(Job::getCompensation)).collect(Collectors.toCollection(ArrayList::new)));
+        return ResultPager.ranked(jobs, Job::getCompensation, true, JOBS_PER_PAGE);
     }
 
-    private static ArrayList<Job> sortByRelevancy(ArrayList<Job> jobs, JobSeeker jobSeeker)
+    private static ResultPager<Job> sortByRelevancy(ArrayList<Job> jobs, JobSeeker jobSeeker)
     {
-        return reverseJobs(jobs.stream().sorted(Comparator.comparing(job -> job.getPersonalRelevancy(jobSeeker))).collect(Collectors.toCollection(ArrayList::new)));
+        return ResultPager.ranked(jobs, job -> job.getPersonalRelevancy(jobSeeker), true, JOBS_PER_PAGE);
     }
 
-    private static ArrayList<Job> sortJobs(ArrayList<Job> jobs, JobSeeker jobSeeker, String searchTerm)
+    /**
+     * Asks the job seeker how to sort the results. Search results are already ordered by relevance to the search term,
+     * so they are left as they are if no sort is selected.
+     *
+     * @param jobs      The search results.
+     * @param jobSeeker The job seeker who is searching.
+     * @return Returns a pager over the sorted jobs.
+     */
+    private static ResultPager<Job> sortJobs(ArrayList<Job> jobs, JobSeeker jobSeeker)
     {
         String[] options = new String[]{"Yes", "No"};
         String selection = UserIO.menuSelectorKey("Would you like to sort the result?", options);
         if (selection.equals("0"))
             return applySort(jobs, jobSeeker);
         else
-            return defaultSort(jobs, searchTerm);
+            return ResultPager.inOrder(jobs, JOBS_PER_PAGE);
     }
 
     /**
@@ -414,21 +418,29 @@ public class JobSeekerHandler extends UserHandler
         UserIO.printBlock(invitation.getInvitationDetailMap());
     }
 
-    public void displayInvitations(ArrayList<Invitation> invitations, DatabaseManager db)
+    /**
+     * Shows the invitations sent to a job seeker a page at a time. Only the page being shown is read from the database,
+     * and an invitation's job is only loaded if its details are viewed.
+     *
+     * @param jobSeeker       The job seeker who is currently logged in.
+     * @param invitationCount The number of invitations the job seeker has.
+     * @param db              The database instance which is used throughout the program.
+     */
+    public void displayInvitations(JobSeeker jobSeeker, int invitationCount, DatabaseManager db)
     {
+        // The last invitation of the page before each page, so each page starts where the previous one ended.
+        ArrayList<Invitation> pageStarts = new ArrayList<>();
+        pageStarts.add(null);
         int pageNo = 0;
-        int totalPages = invitations.size() / JOBS_PER_PAGE;
+        int totalPages = invitationCount / JOBS_PER_PAGE;
         label:
         do
         {
             UserIO.displayTitle("Invitations");
-            try
-            {
-                printInvitations(invitations.subList(pageNo * JOBS_PER_PAGE, pageNo * JOBS_PER_PAGE + JOBS_PER_PAGE), pageNo);
-            } catch (Exception e)
-            {
-                printInvitations(invitations.subList(pageNo * JOBS_PER_PAGE, invitations.size()), pageNo);
-            }
+            ArrayList<Invitation> invitations = db.getJobSeekerInvitations(jobSeeker, pageStarts.get(pageNo), JOBS_PER_PAGE);
+            if (invitations == null)
+                invitations = new ArrayList<>();
+            printInvitations(invitations, pageNo);
             UserIO.printCenter("Page " + (pageNo + 1) + " of " + (totalPages + 1));
             ArrayList<String[]> options = buildInvitationOptions(pageNo, totalPages);
 
@@ -440,12 +452,20 @@ public class JobSeekerHandler extends UserHandler
                     pageNo--;
                     break;
                 case "next":
-                    pageNo++;
+                    if (!invitations.isEmpty())
+                    {
+                        if (pageStarts.size() == pageNo + 1)
+                            pageStarts.add(invitations.get(invitations.size() - 1));
+                        pageNo++;
+                    }
                     break;
                 case "home":
                     break label;
                 default:
-                    Invitation invitation = invitations.get(Integer.parseInt(stringSelection) - 1);
+                    int index = Integer.parseInt(stringSelection) - 1 - pageNo * JOBS_PER_PAGE;
+                    if (index >= invitations.size())
+                        break;
+                    Invitation invitation = invitations.get(index);
                     boolean flag = true;
                     while (flag)
                     {
@@ -455,7 +475,13 @@ public class JobSeekerHandler extends UserHandler
                         UserIO.clearScreen();
                         switch (selection)
                         {
-                            case "0" -> showInterviewJobDetails(invitation.getJob(), invitation.getJobSeeker());
+                            case "0" -> {
+                                Job job = invitation.getJob();
+                                if (job == null)
+                                    UserIO.displayBody("The details of this job could not be loaded.");
+                                else
+                                    showInterviewJobDetails(job, invitation.getJobSeeker());
+                            }
                             case "1", "2" -> UserIO.comingSoon();
                             default -> flag = false;
                         }
@@ -495,18 +521,22 @@ public class JobSeekerHandler extends UserHandler
         } while (flag);
     }
 
+    /**
+     * Shows the job seeker's interview invitations, reading only their own invitations from the database.
+     *
+     * @param jobSeeker The job seeker who is currently logged in.
+     * @param db        The database instance which is used throughout the program.
+     */
     public void jobInterviews(JobSeeker jobSeeker, DatabaseManager db)
     {
-        ArrayList<Invitation> invitations;
-        invitations = db.getAllInvitations();
-        invitations.removeIf(invitation -> invitation.getJobSeeker().getEmail().equals(jobSeeker.getEmail()));
-        if (invitations.size() == 0)
+        int invitationCount = db.countJobSeekerInvitations(jobSeeker);
+        if (invitationCount <= 0)
         {
             String[] options = new String[]{"Home"};
             UserIO.menuSelectorKey("Unfortunately you do not currently have any invitations, try applying for some more jobs.", options);
             return;
         }
-        displayInvitations(invitations, db);
+        displayInvitations(jobSeeker, invitationCount, db);
     }
 
     /**
@@ -1,11 +1,15 @@
 package Controllers;
 
 import Database.DatabaseManager;
+import Database.JobQuery;
 import Entities.*;
+import Utilities.ResultPager;
 import Utilities.UserIO;
 
+import java.sql.Date;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 
 /**
@@ -21,20 +25,24 @@ public class RecruiterHandler extends UserHandler
      * The number of jobs to display on each page when viewing their listed jobs.
      */
     public static final int JOBS_PER_PAGE = 10;
+    /**
+     * The number of applicants to display on each page when screening a job's applicants.
+     */
+    public static final int APPLICANTS_PER_PAGE = 20;
 
     /**
-     * User the UserIO class to print a list of jobs in a table format.
+     * User the UserIO class to print a list of job summaries in a table format.
      *
-     * @param jobs   A list of jobs to be printed in the table.
+     * @param jobs   A list of job summaries to be printed in the table.
      * @param pageNo The page number to determine which job to print.
      */
-    private static void printJobs(List<Job> jobs, int pageNo)
+    private static void printJobs(List<JobSummary> jobs, int pageNo)
     {
-        UserIO.printJobHeading(false);
+        UserIO.printJobSummaryHeading();
         int counter = 1;
-        for (Job job : jobs)
+        for (JobSummary job : jobs)
         {
-            UserIO.printJobSummary(job, (pageNo * 10 + counter));
+            UserIO.printJobSummary(job, (pageNo * JOBS_PER_PAGE + counter));
             counter++;
         }
     }
@@ -161,11 +169,15 @@ public class RecruiterHandler extends UserHandler
         while (flag)
         {
             displayJobDetail(job);
+            ApplicationCounts counts = db.getApplicationCounts(job);
+            if (counts != null)
+                UserIO.printBlock(counts.getApplicationCountsDetailMap());
             UserIO.displayHeading("Options for jobs");
             String[] options = {
                     "View job applicants",
+                    "Screen job applicants by relevancy",
                     "Search for highly ranked job seekers (coming soon)",
-                    "Change advertising status of this job (coming soon)",
+                    job.getIsAdvertised() ? "Stop advertising this job" : "Advertise this job",
                     "Update this job (coming soon)",
                     "Delete this job (coming soon)",
                     "Back"
@@ -174,12 +186,49 @@ public class RecruiterHandler extends UserHandler
             switch (userInput)
             {
                 case "0" -> viewJobApplicants(db, job);
-                case "1", "2", "3", "4" -> UserIO.comingSoon();
-                case "5" -> flag = false;
+                case "1" -> screenJobApplicants(db, job);
+                case "3" -> changeAdvertisingStatus(db, job);
+                case "2", "4", "5" -> UserIO.comingSoon();
+                case "6" -> flag = false;
             }
         }
     }
 
+    /**
+     * Stops advertising an advertised job, or advertises a job which isn't advertised from today.
+     *
+     * @param db  The DatabaseManager handling the databaseIO.
+     * @param job The Job to change.
+     */
+    public void changeAdvertisingStatus(DatabaseManager db, Job job)
+    {
+        boolean advertised = job.getIsAdvertised();
+        Date dateListed = job.getDateListed();
+        Date dateDelisted = job.getDateDeListed();
+        try
+        {
+            if (advertised)
+            {
+                db.delistJob(job);
+                UserIO.displayBody("The job is no longer advertised.");
+            } else
+            {
+                job.setIsAdvertised(true);
+                job.setDateListed(new Date(System.currentTimeMillis()));
+                job.setDateDeListed(null);
+                db.updateJob(job);
+                UserIO.displayBody("The job is now advertised.");
+            }
+        } catch (SQLException e)
+        {
+            job.setIsAdvertised(advertised);
+            job.setDateListed(dateListed);
+            job.setDateDeListed(dateDelisted);
+            System.out.println("Couldn't change advertising status: " + e.getMessage());
+            UserIO.displayBody("The advertising status could not be changed at this time. Please try again later.");
+        }
+    }
+
     /**
      * Method to ask the recruiter to review their job posting and then post their job.
      *
@@ -270,6 +319,69 @@ public class RecruiterHandler extends UserHandler
         viewJobApplicantsMenu();
     }
 
+    /**
+     * Method to screen the applicants for a job, showing the most relevant applicants first a page at a time.
+     *
+     * @param db  The DatabaseManager handling the databaseIO.
+     * @param job The Job to screen applicants for.
+     */
+    public void screenJobApplicants(DatabaseManager db, Job job)
+    {
+        ResultPager<Application> applications = db.getRankedApplications(job, APPLICANTS_PER_PAGE);
+        if (applications == null)
+        {
+            UserIO.displayBody("The applicants could not be loaded.");
+            return;
+        }
+        int pageNo = 0;
+        int totalPages = Math.max(applications.size() - 1, 0) / APPLICANTS_PER_PAGE;
+        label:
+        do
+        {
+            UserIO.displayHeading("Most relevant applicants for " + job.getJobTitle());
+            int end = Math.min((pageNo + 1) * APPLICANTS_PER_PAGE, applications.size());
+            for (int rank = pageNo * APPLICANTS_PER_PAGE; rank < end; rank++)
+            {
+                UserIO.printBlock("Rank", String.valueOf(rank + 1));
+                UserIO.printBlock("Personal Relevancy", String.valueOf(applications.getKey(rank)));
+                displayApplicationDetail(applications.get(rank));
+                System.out.println("\n");
+            }
+            UserIO.printCenter("Page " + (pageNo + 1) + " of " + (totalPages + 1));
+            ArrayList<String[]> options = buildApplicantOptions(pageNo, totalPages);
+            String stringSelection = UserIO.getSelection("Please select one of the above options", options);
+            switch (stringSelection)
+            {
+                case "previous":
+                    pageNo--;
+                    break;
+                case "next":
+                    pageNo++;
+                    break;
+                case "back":
+                    break label;
+            }
+        } while (true);
+    }
+
+    /**
+     * Builds options for screening a job's applicants.
+     *
+     * @param pageNo     The page number of applicants to display.
+     * @param totalPages The total number of pages of applicants.
+     * @return Returns a list of options the Recruiter can then select based on the given inputs.
+     */
+    private static ArrayList<String[]> buildApplicantOptions(int pageNo, int totalPages)
+    {
+        ArrayList<String[]> options = new ArrayList<>();
+        if (pageNo < totalPages)
+            options.add(new String[]{"`next` to got to the next page:", "next"});
+        if (pageNo > 0)
+            options.add(new String[]{"`previous` to got to the previous page:", "previous"});
+        options.add(new String[]{"`back` to return to the job:", "back"});
+        return options;
+    }
+
     /**
      * Provides menu options when job applications screen is active.
      */
@@ -303,21 +415,26 @@ public class RecruiterHandler extends UserHandler
     public void viewMyJobs(Recruiter recruiter, DatabaseManager db)
     {
         UserIO.displayTitle("Viewing my Jobs");
-        ArrayList<Job> jobs = db.getAllJobs();
-        jobs.removeIf(job -> !job.getAuthor().getEmail().equals(recruiter.getEmail()));
+        JobQuery query = new JobQuery();
+        query.setRecruiterEmail(recruiter.getEmail());
+        query.setLimit(JOBS_PER_PAGE);
+        // The id each page starts after, so the database only reads the page being shown.
+        ArrayList<Integer> pageStarts = new ArrayList<>(List.of(0));
 
         int pageNo = 0;
-        int totalPages = jobs.size() / JOBS_PER_PAGE;
+        int totalPages = Math.max(db.countJobs(query), 0) / JOBS_PER_PAGE;
         label:
         do
         {
-            try
-            {
-                printJobs(jobs.subList(pageNo * JOBS_PER_PAGE, pageNo * JOBS_PER_PAGE + JOBS_PER_PAGE), pageNo);
-            } catch (Exception e)
-            {
-                printJobs(jobs.subList(pageNo * JOBS_PER_PAGE, jobs.size()), pageNo);
-            }
+            query.setAfterId(pageStarts.get(pageNo));
+            ArrayList<JobSummary> jobs = db.getJobSummaries(query);
+            if (jobs == null)
+                jobs = new ArrayList<>();
+            // Totals across every job, kept up to date without loading any applications.
+            LinkedHashMap<Integer, ApplicationCounts> applicationCounts = db.getApplicationCounts(recruiter);
+            if (applicationCounts != null)
+                UserIO.printBlock(ApplicationCounts.sum(applicationCounts.values()).getApplicationCountsDetailMap());
+            printJobs(jobs, pageNo);
             UserIO.printCenter("Page " + (pageNo + 1) + " of " + (totalPages + 1));
             ArrayList<String[]> options = buildMyJobsOptions(pageNo, totalPages);
             String stringSelection = UserIO.getSelection("Please select one of the above options", options);
@@ -327,14 +444,27 @@ public class RecruiterHandler extends UserHandler
                     pageNo--;
                     break;
                 case "next":
-                    pageNo++;
+                    if (!jobs.isEmpty())
+                    {
+                        if (pageStarts.size() == pageNo + 1)
+                            pageStarts.add(jobs.get(jobs.size() - 1).getId());
+                        pageNo++;
+                    }
                     break;
                 case "home":
                     break label;
                 default:
-                    UserIO.clearScreen();
-                    Job job = jobs.get(Integer.parseInt(stringSelection) - 1);
-                    jobDetailMenu(db, job);
+                    int index = Integer.parseInt(stringSelection) - 1 - pageNo * JOBS_PER_PAGE;
+                    if (index < jobs.size())
+                    {
+                        // Only the job being opened is loaded in full.
+                        Job job = db.getJob(jobs.get(index).getId());
+                        UserIO.clearScreen();
+                        if (job == null)
+                            UserIO.displayBody("That job could not be loaded.");
+                        else
+                            jobDetailMenu(db, job);
+                    }
                     break;
             }
         } while (true);
@@ -0,0 +1,103 @@
+package Database;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the relevancy score of each application to its job once it has been worked out, so ranking a job's applicants
+ * again only scores the applications made since. A score only depends on the job and the applicant, so new
+ * applications don't change the scores already kept, while updating a job removes all of its scores. It listens on
+ * the {@link ChangeBus}, so only changes made through the same {@link DatabaseManager} are seen.
+ * <p>
+ * Scores worked out from a job which is updated while they are being worked out are stale. Each update therefore moves
+ * the cache on a version, and scores are only kept if no update was seen between taking the version and scoring.
+ * Scores of the jobs least recently ranked are removed once more than the maximum number of jobs are kept.
+ *
+ * @author Charlie Timlock, Levi Quilliam, Tim Perkins, and Merrill Nguyen
+ * @version 1.0
+ */
+public class ApplicantScoreCache implements ChangeBus.Listener
+{
+    /**
+     * Scores by application id, by job id, in least recently used order.
+     */
+    private final LinkedHashMap<Integer, HashMap<Integer, Integer>> jobScores;
+    private final int capacity;
+    private long version;
+
+    /**
+     * Non-default constructor which creates a cache with no scores.
+     *
+     * @param capacity The maximum number of jobs to keep scores for before removing the least recently used.
+     */
+    public ApplicantScoreCache(int capacity)
+    {
+        jobScores = new LinkedHashMap<>(16, 0.75f, true);
+        this.capacity = capacity;
+        version = 0;
+    }
+
+    /**
+     * Gets the version to pass when keeping scores which are about to be worked out.
+     *
+     * @return The number of job updates seen so far.
+     */
+    public synchronized long getVersion()
+    {
+        return version;
+    }
+
+    /**
+     * Gets a copy of the kept scores of a job's applications, which the caller can add to.
+     *
+     * @param jobId The id of the job.
+     * @return The scores by application id, empty if none are kept.
+     */
+    public synchronized HashMap<Integer, Integer> getScores(int jobId)
+    {
+        HashMap<Integer, Integer> scores = jobScores.get(jobId);
+        return scores == null ? new HashMap<>() : new HashMap<>(scores);
+    }
+
+    /**
+     * Keeps the scores of a job's applications, unless the job has been updated since they started being worked out.
+     *
+     * @param jobId   The id of the job.
+     * @param scores  The scores by application id, which replace any kept for the job.
+     * @param version The version taken before the scores were worked out.
+     */
+    public synchronized void putScores(int jobId, Map<Integer, Integer> scores, long version)
+    {
+        if (version != this.version)
+            return;
+        jobScores.put(jobId, new HashMap<>(scores));
+        if (jobScores.size() > capacity)
+            jobScores.remove(jobScores.keySet().iterator().next());
+    }
+
+    /**
+     * Removes every score, so they are all worked out again.
+     */
+    public synchronized void clear()
+    {
+        jobScores.clear();
+        version++;
+    }
+
+    /**
+     * Removes the scores of an updated job, whose text may no longer match its applicants in the same way. Jobs
+     * updated so they are no longer advertised are published as delisted, so those are removed too.
+     *
+     * @param event The committed change.
+     */
+    @Override
+    public synchronized void onChange(ChangeEvent event)
+    {
+        if (event.getType() == ChangeEvent.Type.JOB_UPDATED || event.getType() == ChangeEvent.Type.JOB_DELISTED)
+        {
+            version++;
+            jobScores.remove(event.getJob().getId());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package Database;
+
+import Entities.Application;
+import Entities.ApplicationCounts;
+import Entities.Job;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+
+/**
+ * Keeps the application counts which have been read from the database, and updates them as applications are made
+ * instead of counting again. It listens on the {@link ChangeBus}, so only changes made through the same
+ * {@link DatabaseManager} are seen.
+ * <p>
+ * Counts read on a reader connection can miss an application committed while they were being read. Each change
+ * therefore moves the counter on a version, and counts are only kept if no change was seen between taking the version
+ * and reading them. Counts which aren't kept are still correct for the caller, and are read again next time.
+ *
+ * @author Charlie Timlock, Levi Quilliam, Tim Perkins, and Merrill Nguyen
+ * @version 1.0
+ */
+public class ApplicationCounter implements ChangeBus.Listener
+{
+    /**
+     * Counts by job id.
+     */
+    private final HashMap<Integer, ApplicationCounts> jobCounts;
+    /**
+     * The ids of every job of each recruiter whose jobs have all been counted, in job id order.
+     */
+    private final HashMap<String, LinkedHashSet<Integer>> recruiterJobs;
+    private long version;
+
+    /**
+     * Default constructor which creates a counter with no counts.
+     */
+    public ApplicationCounter()
+    {
+        jobCounts = new HashMap<>();
+        recruiterJobs = new HashMap<>();
+        version = 0;
+    }
+
+    /**
+     * Gets the version to pass when keeping counts which are about to be read.
+     *
+     * @return The number of changes seen so far.
+     */
+    public synchronized long getVersion()
+    {
+        return version;
+    }
+
+    /**
+     * Gets the counts of a job if they are kept.
+     *
+     * @param jobId The id of the job.
+     * @return The job's counts, or null if they need to be read.
+     */
+    public synchronized ApplicationCounts getJobCounts(int jobId)
+    {
+        return jobCounts.get(jobId);
+    }
+
+    /**
+     * Keeps the counts of a job, unless an application has been made since they started being read.
+     *
+     * @param counts  The counts read from the database.
+     * @param version The version taken before the counts were read.
+     */
+    public synchronized void putJobCounts(ApplicationCounts counts, long version)
+    {
+        if (version == this.version)
+            jobCounts.put(counts.getJobId(), counts);
+    }
+
+    /**
+     * Gets the counts of each of a recruiter's jobs if they are all kept.
+     *
+     * @param recruiterEmail The email of the recruiter.
+     * @return The counts by job id in job id order, or null if they need to be read.
+     */
+    public synchronized LinkedHashMap<Integer, ApplicationCounts> getRecruiterCounts(String recruiterEmail)
+    {
+        LinkedHashSet<Integer> jobIds = recruiterJobs.get(recruiterEmail);
+        if (jobIds == null)
+            return null;
+        LinkedHashMap<Integer, ApplicationCounts> counts = new LinkedHashMap<>();
+        for (int jobId : jobIds)
+            counts.put(jobId, jobCounts.get(jobId));
+        return counts;
+    }
+
+    /**
+     * Keeps the counts of every one of a recruiter's jobs, unless a job or application has been made since they
+     * started being read.
+     *
+     * @param recruiterEmail The email of the recruiter.
+     * @param counts         The counts of every one of the recruiter's jobs, read from the database.
+     * @param version        The version taken before the counts were read.
+     */
+    public synchronized void putRecruiterCounts(String recruiterEmail, LinkedHashMap<Integer, ApplicationCounts> counts, long version)
+    {
+        if (version != this.version)
+            return;
+        jobCounts.putAll(counts);
+        recruiterJobs.put(recruiterEmail, new LinkedHashSet<>(counts.keySet()));
+    }
+
+    /**
+     * Removes every count, so they are all read again.
+     */
+    public synchronized void clear()
+    {
+        jobCounts.clear();
+        recruiterJobs.clear();
+        version++;
+    }
+
+    /**
+     * Adds a new application to its job's counts, and a new job to its recruiter's jobs, if they are kept.
+     *
+     * @param event The committed change.
+     */
+    @Override
+    public synchronized void onChange(ChangeEvent event)
+    {
+        if (event.getType() == ChangeEvent.Type.APPLICATION_CREATED)
+        {
+            Application application = event.getApplication();
+            version++;
+            jobCounts.computeIfPresent(application.getJobId(), (jobId, counts) -> counts.withApplication(application.getStatus()));
+        } else if (event.getType() == ChangeEvent.Type.JOB_CREATED)
+        {
+            Job job = event.getJob();
+            version++;
+            LinkedHashSet<Integer> jobIds = job.getAuthor() == null ? null : recruiterJobs.get(job.getAuthor().getEmail());
+            if (jobIds != null)
+            {
+                jobIds.add(job.getId());
+                jobCounts.putIfAbsent(job.getId(), ApplicationCounts.none(job.getId()));
+            }
+        }
+    }
+}
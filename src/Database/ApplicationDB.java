@@ -1,10 +1,16 @@
 package Database;
 
 import Entities.Application;
+import Entities.ApplicationCounts;
 import Entities.Job;
+import Entities.JobSeeker;
+import Utilities.BatchLoader;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.stream.Stream;
 
 import static Database.ApplicationDB.Column.*;
 import static Database.Parser.parseApplication;
@@ -26,12 +32,24 @@ public class ApplicationDB implements DBHelper
     private final PreparedStatement insertApplication;
     private final PreparedStatement queryApplication;
     private final PreparedStatement queryApplicationByJob;
+    /**
+     * Prepared statements which will count the applications of one job or of each of a recruiter's jobs by status.
+     */
+    private final PreparedStatement queryStatusCountsByJob;
+    private final PreparedStatement queryStatusCountsByRecruiter;
+    /**
+     * Connection used to open cursors, which each need their own statement.
+     */
+    private final Connection connection;
 
     public ApplicationDB(Connection conn) throws SQLException
     {
+        this.connection = conn;
         insertApplication = conn.prepareStatement(ApplicationDB.Insert.APPLICATION, Statement.RETURN_GENERATED_KEYS);
         queryApplication = conn.prepareStatement(ApplicationDB.Query.APPLICATION, Statement.RETURN_GENERATED_KEYS);
         queryApplicationByJob = conn.prepareStatement(Query.APPLICATION_BY_JOB);
+        queryStatusCountsByJob = conn.prepareStatement(Query.STATUS_COUNTS_BY_JOB);
+        queryStatusCountsByRecruiter = conn.prepareStatement(Query.STATUS_COUNTS_BY_RECRUITER);
     }
 
     @Override
@@ -43,31 +61,34 @@ public class ApplicationDB implements DBHelper
             queryApplication.close();
         if (queryApplicationByJob != null)
             queryApplicationByJob.close();
+        if (queryStatusCountsByJob != null)
+            queryStatusCountsByJob.close();
+        if (queryStatusCountsByRecruiter != null)
+            queryStatusCountsByRecruiter.close();
     }
 
     /**
-     * Gets application from the SQL database by querying the information to construct the Application object.
+     * Gets application from the SQL database by querying the information to construct the Application object. The
+     * application refers to its job seeker and job, which are loaded when they are first asked for.
      *
      * @param applicationId application id as int
-     * @param userDB        userDB as UserDB
-     * @param userKeywordDB userKeywordDB as UserKeywordDB
-     * @param locationDB    locationDB as LocationDB
-     * @param jobDB         jobDB as JobDB
-     * @param jobKeywordDB  jobKeywordDB as JobKeywordDB
-     * @param jobCategoryDB jobCategoryDB as JobCategoryDB
+     * @param jobs          Loads the application's job by id.
+     * @param jobSeekers    Loads the application's job seeker by email.
      * @return application as Application
      */
-    public Application getApplication(int applicationId, UserDB userDB, UserKeywordDB userKeywordDB, LocationDB locationDB, JobDB jobDB, JobKeywordDB jobKeywordDB, JobCategoryDB jobCategoryDB)
+    public Application getApplication(int applicationId, BatchLoader<Integer, Job> jobs, BatchLoader<String, JobSeeker> jobSeekers)
     {
         try
         {
             queryApplication.setInt(1, applicationId);
-            ResultSet result = queryApplication.executeQuery();
-            if (result.next())
+            try (ResultSet result = queryApplication.executeQuery())
             {
-                return parseApplication(result, userDB, userKeywordDB, locationDB, jobDB, jobKeywordDB, jobCategoryDB);
+                if (result.next())
+                {
+                    return parseApplication(result, jobs, jobSeekers);
+                }
+                return null;
             }
-            return null;
         } catch (SQLException e)
         {
             System.out.println("Error querying applicationId = " + applicationId + ": " + e.getMessage());
@@ -77,28 +98,29 @@ public class ApplicationDB implements DBHelper
 
     /**
      * Gets applications from the SQL database by querying the information to construct the list of Application objects.
+     * Each application refers to the given job, and to its job seeker, who is loaded along with the other applicants
+     * when one of them is first asked for.
      *
-     * @param job           job as Job
-     * @param userDB        userDB as UserDB
-     * @param userKeywordDB userKeywordDB as UserKeywordDB
-     * @param locationDB    locationDB as LocationDB
-     * @param jobDB         jobDB as JobDB
-     * @param jobKeywordDB  jobKeywordDB as JobKeywordDB
-     * @param jobCategoryDB jobCategoryDB as JobCategoryDB
+     * @param job        job as Job
+     * @param jobs       Loads jobs by id, given the job so that it isn't loaded again.
+     * @param jobSeekers Loads the applications' job seekers by email.
      * @return applications as ArrayList<Application>
      */
-    public ArrayList<Application> getJobApplications(Job job, UserDB userDB, UserKeywordDB userKeywordDB, LocationDB locationDB, JobDB jobDB, JobKeywordDB jobKeywordDB, JobCategoryDB jobCategoryDB)
+    public ArrayList<Application> getJobApplications(Job job, BatchLoader<Integer, Job> jobs, BatchLoader<String, JobSeeker> jobSeekers)
     {
         ArrayList<Application> applications = new ArrayList<>();
         try
         {
+            jobs.put(job.getId(), job);
             queryApplicationByJob.setInt(1, job.getId());
-            ResultSet result = queryApplicationByJob.executeQuery();
-            while (result.next())
+            try (ResultSet result = queryApplicationByJob.executeQuery())
             {
-                applications.add(parseApplication(result, userDB, userKeywordDB, locationDB, jobDB, jobKeywordDB, jobCategoryDB));
+                while (result.next())
+                {
+                    applications.add(parseApplication(result, jobs, jobSeekers));
+                }
+                return applications;
             }
-            return applications;
         } catch (SQLException e)
         {
             System.out.println("Error querying applicationId = " + job.getId() + ": " + e.getMessage());
@@ -106,6 +128,94 @@ public class ApplicationDB implements DBHelper
         }
     }
 
+    /**
+     * Streams the applications for a job from a live cursor instead of loading them all first. The stream holds this
+     * helper's connection and must be closed before the connection is used by another thread.
+     *
+     * @param job        job as Job
+     * @param fetchSize  The number of rows the driver should read ahead at a time.
+     * @param jobs       Loads jobs by id, given the job so that it isn't loaded again.
+     * @param jobSeekers Loads the applications' job seekers by email.
+     * @return applications as a Stream<Application>
+     * @throws SQLException Throws an SQLException if the applications cannot be queried.
+     */
+    public Stream<Application> streamJobApplications(Job job, int fetchSize, BatchLoader<Integer, Job> jobs, BatchLoader<String, JobSeeker> jobSeekers) throws SQLException
+    {
+        jobs.put(job.getId(), job);
+        PreparedStatement query = connection.prepareStatement(Query.APPLICATION_BY_JOB);
+        try
+        {
+            query.setInt(1, job.getId());
+        } catch (SQLException e)
+        {
+            query.close();
+            throw e;
+        }
+        return ResultCursor.stream(query, fetchSize, results -> parseApplication(results, jobs, jobSeekers));
+    }
+
+    /**
+     * Counts the applications for a job by status, reading only the index on the job id and status.
+     *
+     * @param jobId The id of the job whose applications are counted.
+     * @return counts as ApplicationCounts, or null if the applications cannot be counted.
+     */
+    public ApplicationCounts getStatusCounts(int jobId)
+    {
+        try
+        {
+            queryStatusCountsByJob.setInt(1, jobId);
+            HashMap<String, Integer> statusCounts = new HashMap<>();
+            try (ResultSet results = queryStatusCountsByJob.executeQuery())
+            {
+                while (results.next())
+                {
+                    statusCounts.put(results.getString(STATUS), results.getInt(STATUS_COUNT));
+                }
+            }
+            return new ApplicationCounts(jobId, statusCounts);
+        } catch (SQLException e)
+        {
+            System.out.println("Error counting applications for jobId = " + jobId + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Counts the applications for each of a recruiter's jobs by status in one grouped query. Jobs without applications
+     * are included with counts of zero.
+     *
+     * @param recruiterEmail The email of the recruiter whose jobs' applications are counted.
+     * @return counts as a LinkedHashMap of job id to ApplicationCounts in job id order, or null if the applications
+     * cannot be counted.
+     */
+    public LinkedHashMap<Integer, ApplicationCounts> getRecruiterStatusCounts(String recruiterEmail)
+    {
+        try
+        {
+            queryStatusCountsByRecruiter.setString(1, recruiterEmail);
+            LinkedHashMap<Integer, HashMap<String, Integer>> jobStatusCounts = new LinkedHashMap<>();
+            try (ResultSet results = queryStatusCountsByRecruiter.executeQuery())
+            {
+                while (results.next())
+                {
+                    HashMap<String, Integer> statusCounts = jobStatusCounts.computeIfAbsent(results.getInt(JOBID), id -> new HashMap<>());
+                    String status = results.getString(STATUS);
+                    // A job without applications is joined to a single row with no status.
+                    if (status != null)
+                        statusCounts.put(status, results.getInt(STATUS_COUNT));
+                }
+            }
+            LinkedHashMap<Integer, ApplicationCounts> counts = new LinkedHashMap<>();
+            jobStatusCounts.forEach((jobId, statusCounts) -> counts.put(jobId, new ApplicationCounts(jobId, statusCounts)));
+            return counts;
+        } catch (SQLException e)
+        {
+            System.out.println("Error counting applications for " + recruiterEmail + ": " + e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Inserts an Application object into the SQL database by deconstructing the information in the Application object.
      *
@@ -119,8 +229,8 @@ public class ApplicationDB implements DBHelper
             return application;
         else
         {
-            insertApplication.setInt(1, application.getJob().getId());
-            insertApplication.setString(2, application.getJobSeeker().getEmail());
+            insertApplication.setInt(1, application.getJobId());
+            insertApplication.setString(2, application.getJobSeekerEmail());
             insertApplication.setString(3, application.getCoverLetterDir());
             insertApplication.setString(4, application.getResumeDir());
             insertApplication.setString(5, application.getStatus());
@@ -128,14 +238,16 @@ public class ApplicationDB implements DBHelper
             int affectedRows = insertApplication.executeUpdate();
             if (affectedRows != 1)
                 throw new SQLException("Error inserting Application");
-            ResultSet generatedKey = insertApplication.getGeneratedKeys();
-            if (generatedKey.next())
-            {
-                application.setId(generatedKey.getInt(1));
-                return application;
-            } else
+            try (ResultSet generatedKey = insertApplication.getGeneratedKeys())
             {
-                throw new SQLException("Could not get inserted application Id");
+                if (generatedKey.next())
+                {
+                    application.setId(generatedKey.getInt(1));
+                    return application;
+                } else
+                {
+                    throw new SQLException("Could not get inserted application Id");
+                }
             }
         }
     }
@@ -159,6 +271,10 @@ public class ApplicationDB implements DBHelper
         public static final String RESUMEDIR = "resumeDir";
         public static final String STATUS = "status";
         public static final String DATE = "date";
+        /**
+         * The number of applications with a status, counted by the status count queries.
+         */
+        public static final String STATUS_COUNT = "statusCount";
     }
 
     /**
@@ -168,6 +284,16 @@ public class ApplicationDB implements DBHelper
     {
         public static final String APPLICATION = "SELECT * FROM " + NAME + " WHERE " + ID + " = ?";
         public static final String APPLICATION_BY_JOB = "SELECT * FROM " + NAME + " WHERE " + JOBID + " = ?";
+        public static final String STATUS_COUNTS_BY_JOB = "SELECT " + STATUS + ", COUNT(*) AS " + STATUS_COUNT + " FROM " + NAME + " WHERE " + JOBID + " = ? GROUP BY " + STATUS;
+        /**
+         * The applications of each of a recruiter's jobs counted by status, with a row with no status for each job
+         * without applications.
+         */
+        public static final String STATUS_COUNTS_BY_RECRUITER = "SELECT " + JobDB.NAME + "." + JobDB.Column.ID + " AS " + JOBID + ", " + NAME + "." + STATUS + ", COUNT(" + NAME + "." + ID + ") AS " + STATUS_COUNT
+                + " FROM " + JobDB.NAME + " LEFT JOIN " + NAME + " ON " + NAME + "." + JOBID + " = " + JobDB.NAME + "." + JobDB.Column.ID
+                + " WHERE " + JobDB.NAME + "." + JobDB.Column.RECRUITEREMAIL + " = ?"
+                + " GROUP BY " + JobDB.NAME + "." + JobDB.Column.ID + ", " + NAME + "." + STATUS
+                + " ORDER BY " + JobDB.NAME + "." + JobDB.Column.ID;
     }
 
     /**
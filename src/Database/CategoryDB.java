@@ -17,16 +17,16 @@ public class CategoryDB implements DBHelper
     /**
      * Prepared statement that will search for a category given its Id.
      */
-    private static PreparedStatement queryCategory;
+    private final PreparedStatement queryCategory;
     /**
      * Prepared statement that will insert a category into the category table.
      */
-    private static PreparedStatement insertCategory;
+    private final PreparedStatement insertCategory;
     /**
      * Prepared statement that will search for a category ID in the database given a category. Will return all
      * category ID's with that category.
      */
-    private static PreparedStatement queryCategoryId;
+    private final PreparedStatement queryCategoryId;
 
     /**
      * Establishes connection to SQL database.
@@ -48,17 +48,19 @@ public class CategoryDB implements DBHelper
      * @param id The category Id that is to be returned.
      * @return Returns the category if it exists and null if it doesn't exist.
      */
-    public static String getCategory(int id)
+    public String getCategory(int id)
     {
         try
         {
             queryCategory.setInt(1, id);
-            ResultSet results = queryCategory.executeQuery();
-            if (results.next())
+            try (ResultSet results = queryCategory.executeQuery())
             {
-                return results.getString(CategoryDB.Column.CATEGORY);
-            } else
-                return null;
+                if (results.next())
+                {
+                    return results.getString(CategoryDB.Column.CATEGORY);
+                } else
+                    return null;
+            }
         } catch (SQLException e)
         {
             System.out.println("Error querying category table to get category: " + e.getMessage());
@@ -73,17 +75,19 @@ public class CategoryDB implements DBHelper
      * @param category The category to query in the category table.
      * @return Return the category associated id or -1 if the category doesn't exist.
      */
-    public static int getCategoryId(String category)
+    public int getCategoryId(String category)
     {
         try
         {
             queryCategoryId.setString(1, category);
-            ResultSet results = queryCategoryId.executeQuery();
-            if (results.next())
+            try (ResultSet results = queryCategoryId.executeQuery())
             {
-                return results.getInt(CategoryDB.Column.ID);
-            } else
-                return -1;
+                if (results.next())
+                {
+                    return results.getInt(CategoryDB.Column.ID);
+                } else
+                    return -1;
+            }
         } catch (SQLException e)
         {
             System.out.println("Error querying category table to get categoryId: " + e.getMessage());
@@ -99,7 +103,7 @@ public class CategoryDB implements DBHelper
      * @return The id of the category once it has been inserted or the id of the matching category.
      * @throws SQLException Throws an SQLException if the method cannot insert the category.
      */
-    public static int insertCategory(String category) throws SQLException
+    public int insertCategory(String category) throws SQLException
     {
         int id = getCategoryId(category);
         if (id != -1)
@@ -113,11 +117,13 @@ public class CategoryDB implements DBHelper
                 throw new SQLException("Couldn't insert category, updated more than one row.");
             } else
             {
-                ResultSet generatedKeys = insertCategory.getGeneratedKeys();
-                if (generatedKeys.next())
-                    return generatedKeys.getInt(1);
-                else
-                    throw new SQLException("Couldn't get id from category after insert.");
+                try (ResultSet generatedKeys = insertCategory.getGeneratedKeys())
+                {
+                    if (generatedKeys.next())
+                        return generatedKeys.getInt(1);
+                    else
+                        throw new SQLException("Couldn't get id from category after insert.");
+                }
             }
         }
     }
@@ -0,0 +1,79 @@
+package Database;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Delivers committed database changes to the indexes and caches which have subscribed to them.
+ * <p>
+ * {@link DatabaseManager} publishes events on the writing thread after the change has been committed and before it
+ * lets go of the writer connection, so listeners receive changes in the order they were committed. Listeners
+ * should therefore be quick, and must not write to the database themselves. A listener which throws is reported and
+ * doesn't stop the event reaching the other listeners.
+ *
+ * @author Charlie Timlock, Levi Quilliam, Tim Perkins, and Merrill Nguyen
+ * @version 1.0
+ */
+public class ChangeBus
+{
+    private final CopyOnWriteArrayList<Listener> listeners;
+
+    /**
+     * Default constructor which creates a bus with no listeners.
+     */
+    public ChangeBus()
+    {
+        listeners = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Subscribes a listener to every change published after it is added.
+     *
+     * @param listener The listener to be added.
+     */
+    public void subscribe(Listener listener)
+    {
+        listeners.add(listener);
+    }
+
+    /**
+     * Stops a listener receiving changes.
+     *
+     * @param listener The listener to be removed.
+     */
+    public void unsubscribe(Listener listener)
+    {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Delivers changes to every listener, in order.
+     *
+     * @param events The committed changes.
+     */
+    void publish(List<ChangeEvent> events)
+    {
+        for (ChangeEvent event : events)
+        {
+            for (Listener listener : listeners)
+            {
+                try
+                {
+                    listener.onChange(event);
+                } catch (RuntimeException e)
+                {
+                    System.out.println("Error handling " + event + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Receives committed database changes.
+     */
+    @FunctionalInterface
+    public interface Listener
+    {
+        void onChange(ChangeEvent event);
+    }
+}
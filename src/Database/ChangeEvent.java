@@ -0,0 +1,156 @@
+package Database;
+
+import Entities.Application;
+import Entities.Job;
+
+/**
+ * A change to the database which has been committed, published by {@link DatabaseManager} on its {@link ChangeBus}
+ * so that indexes and caches built from the database can update themselves instead of being rebuilt.
+ *
+ * @author Charlie Timlock, Levi Quilliam, Tim Perkins, and Merrill Nguyen
+ * @version 1.0
+ */
+public class ChangeEvent
+{
+    /**
+     * The kinds of change which are published.
+     */
+    public enum Type
+    {
+        JOB_CREATED,
+        JOB_UPDATED,
+        JOB_DELISTED,
+        KEYWORD_ADDED,
+        APPLICATION_CREATED
+    }
+
+    private final Type type;
+    private final Job job;
+    private final int keywordId;
+    private final String keyword;
+    private final Application application;
+
+    private ChangeEvent(Type type, Job job, int keywordId, String keyword, Application application)
+    {
+        this.type = type;
+        this.job = job;
+        this.keywordId = keywordId;
+        this.keyword = keyword;
+        this.application = application;
+    }
+
+    /**
+     * Creates the event for a job which has been inserted.
+     *
+     * @param job The inserted job, with its id.
+     * @return The event.
+     */
+    public static ChangeEvent jobCreated(Job job)
+    {
+        return new ChangeEvent(Type.JOB_CREATED, job, -1, null, null);
+    }
+
+    /**
+     * Creates the event for a job whose details have been updated.
+     *
+     * @param job The job as it now is in the database.
+     * @return The event.
+     */
+    public static ChangeEvent jobUpdated(Job job)
+    {
+        return new ChangeEvent(Type.JOB_UPDATED, job, -1, null, null);
+    }
+
+    /**
+     * Creates the event for a job which is no longer advertised.
+     *
+     * @param job The job as it now is in the database.
+     * @return The event.
+     */
+    public static ChangeEvent jobDelisted(Job job)
+    {
+        return new ChangeEvent(Type.JOB_DELISTED, job, -1, null, null);
+    }
+
+    /**
+     * Creates the event for a keyword which has been added to the keyword table.
+     *
+     * @param keywordId The id of the new keyword.
+     * @param keyword   The keyword text.
+     * @return The event.
+     */
+    public static ChangeEvent keywordAdded(int keywordId, String keyword)
+    {
+        return new ChangeEvent(Type.KEYWORD_ADDED, null, keywordId, keyword, null);
+    }
+
+    /**
+     * Creates the event for an application which has been inserted. The application's job isn't given as the event's
+     * job, since the job itself hasn't changed.
+     *
+     * @param application The inserted application, with its id.
+     * @return The event.
+     */
+    public static ChangeEvent applicationCreated(Application application)
+    {
+        return new ChangeEvent(Type.APPLICATION_CREATED, null, -1, null, application);
+    }
+
+    /**
+     * Accessor method to get the application which was inserted.
+     *
+     * @return The application, or null for a job or keyword event.
+     */
+    public Application getApplication()
+    {
+        return application;
+    }
+
+    /**
+     * Accessor method to get the job which changed.
+     *
+     * @return The job, or null for a keyword or application event.
+     */
+    public Job getJob()
+    {
+        return job;
+    }
+
+    /**
+     * Accessor method to get the keyword which was added.
+     *
+     * @return The keyword text, or null for a job or application event.
+     */
+    public String getKeyword()
+    {
+        return keyword;
+    }
+
+    /**
+     * Accessor method to get the id of the keyword which was added.
+     *
+     * @return The keyword id, or -1 for a job or application event.
+     */
+    public int getKeywordId()
+    {
+        return keywordId;
+    }
+
+    /**
+     * Accessor method to get the kind of change.
+     *
+     * @return The type of the event.
+     */
+    public Type getType()
+    {
+        return type;
+    }
+
+    @Override
+    public String toString()
+    {
+        if (application != null)
+            return type + " application " + application.getId() + " job " + application.getJobId();
+        return type + (job != null ? " job " + job.getId() : " keyword " + keywordId + " " + keyword);
+    }
+}
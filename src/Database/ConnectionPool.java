@@ -0,0 +1,224 @@
+package Database;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A pool of {@link DatabaseConnection}s made up of one writer connection and a fixed number of reader connections.
+ * SQLite in WAL mode lets any number of connections read while one writes. Reads borrow a reader connection so that
+ * calls from different threads run in parallel. Writes take turns on the single writer connection. Because only the
+ * writer ever writes, a write never fails because a read on the same connection saw an older snapshot. Connections are
+ * opened when first needed. If every reader is in use, a thread waits for one to be returned.
+ * <p>
+ * A thread which reads again before returning its reader gets the same reader back. A thread which reads while it
+ * is writing reads on the writer connection, so it sees its own changes.
+ *
+ * @author Charlie Timlock, Levi Quilliam, Tim Perkins, and Merrill Nguyen
+ * @version 1.0
+ */
+class ConnectionPool
+{
+    private final String connectionString;
+    private final int readerCount;
+    private final Factory factory;
+    private final LinkedBlockingQueue<DatabaseConnection> idleReaders;
+    /**
+     * Every connection which has been opened, used to close them all.
+     */
+    private final ArrayList<DatabaseConnection> opened;
+    /**
+     * The reader each thread currently has borrowed, if any.
+     */
+    private final ThreadLocal<DatabaseConnection> borrowed;
+    /**
+     * Held by the thread which is using the writer connection.
+     */
+    private final ReentrantLock writeLock;
+    private DatabaseConnection writer;
+    private int openedReaders;
+
+    /**
+     * Non-default constructor which creates an empty pool.
+     *
+     * @param connectionString The JDBC connection string of the database.
+     * @param readerCount      The maximum number of reader connections to open.
+     * @param factory          Sets up the helper classes of each new connection.
+     */
+    ConnectionPool(String connectionString, int readerCount, Factory factory)
+    {
+        this.connectionString = connectionString;
+        this.readerCount = readerCount;
+        this.factory = factory;
+        idleReaders = new LinkedBlockingQueue<>();
+        opened = new ArrayList<>();
+        borrowed = new ThreadLocal<>();
+        writeLock = new ReentrantLock(true);
+    }
+
+    /**
+     * Runs some work which may change the database on the writer connection, waiting for any other write to finish
+     * first.
+     *
+     * @param work The work to run.
+     * @param <T>  The type of result of the work.
+     * @return The result of the work.
+     * @throws SQLException Throws an SQLException if the work fails or the writer connection cannot be opened.
+     */
+    <T> T write(Work<T> work) throws SQLException
+    {
+        writeLock.lock();
+        try
+        {
+            if (writer == null)
+                writer = open();
+            return work.apply(writer);
+        } finally
+        {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Borrows a reader connection, runs some work which only reads the database and handles its own errors, then
+     * returns the connection to the pool.
+     *
+     * @param work The work to run.
+     * @param <T>  The type of result of the work.
+     * @return The result of the work, or null if no connection could be opened.
+     */
+    <T> T read(Function<DatabaseConnection, T> work)
+    {
+        if (writeLock.isHeldByCurrentThread())
+            return work.apply(writer);
+        DatabaseConnection connection;
+        try
+        {
+            connection = borrow();
+        } catch (SQLException e)
+        {
+            System.out.println("Couldn't get a database connection: " + e.getMessage());
+            return null;
+        }
+        try
+        {
+            return work.apply(connection);
+        } finally
+        {
+            release(connection);
+        }
+    }
+
+    /**
+     * Closes every connection which has been opened. Should only be called once no thread is using the pool.
+     *
+     * @throws SQLException Throws an SQLException if a connection cannot be closed.
+     */
+    synchronized void close() throws SQLException
+    {
+        SQLException failure = null;
+        for (DatabaseConnection connection : opened)
+        {
+            try
+            {
+                connection.close();
+            } catch (SQLException e)
+            {
+                failure = e;
+            }
+        }
+        opened.clear();
+        idleReaders.clear();
+        writer = null;
+        openedReaders = 0;
+        if (failure != null)
+            throw failure;
+    }
+
+    private DatabaseConnection borrow() throws SQLException
+    {
+        DatabaseConnection connection = borrowed.get();
+        if (connection == null)
+        {
+            connection = idleReaders.poll();
+            if (connection == null)
+                connection = openReader();
+            if (connection == null)
+            {
+                try
+                {
+                    connection = idleReaders.take();
+                } catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while waiting for a database connection.", e);
+                }
+            }
+            borrowed.set(connection);
+        }
+        connection.borrowCount++;
+        return connection;
+    }
+
+    private void release(DatabaseConnection connection)
+    {
+        connection.borrowCount--;
+        if (connection.borrowCount == 0)
+        {
+            borrowed.remove();
+            idleReaders.offer(connection);
+        }
+    }
+
+    /**
+     * Opens a new reader connection if the pool doesn't have all of its readers yet.
+     *
+     * @return The new connection, or null if every reader has been opened.
+     * @throws SQLException Throws an SQLException if the connection cannot be opened.
+     */
+    private synchronized DatabaseConnection openReader() throws SQLException
+    {
+        if (openedReaders >= readerCount)
+            return null;
+        DatabaseConnection connection = open();
+        openedReaders++;
+        return connection;
+    }
+
+    private synchronized DatabaseConnection open() throws SQLException
+    {
+        Connection conn = DriverManager.getConnection(connectionString);
+        try
+        {
+            DatabaseConnection connection = factory.open(conn);
+            opened.add(connection);
+            return connection;
+        } catch (SQLException e)
+        {
+            conn.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Sets up the helper classes of a newly opened connection.
+     */
+    interface Factory
+    {
+        DatabaseConnection open(Connection conn) throws SQLException;
+    }
+
+    /**
+     * Database work run on a pooled connection.
+     *
+     * @param <T> The type of result of the work.
+     */
+    interface Work<T>
+    {
+        T apply(DatabaseConnection connection) throws SQLException;
+    }
+}
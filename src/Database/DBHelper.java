@@ -1,6 +1,7 @@
 package Database;
 
 import java.sql.SQLException;
+import java.util.Collections;
 
 /**
  * Database helper class
@@ -11,4 +12,15 @@ import java.sql.SQLException;
 public interface DBHelper
 {
     void close() throws SQLException;
+
+    /**
+     * Builds the placeholder list for an IN clause.
+     *
+     * @param count The number of parameters.
+     * @return The given number of ? separated by commas.
+     */
+    static String parameters(int count)
+    {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
 }
@@ -0,0 +1,99 @@
+package Database;
+
+import Entities.Location;
+import Entities.Recruiter;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A single pooled connection to the SQL database together with its own set of helper classes. The helpers prepare
+ * their statements once when the connection is opened, so they act as the statement cache of the connection. A
+ * connection is only ever used by the thread which has borrowed it from the {@link ConnectionPool}.
+ *
+ * @author Charlie Timlock, Levi Quilliam, Tim Perkins, and Merrill Nguyen
+ * @version 1.0
+ */
+class DatabaseConnection implements DBHelper
+{
+    /**
+     * How long a connection waits for another connection's write lock before giving up, in milliseconds.
+     */
+    private static final int BUSY_TIMEOUT = 5000;
+    /**
+     * How much of the database file each connection may memory map, in bytes.
+     */
+    private static final long MMAP_SIZE = 256L * 1024 * 1024;
+
+    final Connection conn;
+    final LocationDB locationDB;
+    final KeywordDB keywordDB;
+    final CategoryDB categoryDB;
+    final JobDB jobDB;
+    final UserDB userDB;
+    final UserKeywordDB userKeywordDB;
+    final JobKeywordDB jobKeywordDB;
+    final JobCategoryDB jobCategoryDB;
+    final ApplicationDB applicationDB;
+    final InvitationDB invitationDB;
+    final SessionDB sessionDB;
+    /**
+     * The number of times the owning thread has borrowed this connection without returning it.
+     */
+    int borrowCount;
+
+    /**
+     * Non-default constructor which sets the per connection pragmas and prepares the statements of every helper. In
+     * WAL mode synchronous = NORMAL only syncs at checkpoints, which is still safe from corruption.
+     *
+     * @param conn              The open connection.
+     * @param recruiterCache    Identity map of recruiters shared by every connection.
+     * @param locationCache     Identity map of locations shared by every connection.
+     * @param keywordDictionary Keyword dictionary shared by every connection.
+     * @throws SQLException Throws an SQLException if the connection cannot be configured or a statement is invalid.
+     */
+    DatabaseConnection(Connection conn, IdentityMap<String, Recruiter> recruiterCache, IdentityMap<Integer, Location> locationCache, KeywordDictionary keywordDictionary) throws SQLException
+    {
+        this.conn = conn;
+        try (Statement pragma = conn.createStatement())
+        {
+            pragma.execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT);
+            pragma.execute("PRAGMA synchronous = NORMAL");
+            pragma.execute("PRAGMA mmap_size = " + MMAP_SIZE);
+        }
+        locationDB = new LocationDB(conn, locationCache);
+        keywordDB = new KeywordDB(conn, keywordDictionary);
+        categoryDB = new CategoryDB(conn);
+        jobDB = new JobDB(conn);
+        userDB = new UserDB(conn, recruiterCache);
+        userKeywordDB = new UserKeywordDB(conn, keywordDB);
+        jobKeywordDB = new JobKeywordDB(conn, keywordDB);
+        jobCategoryDB = new JobCategoryDB(conn, categoryDB);
+        applicationDB = new ApplicationDB(conn);
+        invitationDB = new InvitationDB(conn);
+        sessionDB = new SessionDB(conn);
+    }
+
+    /**
+     * Closes all prepared statements and then the connection itself.
+     *
+     * @throws SQLException Throws an SQLException if a statement or the connection cannot be closed.
+     */
+    @Override
+    public void close() throws SQLException
+    {
+        userDB.close();
+        locationDB.close();
+        keywordDB.close();
+        categoryDB.close();
+        jobDB.close();
+        userKeywordDB.close();
+        jobKeywordDB.close();
+        jobCategoryDB.close();
+        applicationDB.close();
+        invitationDB.close();
+        sessionDB.close();
+        conn.close();
+    }
+}
@@ -1,11 +1,26 @@
 package Database;
 
 import Entities.*;
+import Utilities.BatchLoader;
+import Utilities.PersistentJobIndex;
+import Utilities.RankingMode;
+import Utilities.ResultPager;
+import Utilities.ScoringEngine;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.Connection;
+import java.sql.Date;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Database class which connects to the SQL database.
@@ -20,74 +35,133 @@ public class DatabaseManager
      */
     private static final String DATABASE_NAME = "database.db";
     /**
-     * Generic SQLite connection string with a relative reference to the database folder. Also uses the database name
-     * to get the exact file.
+     * Relative path of the program's database file.
      */
-    private static final String CONNECTION_STRING = "jdbc:sqlite:database/" + DATABASE_NAME;
-
-    private UserDB userDB;
-    private LocationDB locationDB;
-    private KeywordDB keywordDB;
-    private CategoryDB categoryDB;
-    private JobDB jobDB;
-    private UserKeywordDB userKeywordDB;
-    private JobKeywordDB jobKeywordDB;
-    private JobCategoryDB jobCategoryDB;
-    private ApplicationDB applicationDB;
-    private InvitationDB invitationDB;
-    private SessionDB sessionDB;
-
+    private static final String DATABASE_PATH = "database/" + DATABASE_NAME;
+    /**
+     * The maximum number of recruiters and locations kept in each identity map.
+     */
+    private static final int RECRUITER_CACHE_SIZE = 1000;
+    private static final int LOCATION_CACHE_SIZE = 5000;
+    /**
+     * The maximum number of jobs whose applicants' relevancy scores are kept.
+     */
+    private static final int APPLICANT_SCORE_CACHE_SIZE = 100;
+    /**
+     * The maximum number of reader connections open at once. SQLite in WAL mode lets these read in parallel while the
+     * writer connection writes.
+     */
+    private static final int READER_COUNT = Math.max(2, Runtime.getRuntime().availableProcessors());
+    /**
+     * The number of rows a streaming cursor reads ahead at a time.
+     */
+    private static final int FETCH_SIZE = 100;
 
-    private Connection conn;
+    /**
+     * Generic SQLite connection string for the database file this manager opens.
+     */
+    private final String connectionString;
+    /**
+     * Path of the job search index file, stored next to the database file.
+     */
+    private final Path indexPath;
+    /**
+     * Pool of connections, each with its own prepared statements, shared by every thread using the database. Getters
+     * run on a reader connection and inserts and updates run on the writer connection.
+     */
+    private ConnectionPool pool;
+    /**
+     * Search index over every job, opened from its file the first time a search is made.
+     */
+    private PersistentJobIndex jobIndex;
+    /**
+     * Identity maps which let jobs, applications and invitations share recruiter and location instances instead of
+     * querying and parsing the same rows again.
+     */
+    private final IdentityMap<String, Recruiter> recruiterCache = new IdentityMap<>(RECRUITER_CACHE_SIZE);
+    private final IdentityMap<Integer, Location> locationCache = new IdentityMap<>(LOCATION_CACHE_SIZE);
+    /**
+     * Every keyword id and its text, loaded when the database is opened.
+     */
+    private final KeywordDictionary keywordDictionary = new KeywordDictionary();
+    /**
+     * Delivers every committed change made through this manager to the indexes and caches listening for them.
+     */
+    private final ChangeBus changeBus = new ChangeBus();
+    /**
+     * Application counts which have been read, kept up to date as applications are made.
+     */
+    private final ApplicationCounter applicationCounter = new ApplicationCounter();
+    /**
+     * Relevancy scores of applications to their jobs which have been worked out, kept until their job is updated.
+     */
+    private final ApplicantScoreCache applicantScores = new ApplicantScoreCache(APPLICANT_SCORE_CACHE_SIZE);
 
     /**
      * TESTED
-     * Default and only constructor for the DatabaseManager class. Initialises the SQLite Driver Connection and
-     * the SimpleDateFormat.
+     * Default constructor for the DatabaseManager class. Opens the connection pool on the program's database in the
+     * database folder.
      */
     public DatabaseManager()
     {
-        try
-        {
-            conn = DriverManager.getConnection(CONNECTION_STRING);
-            open();
-        } catch (SQLException e)
-        {
-            System.out.println("Error creating a DriverManager Instance: " + e.getMessage());
-        }
+        this(DATABASE_PATH);
+    }
+
+    /**
+     * Non-default constructor which opens the connection pool on another database file, creating and migrating it if
+     * it doesn't exist. Used to run against a scratch database, such as in the benchmarks.
+     *
+     * @param databasePath Path of the SQLite database file.
+     */
+    public DatabaseManager(String databasePath)
+    {
+        connectionString = "jdbc:sqlite:" + databasePath;
+        String indexName = Paths.get(databasePath).getFileName().toString().replaceFirst("\\.[^.]*$", "") + ".idx";
+        indexPath = Paths.get(databasePath).resolveSibling(indexName);
+        changeBus.subscribe(this::updateJobIndex);
+        changeBus.subscribe(applicationCounter);
+        changeBus.subscribe(applicantScores);
+        open();
+    }
+
+    /**
+     * Gets the bus which committed changes are published on, so indexes and caches over the database can subscribe
+     * to them and update themselves instead of being rebuilt.
+     *
+     * @return The change bus of this manager.
+     */
+    public ChangeBus getChangeBus()
+    {
+        return changeBus;
     }
 
     /**
      * TESTED
-     * When method is called it closes all open PreparedStatements and finally closes the database connection. This
+     * When method is called it closes all open PreparedStatements and finally closes every pooled connection. This
      * should only be called when the user is ready to close the entire application.
      */
     public void close()
     {
+        closeJobIndex();
         try
         {
-            userDB.close();
-            locationDB.close();
-            keywordDB.close();
-            categoryDB.close();
-            jobDB.close();
-            userKeywordDB.close();
-            jobKeywordDB.close();
-            jobCategoryDB.close();
-            applicationDB.close();
-            invitationDB.close();
-            sessionDB.close();
-            if (conn != null)
-                conn.close();
+            if (pool != null)
+                pool.close();
         } catch (SQLException e)
         {
             System.out.println("Couldn't close database: " + e.getMessage());
         }
     }
 
+    /**
+     * Gets the job seeker data from the database by their email.
+     *
+     * @param email job seeker email address as a String.
+     * @return job seeker as a JobSeeker object.
+     */
     public JobSeeker getJobSeeker(String email)
     {
-        return userDB.getJobSeeker(email, userKeywordDB, locationDB);
+        return pool.read(db -> db.userDB.getJobSeeker(email, db.userKeywordDB, db.locationDB));
     }
 
 
@@ -100,7 +174,7 @@ public class DatabaseManager
      */
     public Admin getAdmin(String email)
     {
-        return userDB.getAdmin(email);
+        return pool.read(db -> db.userDB.getAdmin(email));
     }
 
     /**
@@ -110,7 +184,59 @@ public class DatabaseManager
      */
     public ArrayList<Invitation> getAllInvitations()
     {
-        return invitationDB.getAllInvitations(userDB, locationDB, jobDB, userKeywordDB, jobKeywordDB, jobCategoryDB);
+        return pool.read(db -> db.invitationDB.getAllInvitations(db.userDB, db.locationDB, jobSeekerLoader(), jobLoader()));
+    }
+
+    /**
+     * Gets a page of the invitations sent to a job seeker, in interview date order. The page's jobs are only loaded if
+     * one of them is asked for.
+     *
+     * @param jobSeeker The job seeker whose invitations are wanted.
+     * @param after     The last invitation of the previous page, or null for the first page.
+     * @param limit     The maximum number of invitations to return, or 0 for no limit.
+     * @return invitations as an ArrayList<Invitation>, or null if they cannot be loaded.
+     */
+    public ArrayList<Invitation> getJobSeekerInvitations(JobSeeker jobSeeker, Invitation after, int limit)
+    {
+        return pool.read(db -> db.invitationDB.getJobSeekerInvitations(jobSeeker, after, limit, db.userDB, db.locationDB, jobSeekerLoader(), jobLoader()));
+    }
+
+    /**
+     * Gets a page of the invitations sent by a recruiter, in interview date order. The page's job seekers and jobs are
+     * only loaded if one of them is asked for.
+     *
+     * @param recruiter The recruiter whose invitations are wanted.
+     * @param after     The last invitation of the previous page, or null for the first page.
+     * @param limit     The maximum number of invitations to return, or 0 for no limit.
+     * @return invitations as an ArrayList<Invitation>, or null if they cannot be loaded.
+     */
+    public ArrayList<Invitation> getRecruiterInvitations(Recruiter recruiter, Invitation after, int limit)
+    {
+        return pool.read(db -> db.invitationDB.getRecruiterInvitations(recruiter, after, limit, db.userDB, db.locationDB, jobSeekerLoader(), jobLoader()));
+    }
+
+    /**
+     * Counts the invitations sent to a job seeker.
+     *
+     * @param jobSeeker The job seeker whose invitations are counted.
+     * @return The number of invitations, or -1 if they cannot be counted.
+     */
+    public int countJobSeekerInvitations(JobSeeker jobSeeker)
+    {
+        Integer count = pool.read(db -> db.invitationDB.countJobSeekerInvitations(jobSeeker));
+        return count == null ? -1 : count;
+    }
+
+    /**
+     * Counts the invitations sent by a recruiter.
+     *
+     * @param recruiter The recruiter whose invitations are counted.
+     * @return The number of invitations, or -1 if they cannot be counted.
+     */
+    public int countRecruiterInvitations(Recruiter recruiter)
+    {
+        Integer count = pool.read(db -> db.invitationDB.countRecruiterInvitations(recruiter));
+        return count == null ? -1 : count;
     }
 
     /**
@@ -120,7 +246,173 @@ public class DatabaseManager
      */
     public ArrayList<Job> getAllJobs()
     {
-        return jobDB.getAllJobs(userDB, locationDB, jobKeywordDB, jobCategoryDB);
+        return pool.read(db -> db.jobDB.getAllJobs(db.userDB, db.locationDB, db.jobKeywordDB, db.jobCategoryDB));
+    }
+
+    /**
+     * Streams every job to a reader without loading them all first. The reader runs on a borrowed reader connection
+     * which is returned once the reader is done, so it shouldn't wait on anything else, and the stream can't be used
+     * after the reader returns.
+     *
+     * @param reader Reads the jobs, in id order.
+     * @param <T>    The type of the reader's result.
+     * @return Returns the reader's result, or null if the jobs cannot be queried.
+     */
+    public <T> T streamJobs(Function<Stream<Job>, T> reader)
+    {
+        return pool.read(db -> stream(() -> db.jobDB.streamJobs(FETCH_SIZE, db.userDB, db.locationDB), reader));
+    }
+
+    /**
+     * Streams every invitation to a reader without loading them all first, in the same order as
+     * {@link #getAllInvitations()}. The stream can't be used after the reader returns.
+     *
+     * @param reader Reads the invitations.
+     * @param <T>    The type of the reader's result.
+     * @return Returns the reader's result, or null if the invitations cannot be queried.
+     */
+    public <T> T streamInvitations(Function<Stream<Invitation>, T> reader)
+    {
+        return pool.read(db -> stream(() -> db.invitationDB.streamInvitations(FETCH_SIZE, db.userDB, db.locationDB, jobSeekerLoader(), jobLoader()), reader));
+    }
+
+    /**
+     * Streams the applications for a job to a reader without loading them all first. The stream can't be used after
+     * the reader returns. Job seekers are only batched across applications which have already been read, so a reader
+     * which needs the job seekers of every application should use {@link #getJobApplications(Job)} instead.
+     *
+     * @param job    The job whose applications are read.
+     * @param reader Reads the applications.
+     * @param <T>    The type of the reader's result.
+     * @return Returns the reader's result, or null if the applications cannot be queried.
+     */
+    public <T> T streamJobApplications(Job job, Function<Stream<Application>, T> reader)
+    {
+        return pool.read(db -> stream(() -> db.applicationDB.streamJobApplications(job, FETCH_SIZE, jobLoader(), jobSeekerLoader()), reader));
+    }
+
+    /**
+     * Opens a stream, passes it to a reader and closes it again, even if the reader throws.
+     */
+    private static <S, T> T stream(Cursor<S> cursor, Function<Stream<S>, T> reader)
+    {
+        try (Stream<S> rows = cursor.open())
+        {
+            return reader.apply(rows);
+        } catch (SQLException e)
+        {
+            System.out.println("Error opening cursor: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Creates a loader for the jobs referred to by a list of applications or invitations. The first job asked for is
+     * loaded along with the rest of the list's jobs on a borrowed reader connection, which is the connection already
+     * borrowed if the job is asked for while streaming.
+     */
+    private BatchLoader<Integer, Job> jobLoader()
+    {
+        return new BatchLoader<>(this::loadJobs);
+    }
+
+    /**
+     * Creates a loader for the job seekers referred to by a list of applications or invitations, in the same way as
+     * {@link #jobLoader()}.
+     */
+    private BatchLoader<String, JobSeeker> jobSeekerLoader()
+    {
+        return new BatchLoader<>(this::loadJobSeekers);
+    }
+
+    private HashMap<Integer, Job> loadJobs(Collection<Integer> jobIds)
+    {
+        ArrayList<Job> jobs = pool.read(db -> db.jobDB.getJobs(jobIds, db.userDB, db.locationDB, db.jobKeywordDB, db.jobCategoryDB));
+        if (jobs == null)
+            return null;
+        HashMap<Integer, Job> jobsById = new HashMap<>();
+        for (Job job : jobs)
+            jobsById.put(job.getId(), job);
+        return jobsById;
+    }
+
+    private HashMap<String, JobSeeker> loadJobSeekers(Collection<String> emails)
+    {
+        return pool.read(db -> db.userDB.getJobSeekers(emails, db.userKeywordDB, db.locationDB));
+    }
+
+    /**
+     * Gets the jobs which match a query, filtered and paged by the database.
+     *
+     * @param query The criteria and page of jobs to get.
+     * @return The matching jobs in id order as an ArrayList<Job>, or null if they cannot be loaded.
+     */
+    public ArrayList<Job> getJobs(JobQuery query)
+    {
+        return pool.read(db -> db.jobDB.getJobs(query, db.userDB, db.locationDB, db.jobKeywordDB, db.jobCategoryDB));
+    }
+
+    /**
+     * Gets summaries of the jobs which match a query, filtered and paged by the database, without loading each job in
+     * full.
+     *
+     * @param query The criteria and page of jobs to get.
+     * @return The matching job summaries in id order as an ArrayList<JobSummary>, or null if they cannot be loaded.
+     */
+    public ArrayList<JobSummary> getJobSummaries(JobQuery query)
+    {
+        return pool.read(db -> db.jobDB.getJobSummaries(query));
+    }
+
+    /**
+     * Counts the jobs which match a query on every page.
+     *
+     * @param query The criteria of the jobs to count.
+     * @return The number of matching jobs, or -1 if they cannot be counted.
+     */
+    public int countJobs(JobQuery query)
+    {
+        Integer count = pool.read(db -> db.jobDB.countJobs(query));
+        return count == null ? -1 : count;
+    }
+
+    /**
+     * Gets the number of applications for a job by status. Counts are read with one grouped query the first time and
+     * then kept up to date as applications are made, so they are usually returned without querying.
+     *
+     * @param job The job whose applications are counted.
+     * @return counts as ApplicationCounts, or null if they cannot be counted.
+     */
+    public ApplicationCounts getApplicationCounts(Job job)
+    {
+        ApplicationCounts counts = applicationCounter.getJobCounts(job.getId());
+        if (counts != null)
+            return counts;
+        long version = applicationCounter.getVersion();
+        counts = pool.read(db -> db.applicationDB.getStatusCounts(job.getId()));
+        if (counts != null)
+            applicationCounter.putJobCounts(counts, version);
+        return counts;
+    }
+
+    /**
+     * Gets the number of applications for each of a recruiter's jobs by status, in the same way as
+     * {@link #getApplicationCounts(Job)}. {@link ApplicationCounts#sum} adds them up across the recruiter's jobs.
+     *
+     * @param recruiter The recruiter whose jobs' applications are counted.
+     * @return counts as a LinkedHashMap of job id to ApplicationCounts in job id order, including jobs without
+     * applications, or null if they cannot be counted.
+     */
+    public LinkedHashMap<Integer, ApplicationCounts> getApplicationCounts(Recruiter recruiter)
+    {
+        LinkedHashMap<Integer, ApplicationCounts> counts = applicationCounter.getRecruiterCounts(recruiter.getEmail());
+        if (counts != null)
+            return counts;
+        long version = applicationCounter.getVersion();
+        counts = pool.read(db -> db.applicationDB.getRecruiterStatusCounts(recruiter.getEmail()));
+        if (counts != null)
+            applicationCounter.putRecruiterCounts(recruiter.getEmail(), counts, version);
+        return counts;
     }
 
     /**
@@ -131,7 +423,7 @@ public class DatabaseManager
      */
     public Application getApplication(int applicationId)
     {
-        return applicationDB.getApplication(applicationId, userDB, userKeywordDB, locationDB, jobDB, jobKeywordDB, jobCategoryDB);
+        return pool.read(db -> db.applicationDB.getApplication(applicationId, jobLoader(), jobSeekerLoader()));
     }
 
     /**
@@ -142,7 +434,7 @@ public class DatabaseManager
      */
     public Invitation getInvitation(int invitationId)
     {
-        return invitationDB.getInvitation(invitationId, userDB, locationDB, jobDB, userKeywordDB, jobKeywordDB, jobCategoryDB);
+        return pool.read(db -> db.invitationDB.getInvitation(invitationId, db.userDB, db.locationDB, jobSeekerLoader(), jobLoader()));
     }
 
     /**
@@ -153,7 +445,7 @@ public class DatabaseManager
      */
     public Job getJob(int id)
     {
-        return jobDB.getJob(id, userDB, locationDB, jobKeywordDB, jobCategoryDB);
+        return pool.read(db -> db.jobDB.getJob(id, db.userDB, db.locationDB, db.jobKeywordDB, db.jobCategoryDB));
     }
 
     /**
@@ -164,7 +456,53 @@ public class DatabaseManager
      */
     public ArrayList<Application> getJobApplications(Job job)
     {
-        return applicationDB.getJobApplications(job, userDB, userKeywordDB, locationDB, jobDB, jobKeywordDB, jobCategoryDB);
+        return pool.read(db -> db.applicationDB.getJobApplications(job, jobLoader(), jobSeekerLoader()));
+    }
+
+    /**
+     * Ranks the applications for a job by the personal relevancy of each applicant to the job, best first. Scores are
+     * worked out in parallel on the shared {@link ScoringEngine} and kept until the job is updated, so only the
+     * applications made since the job was last ranked are scored, and only their applicants are loaded.
+     *
+     * @param job      The job whose applications are ranked.
+     * @param pageSize The number of applications on each page.
+     * @return applications as a ResultPager of Application, whose {@link ResultPager#getKey(int)} gives the score each
+     * application was ranked by, or null if they cannot be loaded.
+     */
+    public ResultPager<Application> getRankedApplications(Job job, int pageSize)
+    {
+        long version = applicantScores.getVersion();
+        ArrayList<Application> applications = getJobApplications(job);
+        if (applications == null)
+            return null;
+        HashMap<Integer, Integer> scores = applicantScores.getScores(job.getId());
+        ArrayList<Application> unscored = new ArrayList<>();
+        for (Application application : applications)
+        {
+            if (!scores.containsKey(application.getId()))
+            {
+                // Loaded here in batches, so the scoring threads never query.
+                application.getJobSeeker();
+                unscored.add(application);
+            }
+        }
+        if (!unscored.isEmpty())
+        {
+            int[] unscoredScores = ScoringEngine.getDefault().score(unscored, application -> getApplicantScore(job, application));
+            for (int i = 0; i < unscoredScores.length; i++)
+                scores.put(unscored.get(i).getId(), unscoredScores[i]);
+            applicantScores.putScores(job.getId(), scores, version);
+        }
+        return ResultPager.ranked(applications, application -> scores.get(application.getId()), true, pageSize);
+    }
+
+    /**
+     * Gets the personal relevancy of an application's applicant to a job, or 0 if the applicant no longer exists.
+     */
+    private static int getApplicantScore(Job job, Application application)
+    {
+        JobSeeker jobSeeker = application.getJobSeeker();
+        return jobSeeker == null ? 0 : job.getPersonalRelevancy(jobSeeker);
     }
 
 
@@ -177,7 +515,7 @@ public class DatabaseManager
      */
     public Recruiter getRecruiter(String email)
     {
-        return userDB.getRecruiter(email);
+        return pool.read(db -> db.userDB.getRecruiter(email));
     }
 
     /**
@@ -188,7 +526,7 @@ public class DatabaseManager
      */
     public String getUserType(String email)
     {
-        return userDB.getUserAccountType(email);
+        return pool.read(db -> db.userDB.getUserAccountType(email));
     }
 
     /**
@@ -200,11 +538,12 @@ public class DatabaseManager
      */
     public Admin insertAdmin(Admin admin) throws SQLException
     {
-        return userDB.insertAdmin(admin);
+        return write(db -> db.userDB.insertAdmin(admin));
     }
 
     /**
-     * Inserts application in the database.
+     * Inserts application in the database, publishing {@link ChangeEvent.Type#APPLICATION_CREATED} if it wasn't
+     * already in the database.
      *
      * @param application Application object to insert.
      * @return application as Application object.
@@ -212,7 +551,8 @@ public class DatabaseManager
      */
     public Application insertApplication(Application application) throws SQLException
     {
-        return applicationDB.insertApplication(application);
+        boolean created = application.getId() == -1;
+        return write(db -> db.applicationDB.insertApplication(application), inserted -> created ? List.of(ChangeEvent.applicationCreated(inserted)) : List.of());
     }
 
     /**
@@ -224,7 +564,7 @@ public class DatabaseManager
      */
     public Invitation insertInvitation(Invitation invitation) throws SQLException
     {
-        return invitationDB.insertInvitation(invitation, userDB, locationDB, jobDB);
+        return write(db -> db.invitationDB.insertInvitation(invitation, db.userDB, db.locationDB, db.jobDB));
     }
 
     /**
@@ -236,7 +576,19 @@ public class DatabaseManager
      */
     public Job insertJob(Job job) throws SQLException
     {
-        return jobDB.insertJob(job, locationDB, jobKeywordDB, jobCategoryDB);
+        return write(db -> db.jobDB.insertJob(job, db.locationDB, db.jobKeywordDB, db.jobCategoryDB), inserted -> List.of(ChangeEvent.jobCreated(inserted)));
+    }
+
+    /**
+     * Inserts many jobs into the database in a single transaction, for bulk imports.
+     *
+     * @param jobs The jobs to insert.
+     * @return Returns a report of the jobs which were inserted and the reason each other job was rejected.
+     * @throws SQLException Handles SQL Exception, in which case no jobs are inserted.
+     */
+    public JobImportReport insertJobs(Collection<Job> jobs) throws SQLException
+    {
+        return write(db -> db.jobDB.insertJobs(jobs, db.locationDB, db.keywordDB, db.jobKeywordDB, db.jobCategoryDB), report -> report.getInserted().stream().map(ChangeEvent::jobCreated).toList());
     }
 
     /**
@@ -248,7 +600,7 @@ public class DatabaseManager
      */
     public JobSeeker insertJobSeeker(JobSeeker jobSeeker) throws SQLException
     {
-        return userDB.insertJobSeeker(jobSeeker, locationDB, userKeywordDB);
+        return write(db -> db.userDB.insertJobSeeker(jobSeeker, db.locationDB, db.userKeywordDB));
     }
 
     /**
@@ -260,7 +612,7 @@ public class DatabaseManager
      */
     public Recruiter insertRecruiter(Recruiter recruiter) throws SQLException
     {
-        return userDB.insertRecruiter(recruiter);
+        return write(db -> db.userDB.insertRecruiter(recruiter));
     }
 
     /**
@@ -272,12 +624,14 @@ public class DatabaseManager
      */
     public Session insertSession(Session session) throws SQLException
     {
-        return sessionDB.insertSession(session);
+        return write(db -> db.sessionDB.insertSession(session));
     }
 
     /**
      * TESTED
-     * Opens the database and initilises the prepared statements.
+     * Opens the database by migrating its schema to the latest version, then creating the connection pool and opening
+     * its first connection, which initialises the prepared statements and loads the keyword dictionary. Further
+     * connections are opened when threads need them.
      *
      * @return Returns true if the database opened correctly and all prepared statements have correct SQL syntax.
      */
@@ -285,18 +639,15 @@ public class DatabaseManager
     {
         try
         {
-            conn = DriverManager.getConnection(CONNECTION_STRING);
-            locationDB = new LocationDB(conn);
-            keywordDB = new KeywordDB(conn);
-            categoryDB = new CategoryDB(conn);
-            jobDB = new JobDB(conn);
-            userDB = new UserDB(conn);
-            userKeywordDB = new UserKeywordDB(conn);
-            jobKeywordDB = new JobKeywordDB(conn);
-            jobCategoryDB = new JobCategoryDB(conn);
-            applicationDB = new ApplicationDB(conn);
-            invitationDB = new InvitationDB(conn);
-            sessionDB = new SessionDB(conn);
+            close();
+            applicationCounter.clear();
+            applicantScores.clear();
+            try (Connection conn = DriverManager.getConnection(connectionString))
+            {
+                SchemaMigrator.migrate(conn);
+            }
+            pool = new ConnectionPool(connectionString, READER_COUNT, conn -> new DatabaseConnection(conn, recruiterCache, locationCache, keywordDictionary));
+            pool.write(db -> null);
             return true;
         } catch (SQLException e)
         {
@@ -305,6 +656,141 @@ public class DatabaseManager
         }
     }
 
+    /**
+     * Searches the advertised jobs for the given search term using the job search index, ranked by BM25.
+     *
+     * @param searchTerm The term to search for.
+     * @param limit      The maximum number of jobs to return.
+     * @return Returns the matching jobs ordered from most to least relevant.
+     */
+    public ArrayList<Job> searchJobs(String searchTerm, int limit)
+    {
+        return searchJobs(searchTerm, limit, RankingMode.BM25);
+    }
+
+    /**
+     * Searches the advertised jobs for the given search term using the job search index.
+     *
+     * @param searchTerm The term to search for.
+     * @param limit      The maximum number of jobs to return.
+     * @param mode       How the jobs are ranked.
+     * @return Returns the matching jobs ordered from most to least relevant.
+     */
+    public ArrayList<Job> searchJobs(String searchTerm, int limit, RankingMode mode)
+    {
+        PersistentJobIndex index = getJobIndex();
+        if (index == null)
+            return new ArrayList<>();
+        ArrayList<Integer> jobIds = index.search(searchTerm, limit, mode);
+        ArrayList<Job> jobs = pool.read(db -> db.jobDB.getJobs(jobIds, db.userDB, db.locationDB, db.jobKeywordDB, db.jobCategoryDB));
+        return jobs == null ? new ArrayList<>() : jobs;
+    }
+
+    /**
+     * Gets the job search index, opening it from its file the first time it is needed. If the file is missing or
+     * can't be read the index is built again from the job table. Jobs inserted since the index was last written, such
+     * as by another copy of the program, are then added to it.
+     *
+     * @return The job search index, or null if it can't be opened or built.
+     */
+    private synchronized PersistentJobIndex getJobIndex()
+    {
+        if (jobIndex == null)
+        {
+            PersistentJobIndex index;
+            try
+            {
+                index = PersistentJobIndex.open(indexPath);
+            } catch (IOException e)
+            {
+                index = streamJobs(jobs ->
+                {
+                    try
+                    {
+                        return PersistentJobIndex.build(indexPath, jobs.iterator());
+                    } catch (IOException buildError)
+                    {
+                        System.out.println("Couldn't build job index: " + buildError.getMessage());
+                        return null;
+                    }
+                });
+                if (index == null)
+                    return null;
+            }
+            JobQuery newJobs = new JobQuery();
+            newJobs.setAfterId(index.getLastJobId());
+            ArrayList<Job> missing = getJobs(newJobs);
+            jobIndex = index;
+            if (missing != null)
+                missing.forEach(this::indexJob);
+        }
+        return jobIndex;
+    }
+
+    /**
+     * Keeps the search index in step with committed job changes. Delisted jobs stay in the index so they can be
+     * advertised again, but are left out of search results. If the index isn't open yet, new jobs are added when it
+     * is opened.
+     *
+     * @param event The committed change.
+     */
+    private synchronized void updateJobIndex(ChangeEvent event)
+    {
+        if (jobIndex == null || event.getJob() == null)
+            return;
+        indexJob(event.getJob());
+    }
+
+    private void indexJob(Job job)
+    {
+        try
+        {
+            jobIndex.addJob(job);
+        } catch (IOException e)
+        {
+            System.out.println("Couldn't add job " + job.getId() + " to job index: " + e.getMessage());
+        }
+    }
+
+    private synchronized void closeJobIndex()
+    {
+        if (jobIndex == null)
+            return;
+        try
+        {
+            jobIndex.close();
+        } catch (IOException e)
+        {
+            System.out.println("Couldn't close job index: " + e.getMessage());
+        }
+        jobIndex = null;
+    }
+
+    /**
+     * Updates a job's details, keywords and categories, publishing {@link ChangeEvent.Type#JOB_DELISTED} if the job is
+     * no longer advertised and {@link ChangeEvent.Type#JOB_UPDATED} otherwise.
+     *
+     * @param job The job as it should now be.
+     * @return job as a Job object.
+     * @throws SQLException Handles SQL Exception, in which case the job isn't changed.
+     */
+    public Job updateJob(Job job) throws SQLException
+    {
+        return write(db -> db.jobDB.updateJob(job, db.locationDB, db.jobKeywordDB, db.jobCategoryDB), updated -> List.of(updated.getIsAdvertised() ? ChangeEvent.jobUpdated(updated) : ChangeEvent.jobDelisted(updated)));
+    }
+
+    /**
+     * Stops advertising a job from today.
+     *
+     * @param job The job to delist.
+     * @return job as a Job object.
+     * @throws SQLException Handles SQL Exception.
+     */
+    public Job delistJob(Job job) throws SQLException
+    {
+        return write(db -> db.jobDB.delistJob(job, new Date(System.currentTimeMillis())), delisted -> List.of(ChangeEvent.jobDelisted(delisted)));
+    }
+
     /**
      * Updates the session in the database.
      *
@@ -314,6 +800,63 @@ public class DatabaseManager
      */
     public Session updateSession(Session session) throws SQLException
     {
-        return sessionDB.updateSession(session);
+        return write(db -> db.sessionDB.updateSession(session));
+    }
+
+    /**
+     * Opens a stream over the rows of a query.
+     *
+     * @param <S> The type of each row.
+     */
+    @FunctionalInterface
+    private interface Cursor<S>
+    {
+        Stream<S> open() throws SQLException;
+    }
+
+    /**
+     * Runs a write which doesn't change anything other indexes or caches depend on, other than the keywords it may add.
+     *
+     * @param work The write to run on the writer connection.
+     * @param <T>  The type of result.
+     * @return The result of the write.
+     * @throws SQLException Throws an SQLException if the write fails.
+     */
+    private <T> T write(ConnectionPool.Work<T> work) throws SQLException
+    {
+        return write(work, result -> List.of());
+    }
+
+    /**
+     * Runs a write on the writer connection and publishes the changes it made once it has committed. Keywords added by
+     * the write are published first. Events are published before the writer connection is released, so they are
+     * delivered in the order the changes were committed. Nothing is published if the write fails.
+     *
+     * @param work    The write to run on the writer connection.
+     * @param changes Gives the events for the result of the write, called only if the result isn't null.
+     * @param <T>     The type of result.
+     * @return The result of the write.
+     * @throws SQLException Throws an SQLException if the write fails.
+     */
+    private <T> T write(ConnectionPool.Work<T> work, Function<? super T, List<ChangeEvent>> changes) throws SQLException
+    {
+        return pool.write(db ->
+        {
+            T result;
+            try
+            {
+                result = work.apply(db);
+            } catch (SQLException | RuntimeException e)
+            {
+                db.keywordDB.takeAddedKeywords();
+                throw e;
+            }
+            ArrayList<ChangeEvent> events = new ArrayList<>();
+            db.keywordDB.takeAddedKeywords().forEach((id, keyword) -> events.add(ChangeEvent.keywordAdded(id, keyword)));
+            if (result != null)
+                events.addAll(changes.apply(result));
+            changeBus.publish(events);
+            return result;
+        });
     }
 }
@@ -0,0 +1,93 @@
+package Database;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded identity map which keeps one shared instance of each entity loaded from the database, keyed by its id.
+ * When the map is full the least recently used entity is evicted. Entries must be invalidated whenever the row they
+ * were loaded from is inserted or changed.
+ *
+ * @param <K> The type of the entity id.
+ * @param <V> The type of the entity.
+ * @author Charlie Timlock, Levi Quilliam, Tim Perkins, and Merrill Nguyen
+ * @version 1.0
+ */
+public class IdentityMap<K, V>
+{
+    private final LinkedHashMap<K, V> entries;
+
+    /**
+     * Non-default constructor which creates an empty identity map.
+     *
+     * @param capacity The maximum number of entities to keep before evicting the least recently used.
+     */
+    public IdentityMap(int capacity)
+    {
+        entries = new LinkedHashMap<>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest)
+            {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Removes every entity from the map.
+     */
+    public synchronized void clear()
+    {
+        entries.clear();
+    }
+
+    /**
+     * Gets the shared instance of an entity.
+     *
+     * @param key The id of the entity.
+     * @return The entity or null if it isn't in the map.
+     */
+    public synchronized V get(K key)
+    {
+        return entries.get(key);
+    }
+
+    /**
+     * Removes an entity from the map so that it will be loaded again from the database next time.
+     *
+     * @param key The id of the entity to invalidate.
+     */
+    public synchronized void invalidate(K key)
+    {
+        entries.remove(key);
+    }
+
+    /**
+     * Adds an entity to the map unless an instance with the same id is already there.
+     *
+     * @param key   The id of the entity.
+     * @param value The entity which has just been loaded, ignored if null.
+     * @return The shared instance, which is the existing instance if there was one.
+     */
+    public synchronized V put(K key, V value)
+    {
+        if (value == null)
+            return null;
+        V existing = entries.get(key);
+        if (existing != null)
+            return existing;
+        entries.put(key, value);
+        return value;
+    }
+
+    /**
+     * Gets the number of entities in the map.
+     *
+     * @return The number of cached entities.
+     */
+    public synchronized int size()
+    {
+        return entries.size();
+    }
+}
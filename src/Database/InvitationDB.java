@@ -1,9 +1,14 @@
 package Database;
 
 import Entities.Invitation;
+import Entities.Job;
+import Entities.JobSeeker;
+import Entities.Recruiter;
+import Utilities.BatchLoader;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.stream.Stream;
 
 import static Database.InvitationDB.Column.*;
 import static Database.Parser.parseInvitation;
@@ -26,6 +31,20 @@ public class InvitationDB implements DBHelper
      */
     private final PreparedStatement queryInvitationById;
     private final PreparedStatement queryAllInvitations;
+    /**
+     * Prepared statements which will query a page of one job seeker's or one recruiter's invitations.
+     */
+    private final PreparedStatement queryJobSeekerInvitations;
+    private final PreparedStatement queryRecruiterInvitations;
+    /**
+     * Prepared statements which will count one job seeker's or one recruiter's invitations.
+     */
+    private final PreparedStatement countJobSeekerInvitations;
+    private final PreparedStatement countRecruiterInvitations;
+    /**
+     * Connection used to open cursors, which each need their own statement.
+     */
+    private final Connection connection;
 
     /**
      * Establishes connection to SQL database.
@@ -35,9 +54,14 @@ public class InvitationDB implements DBHelper
      */
     public InvitationDB(Connection conn) throws SQLException
     {
+        this.connection = conn;
         insertInvitation = conn.prepareStatement(InvitationDB.Insert.INVITATION, Statement.RETURN_GENERATED_KEYS);
         queryInvitationById = conn.prepareStatement(InvitationDB.Query.INVITATION_BY_ID);
         queryAllInvitations = conn.prepareStatement(InvitationDB.Query.ALL_INVITATIONS);
+        queryJobSeekerInvitations = conn.prepareStatement(Query.JOB_SEEKER_INVITATIONS);
+        queryRecruiterInvitations = conn.prepareStatement(Query.RECRUITER_INVITATIONS);
+        countJobSeekerInvitations = conn.prepareStatement(Query.COUNT_JOB_SEEKER_INVITATIONS);
+        countRecruiterInvitations = conn.prepareStatement(Query.COUNT_RECRUITER_INVITATIONS);
     }
 
     /**
@@ -54,30 +78,39 @@ public class InvitationDB implements DBHelper
             queryInvitationById.close();
         if (queryAllInvitations != null)
             queryAllInvitations.close();
+        if (queryJobSeekerInvitations != null)
+            queryJobSeekerInvitations.close();
+        if (queryRecruiterInvitations != null)
+            queryRecruiterInvitations.close();
+        if (countJobSeekerInvitations != null)
+            countJobSeekerInvitations.close();
+        if (countRecruiterInvitations != null)
+            countRecruiterInvitations.close();
     }
 
     /**
      * Gets invitations from the SQL database by querying the information to construct the list of Invitation objects.
+     * Each invitation refers to its job seeker and job, which are loaded in batches when they are first asked for.
      *
-     * @param userDB        userDB as UserDB
-     * @param userKeywordDB userKeywordDB as UserKeywordDB
-     * @param locationDB    locationDB as LocationDB
-     * @param jobDB         jobDB as JobDB
-     * @param jobKeywordDB  jobKeywordDB as JobKeywordDB
-     * @param jobCategoryDB jobCategoryDB as JobCategoryDB
+     * @param userDB     userDB as UserDB
+     * @param locationDB locationDB as LocationDB
+     * @param jobSeekers Loads the invitations' job seekers by email.
+     * @param jobs       Loads the invitations' jobs by id.
      * @return applications as ArrayList<Application>
      */
-    public ArrayList<Invitation> getAllInvitations(UserDB userDB, LocationDB locationDB, JobDB jobDB, UserKeywordDB userKeywordDB, JobKeywordDB jobKeywordDB, JobCategoryDB jobCategoryDB)
+    public ArrayList<Invitation> getAllInvitations(UserDB userDB, LocationDB locationDB, BatchLoader<String, JobSeeker> jobSeekers, BatchLoader<Integer, Job> jobs)
     {
         try
         {
             ArrayList<Invitation> invitations = new ArrayList<>();
-            ResultSet results = queryAllInvitations.executeQuery();
-            while (results.next())
+            try (ResultSet results = queryAllInvitations.executeQuery())
             {
-                invitations.add(parseInvitation(results, userDB, locationDB, jobDB, userKeywordDB, jobKeywordDB, jobCategoryDB));
+                while (results.next())
+                {
+                    invitations.add(parseInvitation(results, userDB, locationDB, jobSeekers, jobs));
+                }
+                return invitations;
             }
-            return invitations;
         } catch (SQLException e)
         {
             System.out.println("Error querying all invitations: " + e.getMessage());
@@ -85,27 +118,179 @@ public class InvitationDB implements DBHelper
         }
     }
 
+    /**
+     * Streams every invitation from a live cursor, in the same order as {@link #getAllInvitations}, instead of loading
+     * them all first. The stream holds this helper's connection and must be closed before the connection is used by
+     * another thread.
+     *
+     * @param fetchSize  The number of rows the driver should read ahead at a time.
+     * @param userDB     userDB as UserDB
+     * @param locationDB locationDB as LocationDB
+     * @param jobSeekers Loads the invitations' job seekers by email.
+     * @param jobs       Loads the invitations' jobs by id.
+     * @return invitations as a Stream<Invitation>
+     * @throws SQLException Throws an SQLException if the invitations cannot be queried.
+     */
+    public Stream<Invitation> streamInvitations(int fetchSize, UserDB userDB, LocationDB locationDB, BatchLoader<String, JobSeeker> jobSeekers, BatchLoader<Integer, Job> jobs) throws SQLException
+    {
+        return ResultCursor.stream(connection.prepareStatement(Query.ALL_INVITATIONS), fetchSize, results -> parseInvitation(results, userDB, locationDB, jobSeekers, jobs));
+    }
+
+    /**
+     * Gets a page of the invitations sent to a job seeker, in interview date order. The page is read through the
+     * index on the job seeker's email and interview date, and each invitation only refers to its job, which is loaded
+     * along with the rest of the page's jobs if it is asked for.
+     *
+     * @param jobSeeker  The job seeker whose invitations are wanted.
+     * @param after      The last invitation of the previous page, or null for the first page.
+     * @param limit      The maximum number of invitations to return, or 0 for no limit.
+     * @param userDB     userDB as UserDB
+     * @param locationDB locationDB as LocationDB
+     * @param jobSeekers Loads job seekers by email, given the job seeker so that they aren't loaded again.
+     * @param jobs       Loads the invitations' jobs by id.
+     * @return invitations as ArrayList<Invitation>, or null if the invitations cannot be queried.
+     */
+    public ArrayList<Invitation> getJobSeekerInvitations(JobSeeker jobSeeker, Invitation after, int limit, UserDB userDB, LocationDB locationDB, BatchLoader<String, JobSeeker> jobSeekers, BatchLoader<Integer, Job> jobs)
+    {
+        try
+        {
+            jobSeekers.put(jobSeeker.getEmail(), jobSeeker);
+            setPageParameters(queryJobSeekerInvitations, jobSeeker.getEmail(), after, limit);
+            ArrayList<Invitation> invitations = new ArrayList<>();
+            try (ResultSet results = queryJobSeekerInvitations.executeQuery())
+            {
+                while (results.next())
+                {
+                    Invitation invitation = parseInvitation(results, userDB, locationDB, jobSeekers, jobs);
+                    if (invitation != null)
+                        invitations.add(invitation);
+                }
+            }
+            return invitations;
+        } catch (SQLException e)
+        {
+            System.out.println("Error querying invitations for " + jobSeeker.getEmail() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Gets a page of the invitations sent by a recruiter, in interview date order. The page is read through the index
+     * on the recruiter's email and interview date, and each invitation only refers to its job seeker and job, which are
+     * loaded along with the rest of the page's job seekers and jobs if they are asked for. A job seeker who is invited
+     * to several of the recruiter's jobs is only loaded once.
+     *
+     * @param recruiter  The recruiter whose invitations are wanted.
+     * @param after      The last invitation of the previous page, or null for the first page.
+     * @param limit      The maximum number of invitations to return, or 0 for no limit.
+     * @param userDB     userDB as UserDB
+     * @param locationDB locationDB as LocationDB
+     * @param jobSeekers Loads the invitations' job seekers by email.
+     * @param jobs       Loads the invitations' jobs by id.
+     * @return invitations as ArrayList<Invitation>, or null if the invitations cannot be queried.
+     */
+    public ArrayList<Invitation> getRecruiterInvitations(Recruiter recruiter, Invitation after, int limit, UserDB userDB, LocationDB locationDB, BatchLoader<String, JobSeeker> jobSeekers, BatchLoader<Integer, Job> jobs)
+    {
+        try
+        {
+            setPageParameters(queryRecruiterInvitations, recruiter.getEmail(), after, limit);
+            ArrayList<Invitation> invitations = new ArrayList<>();
+            try (ResultSet results = queryRecruiterInvitations.executeQuery())
+            {
+                while (results.next())
+                {
+                    Invitation invitation = parseInvitation(results, userDB, locationDB, jobSeekers, jobs);
+                    if (invitation != null)
+                        invitations.add(invitation);
+                }
+            }
+            return invitations;
+        } catch (SQLException e)
+        {
+            System.out.println("Error querying invitations from " + recruiter.getEmail() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Counts the invitations sent to a job seeker.
+     *
+     * @param jobSeeker The job seeker whose invitations are counted.
+     * @return The number of invitations, or -1 if they cannot be counted.
+     */
+    public int countJobSeekerInvitations(JobSeeker jobSeeker)
+    {
+        return count(countJobSeekerInvitations, jobSeeker.getEmail());
+    }
+
+    /**
+     * Counts the invitations sent by a recruiter.
+     *
+     * @param recruiter The recruiter whose invitations are counted.
+     * @return The number of invitations, or -1 if they cannot be counted.
+     */
+    public int countRecruiterInvitations(Recruiter recruiter)
+    {
+        return count(countRecruiterInvitations, recruiter.getEmail());
+    }
+
+    private static int count(PreparedStatement statement, String email)
+    {
+        try
+        {
+            statement.setString(1, email);
+            try (ResultSet result = statement.executeQuery())
+            {
+                return result.next() ? result.getInt(1) : 0;
+            }
+        } catch (SQLException e)
+        {
+            System.out.println("Error counting invitations for " + email + ": " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Sets the parameters of a page query, in the order of {@link Query#JOB_SEEKER_INVITATIONS}. The page starts after
+     * the interview date and id of the last invitation of the previous page. Invitations without an interview date come
+     * first, as they are ordered first by the index.
+     */
+    private static void setPageParameters(PreparedStatement statement, String email, Invitation after, int limit) throws SQLException
+    {
+        statement.setString(1, email);
+        Date afterDate = after == null ? null : after.getDateOfInterview();
+        for (int index = 2; index <= 4; index++)
+        {
+            if (afterDate == null)
+                statement.setNull(index, Types.INTEGER);
+            else
+                statement.setLong(index, afterDate.getTime());
+        }
+        statement.setInt(5, after == null ? 0 : after.getId());
+        statement.setInt(6, limit > 0 ? limit : -1);
+    }
+
     /**
      * Gets invitation from the SQL database by querying the information to construct the Invitation object.
      *
-     * @param invitationId  invitation id as int
-     * @param userDB        userDB as UserDB
-     * @param userKeywordDB userKeywordDB as UserKeywordDB
-     * @param locationDB    locationDB as LocationDB
-     * @param jobDB         jobDB as JobDB
-     * @param jobKeywordDB  jobKeywordDB as JobKeywordDB
-     * @param jobCategoryDB jobCategoryDB as JobCategoryDB
+     * @param invitationId invitation id as int
+     * @param userDB       userDB as UserDB
+     * @param locationDB   locationDB as LocationDB
+     * @param jobSeekers   Loads the invitation's job seeker by email.
+     * @param jobs         Loads the invitation's job by id.
      * @return invitation as Invitation
      */
-    public Invitation getInvitation(int invitationId, UserDB userDB, LocationDB locationDB, JobDB jobDB, UserKeywordDB userKeywordDB, JobKeywordDB jobKeywordDB, JobCategoryDB jobCategoryDB)
+    public Invitation getInvitation(int invitationId, UserDB userDB, LocationDB locationDB, BatchLoader<String, JobSeeker> jobSeekers, BatchLoader<Integer, Job> jobs)
     {
         try
         {
             queryInvitationById.setInt(1, invitationId);
-            ResultSet result = queryInvitationById.executeQuery();
-            if (result.next())
-                return parseInvitation(result, userDB, locationDB, jobDB, userKeywordDB, jobKeywordDB, jobCategoryDB);
-            return null;
+            try (ResultSet result = queryInvitationById.executeQuery())
+            {
+                if (result.next())
+                    return parseInvitation(result, userDB, locationDB, jobSeekers, jobs);
+                return null;
+            }
         } catch (SQLException e)
         {
             System.out.println("Error querying invitationId = " + invitationId + ": " + e.getMessage());
@@ -133,9 +318,9 @@ public class InvitationDB implements DBHelper
         {
             invitation.setLocationOfInterview(locationDB.insertLocation(invitation.getLocationOfInterview()));
 
-            insertInvitation.setString(1, invitation.getJobSeeker().getEmail());
+            insertInvitation.setString(1, invitation.getJobSeekerEmail());
             insertInvitation.setString(2, invitation.getRecruiter().getEmail());
-            insertInvitation.setInt(3, invitation.getJob().getId());
+            insertInvitation.setInt(3, invitation.getJobId());
             insertInvitation.setDate(4, invitation.getDateSent());
             insertInvitation.setDate(5, invitation.getDateOfInterview());
             insertInvitation.setInt(6, invitation.getLocationOfInterview().getId());
@@ -145,13 +330,15 @@ public class InvitationDB implements DBHelper
             int affectedRows = insertInvitation.executeUpdate();
             if (affectedRows != 1)
                 throw new SQLException("Error inserting Invitation Seeker");
-            ResultSet generatedKey = insertInvitation.getGeneratedKeys();
-            if (generatedKey.next())
+            try (ResultSet generatedKey = insertInvitation.getGeneratedKeys())
             {
-                invitation.setId(generatedKey.getInt(1));
-                return invitation;
-            } else
-                throw new SQLException("Could not get inserted invitation Id");
+                if (generatedKey.next())
+                {
+                    invitation.setId(generatedKey.getInt(1));
+                    return invitation;
+                } else
+                    throw new SQLException("Could not get inserted invitation Id");
+            }
         }
     }
 
@@ -184,8 +371,38 @@ public class InvitationDB implements DBHelper
      */
     public static class Query
     {
-        public static final String INVITATION_BY_ID = "SELECT * FROM " + NAME + " WHERE " + ID + " = ?";
-        public static final String ALL_INVITATIONS = "SELECT * FROM " + NAME + " ORDER BY " + DATEOFINTERVIEW + " ASC";
+        /**
+         * Invitations with the title of each job, so that the title can be shown without loading the job.
+         */
+        private static final String INVITATION_WITH_JOB_TITLE = "SELECT " + NAME + ".*, " + JobDB.NAME + "." + JobDB.Column.JOBTITLE
+                + " FROM " + NAME + " LEFT JOIN " + JobDB.NAME + " ON " + JobDB.NAME + "." + JobDB.Column.ID + " = " + NAME + "." + JOBID;
+        public static final String INVITATION_BY_ID = INVITATION_WITH_JOB_TITLE + " WHERE " + NAME + "." + ID + " = ?";
+        public static final String ALL_INVITATIONS = INVITATION_WITH_JOB_TITLE + " ORDER BY " + NAME + "." + DATEOFINTERVIEW + " ASC";
+        /**
+         * A page of one job seeker's invitations with the title of each job. The parameters are the email, the interview
+         * date of the previous page's last invitation three times, its id, and the limit.
+         */
+        public static final String JOB_SEEKER_INVITATIONS = invitationsPage(JOBSEEKEREMAIL);
+        /**
+         * A page of one recruiter's invitations, taking the same parameters as {@link #JOB_SEEKER_INVITATIONS}.
+         */
+        public static final String RECRUITER_INVITATIONS = invitationsPage(RECRUITEREMAIL);
+        public static final String COUNT_JOB_SEEKER_INVITATIONS = "SELECT COUNT(*) FROM " + NAME + " WHERE " + JOBSEEKEREMAIL + " = ?";
+        public static final String COUNT_RECRUITER_INVITATIONS = "SELECT COUNT(*) FROM " + NAME + " WHERE " + RECRUITEREMAIL + " = ?";
+
+        /**
+         * Builds a query for a page of the invitations of one user, ordered by interview date and then id so that each
+         * page can start where the last one ended.
+         *
+         * @param emailColumn The column holding the user's email.
+         * @return The query string.
+         */
+        private static String invitationsPage(String emailColumn)
+        {
+            String date = NAME + "." + DATEOFINTERVIEW;
+            return INVITATION_WITH_JOB_TITLE + " WHERE " + NAME + "." + emailColumn + " = ? AND (" + date + " > ? OR (? IS NULL AND " + date + " IS NOT NULL) OR (" + date + " IS ? AND " + NAME + "." + ID + " > ?))"
+                    + " ORDER BY " + date + ", " + NAME + "." + ID + " LIMIT ?";
+        }
     }
 
     /**
@@ -4,10 +4,11 @@ import Entities.Job;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 
 import static Database.JobCategoryDB.Column.*;
-import static Database.CategoryDB.getCategory;
-import static Database.CategoryDB.insertCategory;
 
 /**
  * Establishes connection to the job_category table in SQL.
@@ -29,17 +30,39 @@ public class JobCategoryDB implements DBHelper
      * Prepared statement that will insert an entry into the job_category table given a jobId and categoryId.
      */
     private final PreparedStatement insertJobCategory;
+    /**
+     * Prepared statement that will return every job id paired with the category text, used to load the categories of
+     * all jobs at once.
+     */
+    private final PreparedStatement queryAllJobCategories;
+    /**
+     * Prepared statement that will delete every entry of a given jobId from the job_category table.
+     */
+    private final PreparedStatement deleteJobCategories;
+    /**
+     * Connection used for statements whose number of parameters depends on how many jobs are looked up at once.
+     */
+    private final Connection connection;
+    /**
+     * Category helper on the same connection, used to look up and insert categories.
+     */
+    private final CategoryDB categoryDB;
 
     /**
      * Establishes connection to SQL database.
      *
-     * @param conn conn as Connection
+     * @param conn       conn as Connection
+     * @param categoryDB Category helper on the same connection.
      * @throws SQLException Handles SQL Exception
      */
-    public JobCategoryDB(Connection conn) throws SQLException
+    public JobCategoryDB(Connection conn, CategoryDB categoryDB) throws SQLException
     {
+        this.connection = conn;
+        this.categoryDB = categoryDB;
         queryJobCategories = conn.prepareStatement(JobCategoryDB.Query.JOB_category, Statement.RETURN_GENERATED_KEYS);
         insertJobCategory = conn.prepareStatement(JobCategoryDB.Insert.JOB_category, Statement.RETURN_GENERATED_KEYS);
+        queryAllJobCategories = conn.prepareStatement(JobCategoryDB.Query.ALL_JOB_CATEGORIES);
+        deleteJobCategories = conn.prepareStatement(JobCategoryDB.Delete.JOB_CATEGORIES);
     }
 
     @Override
@@ -50,6 +73,59 @@ public class JobCategoryDB implements DBHelper
             queryJobCategories.close();
         if (insertJobCategory != null)
             insertJobCategory.close();
+        if (queryAllJobCategories != null)
+            queryAllJobCategories.close();
+        if (deleteJobCategories != null)
+            deleteJobCategories.close();
+    }
+
+    /**
+     * Gets the categories of every job with a single query.
+     *
+     * @return Returns a HashMap of job id to that job's categories, in the same order as {@link #getJobCategories(int)}.
+     * Jobs without categories are not in the map.
+     * @throws SQLException Throws an SQLException if the job_category table cannot be queried.
+     */
+    public HashMap<Integer, ArrayList<String>> getAllJobCategories() throws SQLException
+    {
+        HashMap<Integer, ArrayList<String>> jobCategories = new HashMap<>();
+        try (ResultSet results = queryAllJobCategories.executeQuery())
+        {
+            while (results.next())
+            {
+                jobCategories.computeIfAbsent(results.getInt(JOBID), id -> new ArrayList<>()).add(results.getString(CategoryDB.Column.CATEGORY));
+            }
+            return jobCategories;
+        }
+    }
+
+    /**
+     * Gets the categories of a set of jobs with a single query, used to load a page of jobs.
+     *
+     * @param jobIds The ids of the jobs.
+     * @return Returns a HashMap of job id to that job's categories, in the same order as {@link #getJobCategories(int)}.
+     * Jobs without categories are not in the map.
+     * @throws SQLException Throws an SQLException if the job_category table cannot be queried.
+     */
+    public HashMap<Integer, ArrayList<String>> getJobCategories(Collection<Integer> jobIds) throws SQLException
+    {
+        HashMap<Integer, ArrayList<String>> jobCategories = new HashMap<>();
+        if (jobIds.isEmpty())
+            return jobCategories;
+        try (PreparedStatement query = connection.prepareStatement(Query.jobCategoriesByJobId(jobIds.size())))
+        {
+            int index = 1;
+            for (int jobId : jobIds)
+                query.setInt(index++, jobId);
+            try (ResultSet results = query.executeQuery())
+            {
+                while (results.next())
+                {
+                    jobCategories.computeIfAbsent(results.getInt(JOBID), id -> new ArrayList<>()).add(results.getString(CategoryDB.Column.CATEGORY));
+                }
+                return jobCategories;
+            }
+        }
     }
 
     /**
@@ -67,7 +143,7 @@ public class JobCategoryDB implements DBHelper
         if (categoryIds != null)
         {
             ArrayList<String> categories = new ArrayList<>();
-            categoryIds.forEach(id -> categories.add(getCategory(id)));
+            categoryIds.forEach(id -> categories.add(categoryDB.getCategory(id)));
             return categories;
         } else
             return null;
@@ -87,12 +163,14 @@ public class JobCategoryDB implements DBHelper
         try
         {
             queryJobCategories.setInt(1, jobId);
-            ResultSet results = queryJobCategories.executeQuery();
-            while (results.next())
+            try (ResultSet results = queryJobCategories.executeQuery())
             {
-                categoryIds.add(results.getInt(JobCategoryDB.Column.categoryID));
+                while (results.next())
+                {
+                    categoryIds.add(results.getInt(JobCategoryDB.Column.categoryID));
+                }
+                return categoryIds.size() == 0 ? null : categoryIds;
             }
-            return categoryIds.size() == 0 ? null : categoryIds;
         } catch (SQLException e)
         {
             System.out.println("Error querying job_category table to get categoryIds: " + e.getMessage());
@@ -133,7 +211,7 @@ public class JobCategoryDB implements DBHelper
      */
     private void insertJobCategory(int jobId, String category) throws SQLException
     {
-        int categoryId = insertCategory(category);
+        int categoryId = categoryDB.insertCategory(category);
         ArrayList<Integer> userCategoryIds = getJobCategoryIds(jobId);
         if (userCategoryIds == null || !userCategoryIds.contains(categoryId))
         {
@@ -145,6 +223,60 @@ public class JobCategoryDB implements DBHelper
         }
     }
 
+    /**
+     * Inserts the categories of many newly inserted jobs with one batch. Each distinct category is only looked up or
+     * inserted once. Doesn't commit, so it should be called inside the caller's transaction.
+     *
+     * @param jobs Jobs which have just been given ids and have no job_category rows yet.
+     * @throws SQLException Throws an SQLException if the categories or job_category rows cannot be inserted.
+     */
+    public void insertJobCategories(Collection<Job> jobs) throws SQLException
+    {
+        HashMap<String, Integer> categoryIds = new HashMap<>();
+        try
+        {
+            for (Job job : jobs)
+            {
+                if (job.getCategories() == null)
+                    continue;
+                LinkedHashSet<Integer> jobCategoryIds = new LinkedHashSet<>();
+                for (String category : job.getCategories())
+                {
+                    Integer categoryId = categoryIds.get(category);
+                    if (categoryId == null)
+                    {
+                        categoryId = categoryDB.insertCategory(category);
+                        categoryIds.put(category, categoryId);
+                    }
+                    jobCategoryIds.add(categoryId);
+                }
+                for (int categoryId : jobCategoryIds)
+                {
+                    insertJobCategory.setInt(1, job.getId());
+                    insertJobCategory.setInt(2, categoryId);
+                    insertJobCategory.addBatch();
+                }
+            }
+            insertJobCategory.executeBatch();
+        } catch (SQLException e)
+        {
+            insertJobCategory.clearBatch();
+            throw e;
+        }
+    }
+
+    /**
+     * Deletes every category of a job, so that they can be inserted again when the job is updated.
+     *
+     * @param jobId The id of the job whose categories will be deleted.
+     * @throws SQLException Throws an SQLException if the job_category rows cannot be deleted.
+     */
+    public void deleteJobCategories(int jobId) throws SQLException
+    {
+        deleteJobCategories.setInt(1, jobId);
+        deleteJobCategories.executeUpdate();
+    }
+
     /**
      * View strings
      */
@@ -167,8 +299,21 @@ public class JobCategoryDB implements DBHelper
     public static class Query
     {
         public static final String CHECK_USER_category = "SELECT * FROM " + NAME + " WHERE " + JOBID + " = ? AND " + categoryID + " = ?";
-        public static final String JOB_category = "SELECT * FROM " + NAME + " WHERE " + JOBID + " = ?";
+        public static final String JOB_category = "SELECT * FROM " + NAME + " WHERE " + JOBID + " = ? ORDER BY " + categoryID;
+        private static final String JOB_CATEGORY_TEXT = "SELECT " + NAME + "." + JOBID + ", " + CategoryDB.NAME + "." + CategoryDB.Column.CATEGORY + " FROM " + NAME + " INNER JOIN " + CategoryDB.NAME + " ON " + NAME + "." + categoryID + " = " + CategoryDB.NAME + "." + CategoryDB.Column.ID;
+        private static final String JOB_CATEGORY_ORDER = " ORDER BY " + NAME + "." + JOBID + ", " + NAME + "." + categoryID;
+        public static final String ALL_JOB_CATEGORIES = JOB_CATEGORY_TEXT + JOB_CATEGORY_ORDER;
 
+        /**
+         * Builds a query for the categories of any of the given number of jobs.
+         *
+         * @param count The number of job id parameters.
+         * @return The query string.
+         */
+        public static String jobCategoriesByJobId(int count)
+        {
+            return JOB_CATEGORY_TEXT + " WHERE " + NAME + "." + JOBID + " IN (" + DBHelper.parameters(count) + ")" + JOB_CATEGORY_ORDER;
+        }
     }
 
     /**
@@ -192,5 +337,6 @@ public class JobCategoryDB implements DBHelper
      */
     public static class Delete
     {
+        public static final String JOB_CATEGORIES = "DELETE FROM " + NAME + " WHERE " + JOBID + " = ?";
     }
 }
@@ -1,12 +1,20 @@
 package Database;
 
 import Entities.Job;
+import Entities.JobSummary;
+import Entities.Location;
+import Entities.Recruiter;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.stream.Stream;
 
 import static Database.JobDB.Column.*;
 import static Database.Parser.parseJob;
+import static Database.Parser.parseJobSummary;
 
 /**
  * Establishes connection to the job table in SQL.
@@ -26,6 +34,26 @@ public class JobDB implements DBHelper
      */
     private final PreparedStatement queryJobById;
     private final PreparedStatement queryAllJobs;
+    /**
+     * Prepared statement that will insert a Job with a given id, used to batch bulk imports.
+     */
+    private final PreparedStatement insertJobWithId;
+    /**
+     * Prepared statement that will return the largest job id which has ever been given out.
+     */
+    private final PreparedStatement queryLastJobId;
+    /**
+     * Prepared statement that will update every column of a job.
+     */
+    private final PreparedStatement updateJob;
+    /**
+     * Prepared statement that will stop advertising a job and record when it was delisted.
+     */
+    private final PreparedStatement delistJob;
+    /**
+     * Connection used for statements which depend on the criteria of a {@link JobQuery}.
+     */
+    private final Connection connection;
 
     /**
      * Establishes connection to SQL database.
@@ -35,9 +63,14 @@ public class JobDB implements DBHelper
      */
     public JobDB(Connection conn) throws SQLException
     {
+        this.connection = conn;
         insertJob = conn.prepareStatement(Insert.JOB, Statement.RETURN_GENERATED_KEYS);
         queryJobById = conn.prepareStatement(Query.JOB_BY_ID);
         queryAllJobs = conn.prepareStatement(Query.ALL_JOBS);
+        insertJobWithId = conn.prepareStatement(Insert.JOB_WITH_ID);
+        queryLastJobId = conn.prepareStatement(Query.LAST_JOB_ID);
+        updateJob = conn.prepareStatement(Update.JOB);
+        delistJob = conn.prepareStatement(Update.DELIST_JOB);
     }
 
     /**
@@ -54,29 +87,50 @@ public class JobDB implements DBHelper
             queryJobById.close();
         if (queryAllJobs != null)
             queryAllJobs.close();
+        if (insertJobWithId != null)
+            insertJobWithId.close();
+        if (queryLastJobId != null)
+            queryLastJobId.close();
+        if (updateJob != null)
+            updateJob.close();
+        if (delistJob != null)
+            delistJob.close();
     }
 
     /**
-     * Gets jobs from the SQL database by querying the information to construct the list of Job objects.
+     * Gets jobs from the SQL database by querying the information to construct the list of Job objects. The authors,
+     * locations, keywords and categories of every job are each loaded with a single query, so the number of queries
+     * doesn't grow with the number of jobs.
      *
-     * @param userDB     userDB as UserDB
-     * @param locationDB locationDB as LocationDB
-     * @return applications as ArrayList<Application>
+     * @param userDB        userDB as UserDB
+     * @param locationDB    locationDB as LocationDB
+     * @param jobKeywordDB  jobKeywordDB as JobKeywordDB
+     * @param jobCategoryDB jobCategoryDB as JobCategoryDB
+     * @return jobs as ArrayList<Job>
      */
     public ArrayList<Job> getAllJobs(UserDB userDB, LocationDB locationDB, JobKeywordDB jobKeywordDB, JobCategoryDB jobCategoryDB)
     {
         try
         {
+            HashMap<String, Recruiter> recruiters = userDB.getJobRecruiters();
+            HashMap<Integer, Location> locations = locationDB.getJobLocations();
+            HashMap<Integer, ArrayList<String>> keywords = jobKeywordDB.getAllJobKeywords();
+            HashMap<Integer, ArrayList<String>> categories = jobCategoryDB.getAllJobCategories();
             ArrayList<Job> jobs = new ArrayList<>();
-            ResultSet results = queryAllJobs.executeQuery();
-            while (results.next())
+            try (ResultSet results = queryAllJobs.executeQuery())
             {
-                Job job = Parser.parseJob(results, userDB, locationDB);
-                job.setKeywords(jobKeywordDB.getJobKeywords(job.getId()));
-                job.setCategories(jobCategoryDB.getJobCategories(job.getId()));
-                jobs.add(job);
+                while (results.next())
+                {
+                    Job job = parseJob(results, recruiters, locations);
+                    if (job != null)
+                    {
+                        job.setKeywords(keywords.get(job.getId()));
+                        job.setCategories(categories.get(job.getId()));
+                        jobs.add(job);
+                    }
+                }
+                return jobs;
             }
-            return jobs;
         } catch (SQLException e)
         {
             System.out.println("Error querying all jobs: " + e.getMessage());
@@ -84,6 +138,205 @@ public class JobDB implements DBHelper
         }
     }
 
+    /**
+     * Streams every job from a live cursor instead of loading them all first, so the caller can start on the first job
+     * while the rest are still being read. Each row carries its own keywords and categories, and authors and locations
+     * come from the identity maps, so memory use doesn't grow with the number of jobs. The stream holds this helper's
+     * connection and must be closed before the connection is used by another thread.
+     *
+     * @param fetchSize  The number of rows the driver should read ahead at a time.
+     * @param userDB     userDB as UserDB
+     * @param locationDB locationDB as LocationDB
+     * @return jobs as a Stream<Job> in id order.
+     * @throws SQLException Throws an SQLException if the jobs cannot be queried.
+     */
+    public Stream<Job> streamJobs(int fetchSize, UserDB userDB, LocationDB locationDB) throws SQLException
+    {
+        return ResultCursor.stream(connection.prepareStatement(Query.STREAM_JOBS), fetchSize, results ->
+        {
+            Job job = parseJob(results, userDB, locationDB);
+            if (job != null)
+            {
+                job.setKeywords(Parser.parseList(results, KEYWORDS));
+                job.setCategories(Parser.parseList(results, CATEGORIES));
+            }
+            return job;
+        });
+    }
+
+    /**
+     * Gets the jobs which match a query, filtered and paged by the database. Jobs are returned in id order, and only the
+     * authors, locations, keywords and categories of the returned jobs are loaded.
+     *
+     * @param jobQuery      The criteria and page of jobs to get.
+     * @param userDB        userDB as UserDB
+     * @param locationDB    locationDB as LocationDB
+     * @param jobKeywordDB  jobKeywordDB as JobKeywordDB
+     * @param jobCategoryDB jobCategoryDB as JobCategoryDB
+     * @return jobs as ArrayList<Job>, or null if the jobs cannot be queried.
+     */
+    public ArrayList<Job> getJobs(JobQuery jobQuery, UserDB userDB, LocationDB locationDB, JobKeywordDB jobKeywordDB, JobCategoryDB jobCategoryDB)
+    {
+        try (PreparedStatement query = connection.prepareStatement(Query.jobs(jobQuery)))
+        {
+            int index = setQueryParameters(query, jobQuery);
+            query.setInt(index++, jobQuery.getAfterId());
+            if (jobQuery.getLimit() > 0)
+                query.setInt(index, jobQuery.getLimit());
+            LinkedHashMap<Integer, Job> jobs = new LinkedHashMap<>();
+            try (ResultSet results = query.executeQuery())
+            {
+                while (results.next())
+                {
+                    Job job = parseJob(results, userDB, locationDB);
+                    if (job != null)
+                        jobs.put(job.getId(), job);
+                }
+            }
+            HashMap<Integer, ArrayList<String>> keywords = jobKeywordDB.getJobKeywords(jobs.keySet());
+            HashMap<Integer, ArrayList<String>> categories = jobCategoryDB.getJobCategories(jobs.keySet());
+            for (Job job : jobs.values())
+            {
+                job.setKeywords(keywords.get(job.getId()));
+                job.setCategories(categories.get(job.getId()));
+            }
+            return new ArrayList<>(jobs.values());
+        } catch (SQLException e)
+        {
+            System.out.println("Error querying jobs: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Gets several jobs by id in one query, with their keywords and categories read in one query each.
+     *
+     * @param jobIds        The ids of the jobs to get.
+     * @param userDB        userDB as UserDB
+     * @param locationDB    locationDB as LocationDB
+     * @param jobKeywordDB  jobKeywordDB as JobKeywordDB
+     * @param jobCategoryDB jobCategoryDB as JobCategoryDB
+     * @return jobs as ArrayList<Job> in the order of the ids, leaving out ids which don't exist, or null if the jobs
+     * cannot be queried.
+     */
+    public ArrayList<Job> getJobs(Collection<Integer> jobIds, UserDB userDB, LocationDB locationDB, JobKeywordDB jobKeywordDB, JobCategoryDB jobCategoryDB)
+    {
+        if (jobIds.isEmpty())
+            return new ArrayList<>();
+        try (PreparedStatement query = connection.prepareStatement(Query.jobsById(jobIds.size())))
+        {
+            int index = 1;
+            for (int jobId : jobIds)
+                query.setInt(index++, jobId);
+            HashMap<Integer, Job> jobs = new HashMap<>();
+            try (ResultSet results = query.executeQuery())
+            {
+                while (results.next())
+                {
+                    Job job = parseJob(results, userDB, locationDB);
+                    if (job != null)
+                        jobs.put(job.getId(), job);
+                }
+            }
+            HashMap<Integer, ArrayList<String>> keywords = jobKeywordDB.getJobKeywords(jobs.keySet());
+            HashMap<Integer, ArrayList<String>> categories = jobCategoryDB.getJobCategories(jobs.keySet());
+            ArrayList<Job> ordered = new ArrayList<>(jobs.size());
+            for (int jobId : jobIds)
+            {
+                Job job = jobs.get(jobId);
+                if (job != null)
+                {
+                    job.setKeywords(keywords.get(jobId));
+                    job.setCategories(categories.get(jobId));
+                    ordered.add(job);
+                }
+            }
+            return ordered;
+        } catch (SQLException e)
+        {
+            System.out.println("Error querying jobs by id: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Gets summaries of a page of the jobs which match a query, for listing jobs without loading each one in full. The
+     * number of applications for each job is counted in the same query, using the index on the application table's job
+     * id, and a query for one recruiter's jobs reads them through the index on the job table's recruiter email.
+     *
+     * @param jobQuery The criteria and page of jobs to get.
+     * @return summaries as ArrayList<JobSummary> in id order, or null if the jobs cannot be queried.
+     */
+    public ArrayList<JobSummary> getJobSummaries(JobQuery jobQuery)
+    {
+        try (PreparedStatement query = connection.prepareStatement(Query.jobSummaries(jobQuery)))
+        {
+            int index = setQueryParameters(query, jobQuery);
+            query.setInt(index++, jobQuery.getAfterId());
+            if (jobQuery.getLimit() > 0)
+                query.setInt(index, jobQuery.getLimit());
+            ArrayList<JobSummary> summaries = new ArrayList<>();
+            try (ResultSet results = query.executeQuery())
+            {
+                while (results.next())
+                {
+                    JobSummary summary = parseJobSummary(results);
+                    if (summary != null)
+                        summaries.add(summary);
+                }
+            }
+            return summaries;
+        } catch (SQLException e)
+        {
+            System.out.println("Error querying job summaries: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Counts the jobs which match a query on every page, so the after id and limit of the query are ignored.
+     *
+     * @param jobQuery The criteria of the jobs to count.
+     * @return The number of matching jobs, or -1 if the jobs cannot be counted.
+     */
+    public int countJobs(JobQuery jobQuery)
+    {
+        try (PreparedStatement query = connection.prepareStatement(Query.countJobs(jobQuery)))
+        {
+            setQueryParameters(query, jobQuery);
+            try (ResultSet result = query.executeQuery())
+            {
+                return result.next() ? result.getInt(1) : 0;
+            }
+        } catch (SQLException e)
+        {
+            System.out.println("Error counting jobs: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Sets the parameters of the criteria which have been set on a query, in the order of {@link Query#jobs(JobQuery)}.
+     *
+     * @param statement The statement built from the query.
+     * @param jobQuery  The query.
+     * @return The index of the next parameter.
+     * @throws SQLException Throws an SQLException if a parameter cannot be set.
+     */
+    private static int setQueryParameters(PreparedStatement statement, JobQuery jobQuery) throws SQLException
+    {
+        int index = 1;
+        if (jobQuery.getRecruiterEmail() != null)
+            statement.setString(index++, jobQuery.getRecruiterEmail());
+        if (jobQuery.getAdvertised() != null)
+            statement.setBoolean(index++, jobQuery.getAdvertised());
+        if (jobQuery.getMinimumCompensation() != null)
+            statement.setInt(index++, jobQuery.getMinimumCompensation());
+        if (jobQuery.getMaximumCompensation() != null)
+            statement.setInt(index++, jobQuery.getMaximumCompensation());
+        return index;
+    }
+
     /**
      * Gets job from the SQL database by querying the information to construct the Job object.
      *
@@ -99,18 +352,20 @@ public class JobDB implements DBHelper
         try
         {
             queryJobById.setInt(1, jobId);
-            ResultSet result = queryJobById.executeQuery();
-            if (result.next())
+            try (ResultSet result = queryJobById.executeQuery())
             {
-                Job job = parseJob(result, userDB, locationDB);
-                if (job != null)
+                if (result.next())
                 {
-                    job.setKeywords(jobKeywordDB.getJobKeywords(job.getId()));
-                    job.setCategories(jobCategoryDB.getJobCategories(job.getId()));
-                    return job;
+                    Job job = parseJob(result, userDB, locationDB);
+                    if (job != null)
+                    {
+                        job.setKeywords(jobKeywordDB.getJobKeywords(job.getId()));
+                        job.setCategories(jobCategoryDB.getJobCategories(job.getId()));
+                        return job;
+                    }
                 }
+                return null;
             }
-            return null;
         } catch (SQLException e)
         {
             System.out.println("Error querying jobId = " + jobId + ": " + e.getMessage());
@@ -138,34 +393,232 @@ public class JobDB implements DBHelper
         {
             job.setLocation(locationDB.insertLocation(job.getLocation()));
 
-            insertJob.setString(1, job.getJobTitle());
-            insertJob.setString(2, job.getAuthor().getEmail());
-            insertJob.setDate(3, job.getDateCreated());
-            insertJob.setDate(4, job.getDateListed());
-            insertJob.setDate(5, job.getDateDeListed());
-            insertJob.setString(6, job.getCompany());
-            insertJob.setInt(7, job.getLocation().getId());
-            insertJob.setString(8, job.getWorkType());
-            insertJob.setString(9, job.getWorkingArrangement());
-            insertJob.setInt(10, job.getCompensation());
-            insertJob.setString(11, job.getJobLevel());
-            insertJob.setString(12, job.getDescription());
-            insertJob.setBoolean(13, job.getIsAdvertised());
+            setJobParameters(insertJob, job, 1);
             int affectedRows = insertJob.executeUpdate();
             if (affectedRows != 1)
                 throw new SQLException("Error inserting Job Seeker");
-            ResultSet generatedKey = insertJob.getGeneratedKeys();
-            if (generatedKey.next())
+            try (ResultSet generatedKey = insertJob.getGeneratedKeys())
             {
-                job.setId(generatedKey.getInt(1));
-                jobKeywordDB.insertJobKeywords(job);
-                jobCategoryDB.insertJobCategories(job);
-                return job;
-            } else
-                throw new SQLException("Could not get inserted job Id");
+                if (generatedKey.next())
+                {
+                    job.setId(generatedKey.getInt(1));
+                    jobKeywordDB.insertJobKeywords(job);
+                    jobCategoryDB.insertJobCategories(job);
+                    return job;
+                } else
+                    throw new SQLException("Could not get inserted job Id");
+            }
         }
     }
 
+    /**
+     * Inserts many jobs in a single transaction. Locations and categories are looked up once per distinct value,
+     * keywords are resolved in bulk, and the job, job_keyword and job_category rows are each inserted with one batch.
+     * The new jobs are given consecutive ids up front so that their keyword and category rows can be batched without
+     * reading back each generated key.
+     * <p>
+     * Jobs which are missing required details or have already been inserted are left out and recorded as failures.
+     * If the batch itself fails, the whole import is rolled back and the jobs and their locations get back the ids they
+     * had before. When the caller has already turned off auto-commit, the transaction is the caller's to roll back, and
+     * the caller must then call {@link KeywordDB#reloadKeywords()} itself, since the keyword dictionary may still hold
+     * the ids of keywords inserted by the import.
+     *
+     * @param jobs          The jobs to be inserted.
+     * @param locationDB    LocationBD helper class used to insert or get job locations.
+     * @param keywordDB     KeywordDB helper class whose dictionary is reloaded if the import is rolled back.
+     * @param jobKeywordDB  JobKeywordDB helper class used to insert job keywords.
+     * @param jobCategoryDB JobCategoryDB helper class used to insert job categories.
+     * @return Returns a report of the inserted jobs and the jobs which were rejected.
+     * @throws SQLException Throws an SQLException if the import fails, in which case no jobs are inserted.
+     */
+    public JobImportReport insertJobs(Collection<Job> jobs, LocationDB locationDB, KeywordDB keywordDB, JobKeywordDB jobKeywordDB, JobCategoryDB jobCategoryDB) throws SQLException
+    {
+        JobImportReport report = new JobImportReport();
+        ArrayList<Job> valid = new ArrayList<>(jobs.size());
+        for (Job job : jobs)
+        {
+            String reason = validate(job);
+            if (reason == null)
+                valid.add(job);
+            else
+                report.addFailure(job, reason);
+        }
+        if (valid.isEmpty())
+            return report;
+
+        int[] locationIds = new int[valid.size()];
+        for (int i = 0; i < valid.size(); i++)
+            locationIds[i] = valid.get(i).getLocation().getId();
+
+        Connection conn = insertJobWithId.getConnection();
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try
+        {
+            HashMap<String, Location> locations = new HashMap<>();
+            for (Job job : valid)
+            {
+                Location location = job.getLocation();
+                String key = location.getCountry() + "|" + location.getState() + "|" + location.getCity() + "|" + location.getPostcode();
+                Location inserted = locations.get(key);
+                if (inserted == null)
+                {
+                    inserted = locationDB.insertLocation(location);
+                    locations.put(key, inserted);
+                }
+                location.setId(inserted.getId());
+            }
+
+            int nextId;
+            try (ResultSet result = queryLastJobId.executeQuery())
+            {
+                nextId = (result.next() ? result.getInt(1) : 0) + 1;
+            }
+            for (Job job : valid)
+            {
+                insertJobWithId.setInt(1, nextId++);
+                setJobParameters(insertJobWithId, job, 2);
+                insertJobWithId.addBatch();
+            }
+            insertJobWithId.executeBatch();
+            nextId -= valid.size();
+            for (Job job : valid)
+                job.setId(nextId++);
+
+            jobKeywordDB.insertJobKeywords(valid);
+            jobCategoryDB.insertJobCategories(valid);
+            if (autoCommit)
+                conn.commit();
+        } catch (SQLException e)
+        {
+            insertJobWithId.clearBatch();
+            for (int i = 0; i < valid.size(); i++)
+            {
+                valid.get(i).setId(-1);
+                valid.get(i).getLocation().setId(locationIds[i]);
+            }
+            if (autoCommit)
+            {
+                conn.rollback();
+                keywordDB.reloadKeywords();
+            }
+            throw e;
+        } finally
+        {
+            conn.setAutoCommit(autoCommit);
+        }
+        valid.forEach(report::addInserted);
+        return report;
+    }
+
+    /**
+     * Updates a job's details, keywords and categories in a single transaction. The job's location is inserted if it
+     * doesn't exist yet.
+     *
+     * @param job           The job as it should now be, with the id of the job to update.
+     * @param locationDB    LocationBD helper class used to insert or get job location.
+     * @param jobKeywordDB  JobKeywordDB helper class used to replace job keywords.
+     * @param jobCategoryDB JobCategoryDB helper class used to replace job categories.
+     * @return Returns the updated job.
+     * @throws SQLException Throws an SQLException if the job doesn't exist or cannot be updated, in which case
+     *                      nothing is changed.
+     */
+    public Job updateJob(Job job, LocationDB locationDB, JobKeywordDB jobKeywordDB, JobCategoryDB jobCategoryDB) throws SQLException
+    {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try
+        {
+            job.setLocation(locationDB.insertLocation(job.getLocation()));
+            setJobParameters(updateJob, job, 1);
+            updateJob.setInt(14, job.getId());
+            if (updateJob.executeUpdate() != 1)
+                throw new SQLException("Couldn't update job " + job.getId() + ", it doesn't exist.");
+            jobKeywordDB.deleteJobKeywords(job.getId());
+            jobKeywordDB.insertJobKeywords(job);
+            jobCategoryDB.deleteJobCategories(job.getId());
+            jobCategoryDB.insertJobCategories(job);
+            if (autoCommit)
+                connection.commit();
+            return job;
+        } catch (SQLException e)
+        {
+            if (autoCommit)
+                connection.rollback();
+            throw e;
+        } finally
+        {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Stops advertising a job, recording the date it was delisted. The job itself is updated to match.
+     *
+     * @param job          The job to delist.
+     * @param dateDelisted The date the job stopped being advertised.
+     * @return Returns the delisted job.
+     * @throws SQLException Throws an SQLException if the job doesn't exist or cannot be updated.
+     */
+    public Job delistJob(Job job, Date dateDelisted) throws SQLException
+    {
+        delistJob.setDate(1, dateDelisted);
+        delistJob.setInt(2, job.getId());
+        if (delistJob.executeUpdate() != 1)
+            throw new SQLException("Couldn't delist job " + job.getId() + ", it doesn't exist.");
+        job.setIsAdvertised(false);
+        job.setDateDeListed(dateDelisted);
+        return job;
+    }
+
+    /**
+     * Checks that a job has the details needed to insert it.
+     *
+     * @param job The job to be checked.
+     * @return Returns null if the job can be inserted, otherwise the reason it can't.
+     */
+    private static String validate(Job job)
+    {
+        if (job == null)
+            return "Job is missing.";
+        if (job.getId() != -1)
+            return "Job has already been inserted with id " + job.getId() + ".";
+        if (job.getJobTitle() == null)
+            return "Job has no title.";
+        if (job.getAuthor() == null || job.getAuthor().getEmail() == null)
+            return "Job has no recruiter.";
+        if (job.getDateCreated() == null)
+            return "Job has no date created.";
+        if (job.getLocation() == null)
+            return "Job has no location.";
+        return null;
+    }
+
+    /**
+     * Sets the job column parameters of an insert statement, in the column order of {@link Insert#JOB}.
+     *
+     * @param statement The insert statement.
+     * @param job       The job to be inserted, its location must already have an id.
+     * @param first     The index of the first job column parameter.
+     * @throws SQLException Throws an SQLException if a parameter cannot be set.
+     */
+    private static void setJobParameters(PreparedStatement statement, Job job, int first) throws SQLException
+    {
+        statement.setString(first, job.getJobTitle());
+        statement.setString(first + 1, job.getAuthor().getEmail());
+        statement.setDate(first + 2, job.getDateCreated());
+        statement.setDate(first + 3, job.getDateListed());
+        statement.setDate(first + 4, job.getDateDeListed());
+        statement.setString(first + 5, job.getCompany());
+        statement.setInt(first + 6, job.getLocation().getId());
+        statement.setString(first + 7, job.getWorkType());
+        statement.setString(first + 8, job.getWorkingArrangement());
+        statement.setInt(first + 9, job.getCompensation());
+        statement.setString(first + 10, job.getJobLevel());
+        statement.setString(first + 11, job.getDescription());
+        statement.setBoolean(first + 12, job.getIsAdvertised());
+    }
+
     /**
      * View strings
      */
@@ -192,6 +645,18 @@ public class JobDB implements DBHelper
         public static final String JOBLEVEL = "jobLevel";
         public static final String DESCRIPTION = "description";
         public static final String ISADVERTISED = "isAdvertised";
+        /**
+         * The keywords of a job joined into one column by {@link Query#STREAM_JOBS}.
+         */
+        public static final String KEYWORDS = "keywords";
+        /**
+         * The categories of a job joined into one column by {@link Query#STREAM_JOBS}.
+         */
+        public static final String CATEGORIES = "categories";
+        /**
+         * The number of applications for a job counted by {@link Query#jobSummaries(JobQuery)}.
+         */
+        public static final String APPLICANTS = "applicants";
     }
 
     /**
@@ -201,6 +666,78 @@ public class JobDB implements DBHelper
     {
         public static final String JOB_BY_ID = "SELECT * FROM " + NAME + " WHERE " + ID + " = ?";
         public static final String ALL_JOBS = "SELECT * FROM " + NAME + ";";
+        public static final String STREAM_JOBS = "SELECT " + NAME + ".*, "
+                + "(SELECT GROUP_CONCAT(" + KeywordDB.NAME + "." + KeywordDB.Column.KEYWORD + ", char(" + (int) Parser.LIST_SEPARATOR + ")) FROM " + JobKeywordDB.NAME + " INNER JOIN " + KeywordDB.NAME + " ON " + JobKeywordDB.NAME + "." + JobKeywordDB.Column.KEYWORDID + " = " + KeywordDB.NAME + "." + KeywordDB.Column.ID + " WHERE " + JobKeywordDB.NAME + "." + JobKeywordDB.Column.JOBID + " = " + NAME + "." + ID + ") AS " + KEYWORDS + ", "
+                + "(SELECT GROUP_CONCAT(" + CategoryDB.NAME + "." + CategoryDB.Column.CATEGORY + ", char(" + (int) Parser.LIST_SEPARATOR + ")) FROM " + JobCategoryDB.NAME + " INNER JOIN " + CategoryDB.NAME + " ON " + JobCategoryDB.NAME + "." + JobCategoryDB.Column.categoryID + " = " + CategoryDB.NAME + "." + CategoryDB.Column.ID + " WHERE " + JobCategoryDB.NAME + "." + JobCategoryDB.Column.JOBID + " = " + NAME + "." + ID + ") AS " + CATEGORIES
+                + " FROM " + NAME + " ORDER BY " + ID;
+        public static final String LAST_JOB_ID = "SELECT MAX(COALESCE((SELECT seq FROM sqlite_sequence WHERE name = '" + NAME + "'), 0), COALESCE((SELECT MAX(" + ID + ") FROM " + NAME + "), 0))";
+
+        /**
+         * Builds a query for a page of the jobs matching a query. The parameters are the criteria which have been set,
+         * then the id the page starts after, then the limit if there is one.
+         *
+         * @param jobQuery The criteria and page of jobs to get.
+         * @return The query string.
+         */
+        public static String jobs(JobQuery jobQuery)
+        {
+            ArrayList<String> conditions = conditions(jobQuery);
+            conditions.add(ID + " > ?");
+            return "SELECT * FROM " + NAME + " WHERE " + String.join(" AND ", conditions) + " ORDER BY " + ID + (jobQuery.getLimit() > 0 ? " LIMIT ?" : "");
+        }
+
+        /**
+         * Builds a query for summaries of a page of the jobs matching a query, taking the same parameters as
+         * {@link #jobs(JobQuery)}.
+         *
+         * @param jobQuery The criteria and page of jobs to get.
+         * @return The query string.
+         */
+        public static String jobSummaries(JobQuery jobQuery)
+        {
+            ArrayList<String> conditions = conditions(jobQuery);
+            conditions.add(ID + " > ?");
+            return "SELECT " + ID + ", " + JOBTITLE + ", " + COMPANYNAME + ", " + COMPENSATION + ", " + DATELISTED + ", "
+                    + "(SELECT COUNT(*) FROM " + ApplicationDB.NAME + " WHERE " + ApplicationDB.NAME + "." + ApplicationDB.Column.JOBID + " = " + NAME + "." + ID + ") AS " + APPLICANTS
+                    + " FROM " + NAME + " WHERE " + String.join(" AND ", conditions) + " ORDER BY " + ID + (jobQuery.getLimit() > 0 ? " LIMIT ?" : "");
+        }
+
+        /**
+         * Builds a query for the jobs with any of the given ids.
+         *
+         * @param count The number of ids, each of which is a parameter.
+         * @return The query string.
+         */
+        public static String jobsById(int count)
+        {
+            return "SELECT * FROM " + NAME + " WHERE " + ID + " IN (" + DBHelper.parameters(count) + ")";
+        }
+
+        /**
+         * Builds a query for the number of jobs matching a query. The parameters are the criteria which have been set.
+         *
+         * @param jobQuery The criteria of the jobs to count.
+         * @return The query string.
+         */
+        public static String countJobs(JobQuery jobQuery)
+        {
+            ArrayList<String> conditions = conditions(jobQuery);
+            return "SELECT COUNT(*) FROM " + NAME + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions));
+        }
+
+        private static ArrayList<String> conditions(JobQuery jobQuery)
+        {
+            ArrayList<String> conditions = new ArrayList<>();
+            if (jobQuery.getRecruiterEmail() != null)
+                conditions.add(RECRUITEREMAIL + " = ?");
+            if (jobQuery.getAdvertised() != null)
+                conditions.add(ISADVERTISED + " = ?");
+            if (jobQuery.getMinimumCompensation() != null)
+                conditions.add(COMPENSATION + " >= ?");
+            if (jobQuery.getMaximumCompensation() != null)
+                conditions.add(COMPENSATION + " <= ?");
+            return conditions;
+        }
     }
 
     /**
@@ -209,6 +746,7 @@ public class JobDB implements DBHelper
     public static class Insert
     {
         public static final String JOB = "INSERT INTO " + NAME + " (" + JOBTITLE + ", " + RECRUITEREMAIL + ", " + DATECREATED + ", " + DATELISTED + ", " + DATEDELISTED + ", " + COMPANYNAME + ", " + LOCATIONID + ", " + WORKTYPE + ", " + WORKINGARRANGEMENT + ", " + COMPENSATION + ", " + JOBLEVEL + ", " + DESCRIPTION + ", " + ISADVERTISED + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        public static final String JOB_WITH_ID = "INSERT INTO " + NAME + " (" + ID + ", " + JOBTITLE + ", " + RECRUITEREMAIL + ", " + DATECREATED + ", " + DATELISTED + ", " + DATEDELISTED + ", " + COMPANYNAME + ", " + LOCATIONID + ", " + WORKTYPE + ", " + WORKINGARRANGEMENT + ", " + COMPENSATION + ", " + JOBLEVEL + ", " + DESCRIPTION + ", " + ISADVERTISED + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
     }
 
     /**
@@ -216,6 +754,8 @@ public class JobDB implements DBHelper
      */
     public static class Update
     {
+        public static final String JOB = "UPDATE " + NAME + " SET " + JOBTITLE + " = ?, " + RECRUITEREMAIL + " = ?, " + DATECREATED + " = ?, " + DATELISTED + " = ?, " + DATEDELISTED + " = ?, " + COMPANYNAME + " = ?, " + LOCATIONID + " = ?, " + WORKTYPE + " = ?, " + WORKINGARRANGEMENT + " = ?, " + COMPENSATION + " = ?, " + JOBLEVEL + " = ?, " + DESCRIPTION + " = ?, " + ISADVERTISED + " = ? WHERE " + ID + " = ?";
+        public static final String DELIST_JOB = "UPDATE " + NAME + " SET " + ISADVERTISED + " = 0, " + DATEDELISTED + " = ? WHERE " + ID + " = ?";
     }
 
     /**
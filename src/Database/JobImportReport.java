@@ -0,0 +1,68 @@
+package Database;
+
+import Entities.Job;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+
+/**
+ * The outcome of a bulk job import, listing the jobs which were inserted and the reason each other job was rejected.
+ *
+ * @author Charlie Timlock, Levi Quilliam, Tim Perkins, and Merrill Nguyen
+ * @version 1.0
+ */
+public class JobImportReport
+{
+    private final ArrayList<Job> inserted;
+    private final LinkedHashMap<Job, String> failures;
+
+    /**
+     * Default constructor which creates an empty report.
+     */
+    public JobImportReport()
+    {
+        inserted = new ArrayList<>();
+        failures = new LinkedHashMap<>();
+    }
+
+    /**
+     * Records a job which has been inserted.
+     *
+     * @param job The inserted job, with its new id.
+     */
+    void addInserted(Job job)
+    {
+        inserted.add(job);
+    }
+
+    /**
+     * Records a job which could not be inserted.
+     *
+     * @param job    The rejected job.
+     * @param reason Why the job was rejected.
+     */
+    void addFailure(Job job, String reason)
+    {
+        failures.put(job, reason);
+    }
+
+    /**
+     * Accessor method to get the reason each rejected job could not be inserted.
+     *
+     * @return The rejected jobs mapped to their reason, in the order they were given.
+     */
+    public LinkedHashMap<Job, String> getFailures()
+    {
+        return failures;
+    }
+
+    /**
+     * Accessor method to get the jobs which were inserted.
+     *
+     * @return The inserted jobs in the order they were given.
+     */
+    public ArrayList<Job> getInserted()
+    {
+        return inserted;
+    }
+}
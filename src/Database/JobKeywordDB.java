@@ -4,10 +4,10 @@ import Entities.Job;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 
 import static Database.JobKeywordDB.Column.*;
-import static Database.KeywordDB.getKeyword;
-import static Database.KeywordDB.insertKeyword;
 
 /**
  * Establishes connection to the job_keyword table in SQL.
@@ -28,17 +28,39 @@ public class JobKeywordDB implements DBHelper
      * Prepared statement that will insert an entry into the job_keyword table given a jobId and KeywordId.
      */
     private final PreparedStatement insertJobKeyword;
+    /**
+     * Prepared statement that will return every job id paired with the keyword text, used to load the keywords of all
+     * jobs at once.
+     */
+    private final PreparedStatement queryAllJobKeywords;
+    /**
+     * Prepared statement that will delete every entry of a given jobId from the job_keyword table.
+     */
+    private final PreparedStatement deleteJobKeywords;
+    /**
+     * Connection used for statements whose number of parameters depends on how many jobs are looked up at once.
+     */
+    private final Connection connection;
+    /**
+     * Keyword helper on the same connection, used to resolve keyword ids.
+     */
+    private final KeywordDB keywordDB;
 
     /**
      * Establishes connection to SQL database.
      *
-     * @param conn conn as Connection
+     * @param conn      conn as Connection
+     * @param keywordDB Keyword helper on the same connection.
      * @throws SQLException Handles SQL Exception
      */
-    public JobKeywordDB(Connection conn) throws SQLException
+    public JobKeywordDB(Connection conn, KeywordDB keywordDB) throws SQLException
     {
+        this.connection = conn;
+        this.keywordDB = keywordDB;
         queryJobKeywords = conn.prepareStatement(Query.JOB_KEYWORD, Statement.RETURN_GENERATED_KEYS);
         insertJobKeyword = conn.prepareStatement(Insert.JOB_KEYWORD, Statement.RETURN_GENERATED_KEYS);
+        queryAllJobKeywords = conn.prepareStatement(Query.ALL_JOB_KEYWORDS);
+        deleteJobKeywords = conn.prepareStatement(Delete.JOB_KEYWORDS);
     }
 
     @Override
@@ -49,6 +71,59 @@ public class JobKeywordDB implements DBHelper
             queryJobKeywords.close();
         if (insertJobKeyword != null)
             insertJobKeyword.close();
+        if (queryAllJobKeywords != null)
+            queryAllJobKeywords.close();
+        if (deleteJobKeywords != null)
+            deleteJobKeywords.close();
+    }
+
+    /**
+     * Gets the keywords of every job with a single query.
+     *
+     * @return Returns a HashMap of job id to that job's keywords, in the same order as {@link #getJobKeywords(int)}.
+     * Jobs without keywords are not in the map.
+     * @throws SQLException Throws an SQLException if the job_keyword table cannot be queried.
+     */
+    public HashMap<Integer, ArrayList<String>> getAllJobKeywords() throws SQLException
+    {
+        HashMap<Integer, ArrayList<String>> jobKeywords = new HashMap<>();
+        try (ResultSet results = queryAllJobKeywords.executeQuery())
+        {
+            while (results.next())
+            {
+                jobKeywords.computeIfAbsent(results.getInt(JOBID), id -> new ArrayList<>()).add(results.getString(KeywordDB.Column.KEYWORD));
+            }
+            return jobKeywords;
+        }
+    }
+
+    /**
+     * Gets the keywords of a set of jobs with a single query, used to load a page of jobs.
+     *
+     * @param jobIds The ids of the jobs.
+     * @return Returns a HashMap of job id to that job's keywords, in the same order as {@link #getJobKeywords(int)}.
+     * Jobs without keywords are not in the map.
+     * @throws SQLException Throws an SQLException if the job_keyword table cannot be queried.
+     */
+    public HashMap<Integer, ArrayList<String>> getJobKeywords(Collection<Integer> jobIds) throws SQLException
+    {
+        HashMap<Integer, ArrayList<String>> jobKeywords = new HashMap<>();
+        if (jobIds.isEmpty())
+            return jobKeywords;
+        try (PreparedStatement query = connection.prepareStatement(Query.jobKeywordsByJobId(jobIds.size())))
+        {
+            int index = 1;
+            for (int jobId : jobIds)
+                query.setInt(index++, jobId);
+            try (ResultSet results = query.executeQuery())
+            {
+                while (results.next())
+                {
+                    jobKeywords.computeIfAbsent(results.getInt(JOBID), id -> new ArrayList<>()).add(results.getString(KeywordDB.Column.KEYWORD));
+                }
+                return jobKeywords;
+            }
+        }
     }
 
     /**
@@ -65,12 +140,14 @@ public class JobKeywordDB implements DBHelper
         try
         {
             queryJobKeywords.setInt(1, jobId);
-            ResultSet results = queryJobKeywords.executeQuery();
-            while (results.next())
+            try (ResultSet results = queryJobKeywords.executeQuery())
             {
-                keywordIds.add(results.getInt(JobKeywordDB.Column.KEYWORDID));
+                while (results.next())
+                {
+                    keywordIds.add(results.getInt(JobKeywordDB.Column.KEYWORDID));
+                }
+                return keywordIds.size() == 0 ? null : keywordIds;
             }
-            return keywordIds.size() == 0 ? null : keywordIds;
         } catch (SQLException e)
         {
             System.out.println("Error querying job_keyword table to get keywordIds: " + e.getMessage());
@@ -91,57 +168,106 @@ public class JobKeywordDB implements DBHelper
     {
         ArrayList<Integer> keywordIds = getJobKeywordIds(jobId);
         if (keywordIds != null)
-        {
-            ArrayList<String> keywords = new ArrayList<>();
-            keywordIds.forEach(id -> keywords.add(getKeyword(id)));
-            return keywords;
-        } else
+            return keywordDB.resolveKeywords(keywordIds.stream().mapToInt(Integer::intValue).toArray());
+        else
             return null;
     }
 
     /**
      * TESTED
-     * Inserts a user keyword into the user_keyword table. Checks to see if the keyword exists, if not will be added.
-     * Then checks to see if userKeyword combonation exists, addes it if not.
+     * Inserts all job keywords into the job_keyword table. The keyword ids are resolved in bulk, inserting any new
+     * keywords, and the job's keyword pairs which don't exist yet are added with one batch in a single transaction.
      *
-     * @param jobId   The userEmail to match the keyword against.
-     * @param keyword The keywordId to associate with the user.
-     * @throws SQLException Throws SQLException if the given combination cannot be inserted. Would be thrown if the
-     *                      pair already exists, but this shouldn't happen as its already checked.
+     * @param job The job who's keywords will be added against.
      */
-    private void insertJobKeyword(int jobId, String keyword) throws SQLException
+    public void insertJobKeywords(Job job)
     {
-        int keywordId = insertKeyword(keyword);
-        ArrayList<Integer> userKeywordIds = getJobKeywordIds(jobId);
-        if (userKeywordIds == null || !userKeywordIds.contains(keywordId))
+        try
         {
-            insertJobKeyword.setInt(1, jobId);
-            insertJobKeyword.setInt(2, keywordId);
-            int affectedRows = insertJobKeyword.executeUpdate();
-            if (affectedRows != 1)
-                throw new SQLException("Couldn't insert job keyword.");
+            int jobId = job.getId();
+            int[] keywordIds = keywordDB.resolveIds(job.getKeywords());
+            ArrayList<Integer> existingIds = getJobKeywordIds(jobId);
+            Connection conn = insertJobKeyword.getConnection();
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try
+            {
+                for (int keywordId : keywordIds)
+                {
+                    if (existingIds == null || !existingIds.contains(keywordId))
+                    {
+                        insertJobKeyword.setInt(1, jobId);
+                        insertJobKeyword.setInt(2, keywordId);
+                        insertJobKeyword.addBatch();
+                    }
+                }
+                insertJobKeyword.executeBatch();
+                if (autoCommit)
+                    conn.commit();
+            } catch (SQLException e)
+            {
+                insertJobKeyword.clearBatch();
+                if (autoCommit)
+                    conn.rollback();
+                throw e;
+            } finally
+            {
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e)
+        {
+            System.out.println("Error inserting job keywords: " + e.getMessage());
         }
     }
 
     /**
-     * TESTED
-     * Inserts all user keywords into the user_keyword table. Uses insertKeyword function.
+     * Inserts the keywords of many newly inserted jobs with one batch. Keywords are resolved in bulk first, so the
+     * keywords shared between jobs are only looked up or inserted once. Doesn't commit, so it should be called inside
+     * the caller's transaction.
      *
-     * @param job The job seeker who's keywords will be added against.
+     * @param jobs Jobs which have just been given ids and have no job_keyword rows yet.
+     * @throws SQLException Throws an SQLException if the keywords or job_keyword rows cannot be inserted.
      */
-    public void insertJobKeywords(Job job)
+    public void insertJobKeywords(Collection<Job> jobs) throws SQLException
     {
-        int jobId = job.getId();
-        job.getKeywords().forEach(keyword ->
+        ArrayList<String> allKeywords = new ArrayList<>();
+        for (Job job : jobs)
         {
-            try
-            {
-                insertJobKeyword(jobId, keyword);
-            } catch (SQLException e)
+            if (job.getKeywords() != null)
+                allKeywords.addAll(job.getKeywords());
+        }
+        keywordDB.resolveIds(allKeywords);
+        try
+        {
+            for (Job job : jobs)
             {
-                System.out.println("Error inserting job keywords: " + e.getMessage());
+                if (job.getKeywords() == null)
+                    continue;
+                for (int keywordId : keywordDB.resolveIds(job.getKeywords()))
+                {
+                    insertJobKeyword.setInt(1, job.getId());
+                    insertJobKeyword.setInt(2, keywordId);
+                    insertJobKeyword.addBatch();
+                }
             }
-        });
+            insertJobKeyword.executeBatch();
+        } catch (SQLException e)
+        {
+            insertJobKeyword.clearBatch();
+            throw e;
+        }
+    }
+
+    /**
+     * Deletes every keyword of a job, so that they can be inserted again when the job is updated.
+     *
+     * @param jobId The id of the job whose keywords will be deleted.
+     * @throws SQLException Throws an SQLException if the job_keyword rows cannot be deleted.
+     */
+    public void deleteJobKeywords(int jobId) throws SQLException
+    {
+        deleteJobKeywords.setInt(1, jobId);
+        deleteJobKeywords.executeUpdate();
     }
 
     /**
@@ -166,8 +292,21 @@ public class JobKeywordDB implements DBHelper
     public static class Query
     {
         public static final String CHECK_USER_KEYWORD = "SELECT * FROM " + NAME + " WHERE " + JOBID + " = ? AND " + KEYWORDID + " = ?";
-        public static final String JOB_KEYWORD = "SELECT * FROM " + NAME + " WHERE " + JOBID + " = ?";
+        public static final String JOB_KEYWORD = "SELECT * FROM " + NAME + " WHERE " + JOBID + " = ? ORDER BY " + KEYWORDID;
+        private static final String JOB_KEYWORD_TEXT = "SELECT " + NAME + "." + JOBID + ", " + KeywordDB.NAME + "." + KeywordDB.Column.KEYWORD + " FROM " + NAME + " INNER JOIN " + KeywordDB.NAME + " ON " + NAME + "." + KEYWORDID + " = " + KeywordDB.NAME + "." + KeywordDB.Column.ID;
+        private static final String JOB_KEYWORD_ORDER = " ORDER BY " + NAME + "." + JOBID + ", " + NAME + "." + KEYWORDID;
+        public static final String ALL_JOB_KEYWORDS = JOB_KEYWORD_TEXT + JOB_KEYWORD_ORDER;
 
+        /**
+         * Builds a query for the keywords of any of the given number of jobs.
+         *
+         * @param count The number of job id parameters.
+         * @return The query string.
+         */
+        public static String jobKeywordsByJobId(int count)
+        {
+            return JOB_KEYWORD_TEXT + " WHERE " + NAME + "." + JOBID + " IN (" + DBHelper.parameters(count) + ")" + JOB_KEYWORD_ORDER;
+        }
     }
 
     /**
@@ -191,5 +330,6 @@ public class JobKeywordDB implements DBHelper
      */
     public static class Delete
     {
+        public static final String JOB_KEYWORDS = "DELETE FROM " + NAME + " WHERE " + JOBID + " = ?";
     }
 }
@@ -0,0 +1,155 @@
+package Database;
+
+/**
+ * Criteria for loading a page of jobs, which {@link JobDB} turns into a parameterised SQL query so that filtering and
+ * paging happen in the database instead of after every job has been loaded. Criteria which haven't been set don't
+ * filter anything.
+ * <p>
+ * Jobs are returned in id order and paged by keyset: each page asks for the jobs after the last id of the previous
+ * page, so reading a later page doesn't scan the pages before it.
+ *
+ * @author Charlie Timlock, Levi Quilliam, Tim Perkins, and Merrill Nguyen
+ * @version 1.0
+ */
+public class JobQuery
+{
+    private String recruiterEmail;
+    private Boolean advertised;
+    private Integer minimumCompensation;
+    private Integer maximumCompensation;
+    private int afterId;
+    private int limit;
+
+    /**
+     * Default constructor which creates a query for every job.
+     */
+    public JobQuery()
+    {
+        recruiterEmail = null;
+        advertised = null;
+        minimumCompensation = null;
+        maximumCompensation = null;
+        afterId = 0;
+        limit = 0;
+    }
+
+    /**
+     * Accessor method to get whether only advertised or only unadvertised jobs are wanted.
+     *
+     * @return True for advertised jobs, false for unadvertised jobs, or null for both.
+     */
+    public Boolean getAdvertised()
+    {
+        return advertised;
+    }
+
+    /**
+     * Accessor method to get the id the page starts after.
+     *
+     * @return Only jobs with a larger id are returned.
+     */
+    public int getAfterId()
+    {
+        return afterId;
+    }
+
+    /**
+     * Accessor method to get the page size.
+     *
+     * @return The maximum number of jobs to return, or 0 for no limit.
+     */
+    public int getLimit()
+    {
+        return limit;
+    }
+
+    /**
+     * Accessor method to get the largest compensation wanted.
+     *
+     * @return The maximum compensation, or null for no maximum.
+     */
+    public Integer getMaximumCompensation()
+    {
+        return maximumCompensation;
+    }
+
+    /**
+     * Accessor method to get the smallest compensation wanted.
+     *
+     * @return The minimum compensation, or null for no minimum.
+     */
+    public Integer getMinimumCompensation()
+    {
+        return minimumCompensation;
+    }
+
+    /**
+     * Accessor method to get the recruiter whose jobs are wanted.
+     *
+     * @return The recruiter's email, or null for every recruiter.
+     */
+    public String getRecruiterEmail()
+    {
+        return recruiterEmail;
+    }
+
+    /**
+     * Mutator method to only return advertised or only unadvertised jobs.
+     *
+     * @param advertised True for advertised jobs, false for unadvertised jobs, or null for both.
+     */
+    public void setAdvertised(Boolean advertised)
+    {
+        this.advertised = advertised;
+    }
+
+    /**
+     * Mutator method to set the id the page starts after, normally the id of the last job on the previous page.
+     *
+     * @param afterId Only jobs with a larger id are returned, 0 for the first page.
+     */
+    public void setAfterId(int afterId)
+    {
+        this.afterId = afterId;
+    }
+
+    /**
+     * Mutator method to set the page size.
+     *
+     * @param limit The maximum number of jobs to return, or 0 for no limit.
+     */
+    public void setLimit(int limit)
+    {
+        this.limit = limit;
+    }
+
+    /**
+     * Mutator method to set the largest compensation wanted.
+     *
+     * @param maximumCompensation The maximum compensation, or null for no maximum.
+     */
+    public void setMaximumCompensation(Integer maximumCompensation)
+    {
+        this.maximumCompensation = maximumCompensation;
+    }
+
+    /**
+     * Mutator method to set the smallest compensation wanted.
+     *
+     * @param minimumCompensation The minimum compensation, or null for no minimum.
+     */
+    public void setMinimumCompensation(Integer minimumCompensation)
+    {
+        this.minimumCompensation = minimumCompensation;
+    }
+
+    /**
+     * Mutator method to only return the jobs of one recruiter.
+     *
+     * @param recruiterEmail The recruiter's email, or null for every recruiter.
+     */
+    public void setRecruiterEmail(String recruiterEmail)
+    {
+        this.recruiterEmail = recruiterEmail;
+    }
+}
@@ -1,6 +1,10 @@
 package Database;
 
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 
 import static Database.KeywordDB.Column.ID;
 import static Database.KeywordDB.Column.KEYWORD;
@@ -20,52 +24,110 @@ public class KeywordDB implements DBHelper
      *
      * @see KeywordDB.Query
      */
-    private static PreparedStatement queryKeyword;
+    private final PreparedStatement queryKeyword;
     /**
      * Prepared statement that will insert a keyword into the keyword table.
      *
      * @see KeywordDB.Insert
      */
-    private static PreparedStatement insertKeyword;
+    private final PreparedStatement insertKeyword;
     /**
      * Prepared statement that will search for a Keyword ID in the database given a keyword. Will return all
      * keyword ID's with that keyword.
      *
      * @see KeywordDB.Query
      */
-    private static PreparedStatement queryKeywordId;
+    private final PreparedStatement queryKeywordId;
+    /**
+     * Prepared statement that will return every keyword, used to warm the keyword dictionary.
+     *
+     * @see KeywordDB.Query
+     */
+    private final PreparedStatement queryAllKeywords;
+    /**
+     * Connection used for statements whose number of parameters depends on how many keywords are looked up at once.
+     */
+    private final Connection connection;
+    /**
+     * Keyword ids and text, shared by the DatabaseManager.
+     */
+    private final KeywordDictionary dictionary;
+    /**
+     * Keywords inserted by this helper which haven't been taken by {@link #takeAddedKeywords()} yet.
+     */
+    private LinkedHashMap<Integer, String> addedKeywords;
 
     /**
-     * Establishes connection to SQL database.
+     * Establishes connection to SQL database. Loads every keyword into the dictionary if it is empty.
      *
-     * @param conn conn as Connection
+     * @param conn       conn as Connection
+     * @param dictionary Keyword dictionary shared by the DatabaseManager.
      * @throws SQLException Handles SQL Exception
      */
-    public KeywordDB(Connection conn) throws SQLException
+    public KeywordDB(Connection conn, KeywordDictionary dictionary) throws SQLException
     {
+        this.connection = conn;
+        this.dictionary = dictionary;
+        this.addedKeywords = new LinkedHashMap<>();
         insertKeyword = conn.prepareStatement(KeywordDB.Insert.INSERT_KEYWORD, Statement.RETURN_GENERATED_KEYS);
         queryKeyword = conn.prepareStatement(KeywordDB.Query.KEYWORD, Statement.RETURN_GENERATED_KEYS);
         queryKeywordId = conn.prepareStatement(KeywordDB.Query.KEYWORD_ID, Statement.RETURN_GENERATED_KEYS);
+        queryAllKeywords = conn.prepareStatement(KeywordDB.Query.ALL_KEYWORDS);
+        if (dictionary.size() == 0)
+            loadKeywords();
+    }
+
+    /**
+     * Loads every row of the keyword table into the dictionary.
+     *
+     * @throws SQLException Throws an SQLException if the keyword table cannot be queried.
+     */
+    private void loadKeywords() throws SQLException
+    {
+        try (ResultSet results = queryAllKeywords.executeQuery())
+        {
+            while (results.next())
+                dictionary.put(results.getInt(ID), results.getString(KEYWORD));
+        }
+    }
+
+    /**
+     * Reloads the dictionary from the keyword table. Used after a transaction which inserted keywords is rolled back.
+     *
+     * @throws SQLException Throws an SQLException if the keyword table cannot be queried.
+     */
+    public void reloadKeywords() throws SQLException
+    {
+        dictionary.clear();
+        loadKeywords();
     }
 
     /**
      * TESTED
-     * Queries the keyword table to retrun the keyword associated the keyword id.
+     * Queries the keyword table to retrun the keyword associated the keyword id. Keywords in the dictionary are
+     * returned without querying.
      *
      * @param id The keyword Id that is to be returned.
      * @return Returns the keyword if it exists and null if it doesn't exist.
      */
-    public static String getKeyword(int id)
+    public String getKeyword(int id)
     {
+        String keyword = dictionary.getKeyword(id);
+        if (keyword != null)
+            return keyword;
         try
         {
             queryKeyword.setInt(1, id);
-            ResultSet results = queryKeyword.executeQuery();
-            if (results.next())
+            try (ResultSet results = queryKeyword.executeQuery())
             {
-                return results.getString(KeywordDB.Column.KEYWORD);
-            } else
-                return null;
+                if (results.next())
+                {
+                    keyword = results.getString(KeywordDB.Column.KEYWORD);
+                    dictionary.put(id, keyword);
+                    return keyword;
+                } else
+                    return null;
+            }
         } catch (SQLException e)
         {
             System.out.println("Error querying keyword table to get keyword: " + e.getMessage());
@@ -75,22 +137,29 @@ public class KeywordDB implements DBHelper
 
     /**
      * TESTED
-     * Queries the keyword table to see if a keyword exists.
+     * Queries the keyword table to see if a keyword exists. Keywords in the dictionary are returned without querying.
      *
      * @param keyword The keyword to query in the keyword table.
      * @return Return the keywords associated id or -1 if the keyword doesn't exist.
      */
-    public static int getKeywordId(String keyword)
+    public int getKeywordId(String keyword)
     {
+        int id = dictionary.getId(keyword);
+        if (id != KeywordDictionary.UNKNOWN)
+            return id;
         try
         {
             queryKeywordId.setString(1, keyword);
-            ResultSet results = queryKeywordId.executeQuery();
-            if (results.next())
+            try (ResultSet results = queryKeywordId.executeQuery())
             {
-                return results.getInt(KeywordDB.Column.ID);
-            } else
-                return -1;
+                if (results.next())
+                {
+                    id = results.getInt(KeywordDB.Column.ID);
+                    dictionary.put(id, keyword);
+                    return id;
+                } else
+                    return -1;
+            }
         } catch (SQLException e)
         {
             System.out.println("Error querying keyword table to get keywordId: " + e.getMessage());
@@ -106,7 +175,7 @@ public class KeywordDB implements DBHelper
      * @return The id of the keyword once it has been inserted or the id of the matching keyword.
      * @throws SQLException Throws an SQLException if the method cannot insert the keyword.
      */
-    public static int insertKeyword(String keyword) throws SQLException
+    public int insertKeyword(String keyword) throws SQLException
     {
         int id = getKeywordId(keyword);
         if (id != -1)
@@ -120,15 +189,149 @@ public class KeywordDB implements DBHelper
                 throw new SQLException("Couldn't insert keyword, updated more than one row.");
             } else
             {
-                ResultSet generatedKeys = insertKeyword.getGeneratedKeys();
-                if (generatedKeys.next())
-                    return generatedKeys.getInt(1);
-                else
-                    throw new SQLException("Couldn't get id from keyword after insert.");
+                try (ResultSet generatedKeys = insertKeyword.getGeneratedKeys())
+                {
+                    if (generatedKeys.next())
+                    {
+                        id = generatedKeys.getInt(1);
+                        dictionary.put(id, keyword);
+                        addedKeywords.put(id, keyword);
+                        return id;
+                    } else
+                        throw new SQLException("Couldn't get id from keyword after insert.");
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the ids of a collection of keywords, inserting any keywords which don't exist yet. Known keywords are
+     * resolved from the dictionary, and new keywords are inserted in one batch and read back with one query, so the
+     * number of statements run doesn't grow with the number of keywords.
+     *
+     * @param keywords The keywords to resolve, duplicates are ignored.
+     * @return The distinct ids of the keywords in the order the keywords were first given.
+     * @throws SQLException Throws an SQLException if the new keywords cannot be inserted.
+     */
+    public int[] resolveIds(Collection<String> keywords) throws SQLException
+    {
+        LinkedHashSet<String> distinct = new LinkedHashSet<>(keywords);
+        ArrayList<String> missing = new ArrayList<>();
+        for (String keyword : distinct)
+        {
+            if (dictionary.getId(keyword) == KeywordDictionary.UNKNOWN)
+                missing.add(keyword);
+        }
+        if (!missing.isEmpty())
+            insertKeywords(missing);
+
+        LinkedHashSet<Integer> ids = new LinkedHashSet<>();
+        for (String keyword : distinct)
+        {
+            int id = dictionary.getId(keyword);
+            if (id == KeywordDictionary.UNKNOWN)
+                throw new SQLException("Couldn't get id of keyword " + keyword + " after insert.");
+            ids.add(id);
+        }
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Gets the text of a set of keyword ids. Ids which aren't in the dictionary are looked up with one query.
+     *
+     * @param ids The keyword ids to resolve.
+     * @return The keywords in the same order as the ids. Ids which don't exist are left out.
+     */
+    public ArrayList<String> resolveKeywords(int[] ids)
+    {
+        ArrayList<Integer> missing = new ArrayList<>();
+        for (int id : ids)
+        {
+            if (dictionary.getKeyword(id) == null)
+                missing.add(id);
+        }
+        if (!missing.isEmpty())
+        {
+            try (PreparedStatement query = connection.prepareStatement(Query.keywordsById(missing.size())))
+            {
+                for (int i = 0; i < missing.size(); i++)
+                    query.setInt(i + 1, missing.get(i));
+                ResultSet results = query.executeQuery();
+                while (results.next())
+                    dictionary.put(results.getInt(ID), results.getString(KEYWORD));
+            } catch (SQLException e)
+            {
+                System.out.println("Error querying keyword table to get keywords: " + e.getMessage());
+            }
+        }
+
+        ArrayList<String> keywords = new ArrayList<>(ids.length);
+        for (int id : ids)
+        {
+            String keyword = dictionary.getKeyword(id);
+            if (keyword != null)
+                keywords.add(keyword);
+        }
+        return keywords;
+    }
+
+    /**
+     * Inserts new keywords with one batch inside a single transaction, then reads their ids back with one query and
+     * adds them to the dictionary.
+     *
+     * @param keywords The distinct keywords to be inserted.
+     * @throws SQLException Throws an SQLException if the keywords cannot be inserted, in which case none are.
+     */
+    private void insertKeywords(ArrayList<String> keywords) throws SQLException
+    {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try
+        {
+            for (String keyword : keywords)
+            {
+                insertKeyword.setString(1, keyword);
+                insertKeyword.addBatch();
+            }
+            insertKeyword.executeBatch();
+            try (PreparedStatement query = connection.prepareStatement(Query.idsByKeyword(keywords.size())))
+            {
+                for (int i = 0; i < keywords.size(); i++)
+                    query.setString(i + 1, keywords.get(i));
+                ResultSet results = query.executeQuery();
+                while (results.next())
+                {
+                    dictionary.put(results.getInt(ID), results.getString(KEYWORD));
+                    addedKeywords.put(results.getInt(ID), results.getString(KEYWORD));
+                }
             }
+            if (autoCommit)
+                connection.commit();
+        } catch (SQLException e)
+        {
+            insertKeyword.clearBatch();
+            if (autoCommit)
+                connection.rollback();
+            throw e;
+        } finally
+        {
+            connection.setAutoCommit(autoCommit);
         }
     }
 
+    /**
+     * Takes the keywords inserted since this method was last called, so they can be published once the write which
+     * inserted them has committed, or dropped if it failed.
+     *
+     * @return The ids and text of the inserted keywords, in the order they were inserted.
+     */
+    LinkedHashMap<Integer, String> takeAddedKeywords()
+    {
+        LinkedHashMap<Integer, String> added = addedKeywords;
+        addedKeywords = new LinkedHashMap<>();
+        return added;
+    }
+
     @Override
     public void close() throws SQLException
     {
@@ -138,6 +341,8 @@ public class KeywordDB implements DBHelper
             insertKeyword.close();
         if (queryKeywordId != null)
             queryKeywordId.close();
+        if (queryAllKeywords != null)
+            queryAllKeywords.close();
     }
 
     /**
@@ -154,8 +359,31 @@ public class KeywordDB implements DBHelper
      */
     public static class Query
     {
-        public static final String KEYWORD_ID = "SELECT " + ID + " FROM " + NAME + " WHERE " + Column.KEYWORD + " = ?";
+        public static final String KEYWORD_ID = "SELECT " + ID + " FROM " + NAME + " WHERE " + Column.KEYWORD + " = ? ORDER BY " + ID;
         public static final String KEYWORD = "SELECT " + Column.KEYWORD + " FROM " + NAME + " WHERE " + ID + " = ?";
+        public static final String ALL_KEYWORDS = "SELECT " + ID + ", " + Column.KEYWORD + " FROM " + NAME + " ORDER BY " + ID;
+
+        /**
+         * Builds a query for the keywords with any of the given number of ids.
+         *
+         * @param count The number of id parameters.
+         * @return The query string.
+         */
+        public static String keywordsById(int count)
+        {
+            return "SELECT " + ID + ", " + Column.KEYWORD + " FROM " + NAME + " WHERE " + ID + " IN (" + DBHelper.parameters(count) + ")";
+        }
+
+        /**
+         * Builds a query for the ids of any of the given number of keywords, lowest id first.
+         *
+         * @param count The number of keyword parameters.
+         * @return The query string.
+         */
+        public static String idsByKeyword(int count)
+        {
+            return "SELECT " + ID + ", " + Column.KEYWORD + " FROM " + NAME + " WHERE " + Column.KEYWORD + " IN (" + DBHelper.parameters(count) + ") ORDER BY " + ID;
+        }
     }
 
     /**
@@ -0,0 +1,86 @@
+package Database;
+
+import java.util.HashMap;
+
+/**
+ * An in-memory copy of the keyword table which maps keyword text to its id and id back to keyword text. The keyword
+ * table only holds one row per distinct word, so it is small enough to be loaded in full when the database is opened.
+ * After that, keyword lookups don't need to query the database.
+ *
+ * @author Charlie Timlock, Levi Quilliam, Tim Perkins, and Merrill Nguyen
+ * @version 1.0
+ */
+public class KeywordDictionary
+{
+    /**
+     * Returned by {@link #getId(String)} when the keyword isn't in the dictionary.
+     */
+    public static final int UNKNOWN = -1;
+
+    private final HashMap<String, Integer> ids;
+    private final HashMap<Integer, String> keywords;
+
+    /**
+     * Default constructor which creates an empty dictionary.
+     */
+    public KeywordDictionary()
+    {
+        ids = new HashMap<>();
+        keywords = new HashMap<>();
+    }
+
+    /**
+     * Removes every keyword from the dictionary.
+     */
+    public synchronized void clear()
+    {
+        ids.clear();
+        keywords.clear();
+    }
+
+    /**
+     * Gets the id of a keyword.
+     *
+     * @param keyword The keyword text.
+     * @return The id of the keyword or {@link #UNKNOWN} if it isn't in the dictionary.
+     */
+    public synchronized int getId(String keyword)
+    {
+        Integer id = ids.get(keyword);
+        return id == null ? UNKNOWN : id;
+    }
+
+    /**
+     * Gets the text of a keyword.
+     *
+     * @param id The id of the keyword.
+     * @return The keyword text or null if it isn't in the dictionary.
+     */
+    public synchronized String getKeyword(int id)
+    {
+        return keywords.get(id);
+    }
+
+    /**
+     * Adds a keyword row to the dictionary. If the same text is stored under several ids, the first id added is kept
+     * as the id of the text.
+     *
+     * @param id      The id of the keyword.
+     * @param keyword The keyword text.
+     */
+    public synchronized void put(int id, String keyword)
+    {
+        keywords.put(id, keyword);
+        ids.putIfAbsent(keyword, id);
+    }
+
+    /**
+     * Gets the number of keywords in the dictionary.
+     *
+     * @return The number of keyword ids loaded.
+     */
+    public synchronized int size()
+    {
+        return keywords.size();
+    }
+}
@@ -3,6 +3,7 @@ package Database;
 import Entities.Location;
 
 import java.sql.*;
+import java.util.HashMap;
 
 import static Database.LocationDB.Column.*;
 import static Database.Parser.parseLocation;
@@ -19,18 +20,26 @@ public class LocationDB implements DBHelper
     private final PreparedStatement queryLocationId;
     private final PreparedStatement queryLocation;
     private final PreparedStatement insertIntoLocation;
+    private final PreparedStatement queryJobLocations;
+    /**
+     * Shared location instances by id.
+     */
+    private final IdentityMap<Integer, Location> locations;
 
     /**
      * Establishes connection to SQL database.
      *
-     * @param conn conn as Connection
+     * @param conn      conn as Connection
+     * @param locations Identity map of locations shared by the DatabaseManager.
      * @throws SQLException Handles SQL Exception
      */
-    public LocationDB(Connection conn) throws SQLException
+    public LocationDB(Connection conn, IdentityMap<Integer, Location> locations) throws SQLException
     {
+        this.locations = locations;
         queryLocationId = conn.prepareStatement(LocationDB.Query.LOCATION_ID, Statement.RETURN_GENERATED_KEYS);
         queryLocation = conn.prepareStatement(LocationDB.Query.LOCATION, Statement.RETURN_GENERATED_KEYS);
         insertIntoLocation = conn.prepareStatement(LocationDB.Insert.INSERT_LOCATION, Statement.RETURN_GENERATED_KEYS);
+        queryJobLocations = conn.prepareStatement(LocationDB.Query.JOB_LOCATIONS);
     }
 
     @Override
@@ -43,23 +52,29 @@ public class LocationDB implements DBHelper
 
     /**
      * TESTED
-     * Queries the database to get a location based on its Id.
+     * Queries the database to get a location based on its Id. Locations which have already been loaded are returned
+     * from the identity map without querying.
      *
      * @param locationId The id of the location to be returned.
      * @return Returns a Location object if it exists in the database otherwise null
      */
     public Location getLocation(int locationId)
     {
+        Location cached = locations.get(locationId);
+        if (cached != null)
+            return cached;
         try
         {
             queryLocation.setInt(1, locationId);
-            ResultSet results = queryLocation.executeQuery();
-            if (results.next())
-            {
-                return parseLocation(results);
-            } else
+            try (ResultSet results = queryLocation.executeQuery())
             {
-                return null;
+                if (results.next())
+                {
+                    return locations.put(locationId, parseLocation(results));
+                } else
+                {
+                    return null;
+                }
             }
         } catch (SQLException e)
         {
@@ -68,6 +83,27 @@ public class LocationDB implements DBHelper
         }
     }
 
+    /**
+     * Gets every location used by a job with a single query.
+     *
+     * @return Returns a HashMap of location id to Location.
+     * @throws SQLException Throws an SQLException if the location table cannot be queried.
+     */
+    public HashMap<Integer, Location> getJobLocations() throws SQLException
+    {
+        HashMap<Integer, Location> jobLocations = new HashMap<>();
+        try (ResultSet results = queryJobLocations.executeQuery())
+        {
+            while (results.next())
+            {
+                Location location = parseLocation(results);
+                if (location != null)
+                    jobLocations.put(location.getId(), locations.put(location.getId(), location));
+            }
+            return jobLocations;
+        }
+    }
+
     /**
      * TESTED
      * Given a location, queries the database to see if it exists, if it does, it will return the id of that location.
@@ -83,13 +119,15 @@ public class LocationDB implements DBHelper
             queryLocationId.setString(2, location.getState());
             queryLocationId.setString(3, location.getCity());
             queryLocationId.setString(4, location.getPostcode());
-            ResultSet results = queryLocationId.executeQuery();
-            if (results.next())
-            {
-                return results.getInt(LocationDB.Column.ID);
-            } else
+            try (ResultSet results = queryLocationId.executeQuery())
             {
-                return -1;
+                if (results.next())
+                {
+                    return results.getInt(LocationDB.Column.ID);
+                } else
+                {
+                    return -1;
+                }
             }
         } catch (SQLException e)
         {
@@ -121,13 +159,16 @@ public class LocationDB implements DBHelper
                 throw new SQLException("Couldn't insert location, updated more than one row.");
             } else
             {
-                ResultSet generatedKeys = insertIntoLocation.getGeneratedKeys();
-                if (generatedKeys.next())
+                try (ResultSet generatedKeys = insertIntoLocation.getGeneratedKeys())
                 {
-                    location.setId(generatedKeys.getInt(1));
-                    return location;
-                } else
-                    throw new SQLException("Couldn't get id from location after insert.");
+                    if (generatedKeys.next())
+                    {
+                        location.setId(generatedKeys.getInt(1));
+                        locations.invalidate(location.getId());
+                        return location;
+                    } else
+                        throw new SQLException("Couldn't get id from location after insert.");
+                }
             }
         } else
         {
@@ -146,13 +187,15 @@ public class LocationDB implements DBHelper
         try
         {
             queryLocation.setInt(1, location.getId());
-            ResultSet results = queryLocation.executeQuery();
-            if (results.next())
+            try (ResultSet results = queryLocation.executeQuery())
             {
-                location.setCountry(results.getString(COUNTRY));
-                location.setCountry(results.getString(STATE));
-                location.setCountry(results.getString(CITY));
-                location.setCountry(results.getString(POSTCODE));
+                if (results.next())
+                {
+                    location.setCountry(results.getString(COUNTRY));
+                    location.setCountry(results.getString(STATE));
+                    location.setCountry(results.getString(CITY));
+                    location.setCountry(results.getString(POSTCODE));
+                }
             }
         } catch (SQLException e)
         {
@@ -186,6 +229,7 @@ public class LocationDB implements DBHelper
     {
         public static final String LOCATION_ID = "SELECT " + ID + " FROM " + NAME + " WHERE " + COUNTRY + " = ? AND " + STATE + " = ? AND " + CITY + " = ? AND " + POSTCODE + " = ?";
         public static final String LOCATION = "SELECT * FROM " + NAME + " WHERE " + ID + " = ?";
+        public static final String JOB_LOCATIONS = "SELECT * FROM " + NAME + " WHERE " + ID + " IN (SELECT " + JobDB.Column.LOCATIONID + " FROM " + JobDB.NAME + ")";
     }
 
     /**
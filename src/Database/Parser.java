@@ -1,13 +1,23 @@
 package Database;
 
 import Entities.*;
+import Utilities.BatchLoader;
 
 import java.sql.Date;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
 
 public class Parser
 {
+    /**
+     * Separates the values of a list which a query has joined into one column with GROUP_CONCAT. A control character is
+     * used so it can't appear in a keyword or category.
+     */
+    static final char LIST_SEPARATOR = 31;
+
     /**
      * TESTED
      * Takes a resultSet from a query to the user table and parses the data into an Admin object.
@@ -25,29 +35,61 @@ public class Parser
             return null;
     }
 
-    static Invitation parseInvitation(ResultSet result, UserDB userDB, LocationDB locationDB, JobDB jobDB, UserKeywordDB userKeywordDB, JobKeywordDB jobKeywordDB, JobCategoryDB jobCategoryDB)
+    /**
+     * Takes a resultSet from an invitation query which includes the title of the job, and parses it into an Invitation
+     * which refers to its job seeker by email and to its job by id and title. The job seeker and job are only loaded if
+     * they are asked for, together with those of the other invitations read with the same loaders.
+     *
+     * @param result     ResultSet from an invitation query.
+     * @param userDB     UserDB helper class used to get the recruiter.
+     * @param locationDB LocationDB helper class used to get the interview location.
+     * @param jobSeekers Loads the job seekers of invitations by email.
+     * @param jobs       Loads the jobs of invitations by id.
+     * @return Returns an Invitation object, null if it cannot be parsed.
+     */
+    static Invitation parseInvitation(ResultSet result, UserDB userDB, LocationDB locationDB, BatchLoader<String, JobSeeker> jobSeekers, BatchLoader<Integer, Job> jobs)
     {
         Invitation invitation = new Invitation();
         try
         {
             invitation.setId(result.getInt(InvitationDB.Column.ID));
-            invitation.setJobSeeker(userDB.getJobSeeker(result.getString(InvitationDB.Column.JOBSEEKEREMAIL), userKeywordDB, locationDB));
+            String jobSeekerEmail = result.getString(InvitationDB.Column.JOBSEEKEREMAIL);
+            invitation.setJobSeekerReference(jobSeekerEmail, jobSeekers.reference(jobSeekerEmail));
             invitation.setRecruiter(userDB.getRecruiter(result.getString(InvitationDB.Column.RECRUITEREMAIL)));
-            invitation.setJob(jobDB.getJob(result.getInt(InvitationDB.Column.JOBID), userDB, locationDB, jobKeywordDB, jobCategoryDB));
+            int jobId = result.getInt(InvitationDB.Column.JOBID);
+            invitation.setJobReference(jobId, result.getString(JobDB.Column.JOBTITLE), jobs.reference(jobId));
             invitation.setDateSent(parseDate(result, InvitationDB.Column.DATESENT));
-            invitation.setDateOfInterview(parseDate(result, InvitationDB.Column.DATEOFINTERVIEW));
+            long dateOfInterview = result.getLong(InvitationDB.Column.DATEOFINTERVIEW);
+            invitation.setDateOfInterview(result.wasNull() ? null : new Date(dateOfInterview));
             invitation.setLocationOfInterview(locationDB.getLocation(result.getInt(InvitationDB.Column.LOCATIONID)));
             invitation.setAttachedMessage(result.getString(InvitationDB.Column.MESSAGE));
-            invitation.setTypeOfInterview(result.getString(InvitationDB.Column.MESSAGE));
+            invitation.setTypeOfInterview(result.getString(InvitationDB.Column.TYPE));
             invitation.setAccepted(result.getBoolean(InvitationDB.Column.ACCEPTED));
             return invitation;
         } catch (SQLException e)
         {
-            System.out.println("Error parsing job: " + e.getMessage());
+            System.out.println("Error parsing invitation: " + e.getMessage());
             return null;
         }
     }
 
+    /**
+     * Takes a column which a query has joined with GROUP_CONCAT and {@link #LIST_SEPARATOR} and splits it back into a
+     * list.
+     *
+     * @param result ResultSet positioned on the row to read.
+     * @param column The name of the joined column.
+     * @return Returns the values in the order they were joined, or null if there are none.
+     * @throws SQLException Throws an SQLException if the column cannot be read.
+     */
+    static ArrayList<String> parseList(ResultSet result, String column) throws SQLException
+    {
+        String joined = result.getString(column);
+        if (joined == null)
+            return null;
+        return new ArrayList<>(Arrays.asList(joined.split(String.valueOf(LIST_SEPARATOR), -1)));
+    }
+
     private static Date parseDate(ResultSet result, String column)
     {
         try
@@ -86,14 +128,84 @@ public class Parser
         }
     }
 
-    public static Application parseApplication(ResultSet result, UserDB userDB, UserKeywordDB userKeywordDB, LocationDB locationDB, JobDB jobDB, JobKeywordDB jobKeywordDB, JobCategoryDB jobCategoryDB)
+    /**
+     * Takes a resultSet from {@link JobDB.Query#jobSummaries(JobQuery)} and parses it into a JobSummary.
+     *
+     * @param result ResultSet from a job summary query.
+     * @return Returns a JobSummary object, null if it cannot be parsed.
+     */
+    public static JobSummary parseJobSummary(ResultSet result)
+    {
+        try
+        {
+            long listed = result.getLong(JobDB.Column.DATELISTED);
+            Date dateListed = result.wasNull() ? null : new Date(listed);
+            return new JobSummary(result.getInt(JobDB.Column.ID), result.getString(JobDB.Column.JOBTITLE),
+                    result.getString(JobDB.Column.COMPANYNAME), result.getInt(JobDB.Column.COMPENSATION), dateListed,
+                    result.getInt(JobDB.Column.APPLICANTS));
+        } catch (SQLException e)
+        {
+            System.out.println("Error parsing job summary: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Takes a resultSet from a query to the job table and parses it into a Job, taking the author and location from
+     * maps which have already been loaded instead of querying for them.
+     *
+     * @param result     ResultSet from a job table query.
+     * @param recruiters Recruiters by email.
+     * @param locations  Locations by id.
+     * @return Returns a Job object, null if it cannot be parsed.
+     */
+    public static Job parseJob(ResultSet result, Map<String, Recruiter> recruiters, Map<Integer, Location> locations)
+    {
+        Job job = new Job();
+        try
+        {
+            job.setId(result.getInt(JobDB.Column.ID));
+            job.setJobTitle(result.getString(JobDB.Column.JOBTITLE));
+            job.setAuthor(recruiters.get(result.getString(JobDB.Column.RECRUITEREMAIL)));
+            job.setDateCreated(parseDate(result, JobDB.Column.DATECREATED));
+            job.setDateListed(parseDate(result, JobDB.Column.DATELISTED));
+            job.setDateDeListed(parseDate(result, JobDB.Column.DATEDELISTED));
+            job.setCompany(result.getString(JobDB.Column.COMPANYNAME));
+            job.setLocation(locations.get(result.getInt(JobDB.Column.LOCATIONID)));
+            job.setWorkType(result.getString(JobDB.Column.WORKTYPE));
+            job.setWorkingArrangement(result.getString(JobDB.Column.WORKINGARRANGEMENT));
+            job.setCompensation(result.getInt(JobDB.Column.COMPENSATION));
+            job.setJobLevel(result.getString(JobDB.Column.JOBLEVEL));
+            job.setDescription(result.getString(JobDB.Column.DESCRIPTION));
+            job.setIsAdvertised(result.getBoolean(JobDB.Column.ISADVERTISED));
+            return job;
+        } catch (SQLException e)
+        {
+            System.out.println("Error parsing job: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Takes a resultSet from a query to the application table and parses it into an Application which refers to its
+     * job seeker by email and to its job by id. The job seeker and job are only loaded if they are asked for, together
+     * with those of the other applications read with the same loaders.
+     *
+     * @param result     ResultSet from an application query.
+     * @param jobs       Loads the jobs of applications by id.
+     * @param jobSeekers Loads the job seekers of applications by email.
+     * @return Returns an Application object, null if it cannot be parsed.
+     */
+    public static Application parseApplication(ResultSet result, BatchLoader<Integer, Job> jobs, BatchLoader<String, JobSeeker> jobSeekers)
     {
         try
         {
             Application application = new Application();
             application.setId(result.getInt(ApplicationDB.Column.ID));
-            application.setJobSeeker(userDB.getJobSeeker(result.getString(ApplicationDB.Column.USEREMAIL), userKeywordDB, locationDB));
-            application.setJob(jobDB.getJob(result.getInt(ApplicationDB.Column.JOBID), userDB, locationDB, jobKeywordDB, jobCategoryDB));
+            String jobSeekerEmail = result.getString(ApplicationDB.Column.USEREMAIL);
+            application.setJobSeekerReference(jobSeekerEmail, jobSeekers.reference(jobSeekerEmail));
+            int jobId = result.getInt(ApplicationDB.Column.JOBID);
+            application.setJobReference(jobId, jobs.reference(jobId));
             application.setCoverLetterDir(result.getString(ApplicationDB.Column.COVERLETTERDIR));
             application.setResumeDir(result.getString(ApplicationDB.Column.RESUMEDIR));
             application.setStatus(result.getString(ApplicationDB.Column.STATUS));
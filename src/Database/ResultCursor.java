@@ -0,0 +1,137 @@
+package Database;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over the rows of a live ResultSet, parsing each row only when it is asked for, so the caller can start on
+ * the first row before the query has finished and only one row is held in memory at a time. The cursor owns its
+ * statement and closes it along with the ResultSet once the last row has been read or the cursor is closed, whichever
+ * comes first.
+ * <p>
+ * A cursor holds the connection it was opened on, so it must be closed before the connection is returned to the
+ * {@link ConnectionPool}.
+ *
+ * @param <T> The type each row is parsed into.
+ * @author Charlie Timlock, Levi Quilliam, Tim Perkins, and Merrill Nguyen
+ * @version 1.0
+ */
+class ResultCursor<T> implements Iterator<T>, AutoCloseable
+{
+    private final PreparedStatement statement;
+    private final ResultSet results;
+    private final RowParser<T> parser;
+    /**
+     * The next parsed row, or null if it hasn't been read yet.
+     */
+    private T next;
+    private boolean closed;
+
+    private ResultCursor(PreparedStatement statement, ResultSet results, RowParser<T> parser)
+    {
+        this.statement = statement;
+        this.results = results;
+        this.parser = parser;
+        next = null;
+        closed = false;
+    }
+
+    /**
+     * Runs a query and returns a sequential stream over its rows. Closing the stream closes the cursor, so it should be
+     * used in a try-with-resources block.
+     *
+     * @param statement A statement with all of its parameters set, which will be closed with the stream.
+     * @param fetchSize The number of rows the driver should read ahead at a time.
+     * @param parser    Parses the current row of the ResultSet. Rows it parses to null are skipped.
+     * @param <T>       The type each row is parsed into.
+     * @return A stream of the parsed rows in the order the query returns them.
+     * @throws SQLException Throws an SQLException if the query cannot be run, in which case the statement is closed.
+     */
+    static <T> Stream<T> stream(PreparedStatement statement, int fetchSize, RowParser<T> parser) throws SQLException
+    {
+        ResultCursor<T> cursor;
+        try
+        {
+            statement.setFetchSize(fetchSize);
+            cursor = new ResultCursor<>(statement, statement.executeQuery(), parser);
+        } catch (SQLException e)
+        {
+            statement.close();
+            throw e;
+        }
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(cursor::close);
+    }
+
+    /**
+     * Reads ahead to the next row which parses. If the ResultSet cannot be read, the error is printed and the cursor
+     * ends early.
+     *
+     * @return True if there is another row.
+     */
+    @Override
+    public boolean hasNext()
+    {
+        try
+        {
+            while (next == null && !closed)
+            {
+                if (results.next())
+                    next = parser.parse(results);
+                else
+                    close();
+            }
+        } catch (SQLException e)
+        {
+            System.out.println("Error reading query results: " + e.getMessage());
+            close();
+        }
+        return next != null;
+    }
+
+    @Override
+    public T next()
+    {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        T row = next;
+        next = null;
+        return row;
+    }
+
+    /**
+     * Closes the ResultSet and its statement. Closing an already closed cursor does nothing.
+     */
+    @Override
+    public void close()
+    {
+        if (closed)
+            return;
+        closed = true;
+        try
+        {
+            results.close();
+            statement.close();
+        } catch (SQLException e)
+        {
+            System.out.println("Error closing query results: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Parses the current row of a ResultSet.
+     *
+     * @param <T> The type the row is parsed into.
+     */
+    @FunctionalInterface
+    interface RowParser<T>
+    {
+        T parse(ResultSet result) throws SQLException;
+    }
+}
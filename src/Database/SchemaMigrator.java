@@ -0,0 +1,227 @@
+package Database;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Brings the database schema up to date when the database is opened. Each migration is a list of statements which
+ * moves the schema up one version. The version the database is at is stored in SQLite's user_version, so each
+ * migration only ever runs once. A new database starts at version 0 and gets every migration.
+ * <p>
+ * The migrations are the only definition of the schema. To start again from an empty database, delete the database
+ * file and it is created at the latest version the next time it is opened.
+ *
+ * @author Charlie Timlock, Levi Quilliam, Tim Perkins, and Merrill Nguyen
+ * @version 1.0
+ */
+public class SchemaMigrator
+{
+    /**
+     * Version 1, the tables the program started with.
+     */
+    private static final String[] BASE_TABLES = {
+            """
+            CREATE TABLE IF NOT EXISTS category (
+            	id INTEGER PRIMARY KEY AUTOINCREMENT,
+            	category TEXT NOT NULL)""",
+            """
+            CREATE TABLE IF NOT EXISTS location (
+            	id INTEGER PRIMARY KEY AUTOINCREMENT,
+            	country TEXT,
+            	state TEXT,
+            	city TEXT,
+            	postcode TEXT)""",
+            """
+            CREATE TABLE IF NOT EXISTS session (
+            	id INTEGER PRIMARY KEY AUTOINCREMENT,
+            	userId INTEGER NOT NULL,
+            	logInTime TEXT,
+            	logoutTime TEXT,
+            	FOREIGN KEY (userId) REFERENCES user(id) ON DELETE CASCADE)""",
+            """
+            CREATE TABLE IF NOT EXISTS job (
+            	id INTEGER PRIMARY KEY AUTOINCREMENT,
+            	jobTitle TEXT NOT NULL,
+            	recruiterEmail TEXT NOT NULL,
+            	dateCreated TEXT NOT NULL,
+            	dateListed TEXT,
+            	dateDelisted TEXT,
+            	companyName TEXT,
+            	locationId INTEGER NOT NULL,
+            	workType TEXT,
+            	workingArrangement TEXT,
+            	compensation INTEGER,
+            	jobLevel TEXT,
+            	description TEXT,
+            	isAdvertised INTEGER,
+            	FOREIGN KEY (recruiterEmail) REFERENCES user(email) ON DELETE CASCADE,
+            	FOREIGN KEY (locationId) REFERENCES location(id) ON DELETE CASCADE)""",
+            """
+            CREATE TABLE IF NOT EXISTS user (
+            	email TEXT NOT NULL PRIMARY KEY,
+            	accountType TEXT NOT NULL,
+            	firstName TEXT NOT NULL,
+            	lastName TEXT NOT NULL,
+            	password TEXT NOT NULL,
+            	locationId INTEGER,
+            	contactNumber TEXT,
+            	dateCreated TEXT,
+            	dateOfBirth TEXT,
+            	currentJobName TEXT,
+            	currentJobLevel TEXT,
+            	expectedCompensation INT,
+            	resumeDir TEXT,
+            	coverLetterDir TEXT,
+            	companyName TEXT,
+            	recruitingSpecialty TEXT,
+            	FOREIGN KEY (locationId) REFERENCES location(id) ON DELETE CASCADE)""",
+            """
+            CREATE TABLE IF NOT EXISTS message (
+            	id INTEGER PRIMARY KEY AUTOINCREMENT,
+            	userTo INTEGER NOT NULL,
+            	userFrom INTEGER NOT NULL,
+            	date TEXT,
+            	'message' TEXT,
+            	FOREIGN KEY (userTo) REFERENCES user(id) ON DELETE CASCADE,
+            	FOREIGN KEY (userFrom) REFERENCES user(id) ON DELETE CASCADE)""",
+            """
+            CREATE TABLE IF NOT EXISTS application (
+            	id INTEGER PRIMARY KEY AUTOINCREMENT,
+            	userEmail TEXT NOT NULL,
+            	jobId INTEGER NOT NULL,
+            	coverLetterDir TEXT NOT NULL,
+            	resumeDir TEXT NOT NULL,
+            	status TEXT NOT NULL,
+            	date TEXT NOT NULL,
+            	FOREIGN KEY (userEmail) REFERENCES user(userEmail) ON DELETE CASCADE,
+            	FOREIGN KEY (jobId) REFERENCES job(id) ON DELETE CASCADE)""",
+            """
+            CREATE TABLE IF NOT EXISTS user_keyword (
+            	userEmail TEXT NOT NULL,
+            	keywordId INTEGER NOT NULL,
+            	FOREIGN KEY (userEmail) REFERENCES user(email) ON DELETE CASCADE,
+            	FOREIGN KEY (keywordId) REFERENCES keyword(id) ON DELETE CASCADE,
+            	PRIMARY KEY (userEmail, keywordId))""",
+            """
+            CREATE TABLE IF NOT EXISTS job_keyword (
+            	jobId INTEGER NOT NULL,
+            	keywordId INTEGER NOT NULL,
+            	FOREIGN KEY (jobId) REFERENCES job(id) ON DELETE CASCADE,
+            	FOREIGN KEY (keywordId) REFERENCES keyword(id) ON DELETE CASCADE,
+            	PRIMARY KEY (jobId, keywordId))""",
+            """
+            CREATE TABLE IF NOT EXISTS job_category (
+            	jobId INTEGER NOT NULL,
+            	categoryId INTEGER NOT NULL,
+            	FOREIGN KEY (jobId) REFERENCES job(id) ON DELETE CASCADE,
+            	FOREIGN KEY (categoryId) REFERENCES category(id) ON DELETE CASCADE,
+            	PRIMARY KEY (jobId, categoryId))""",
+            """
+            CREATE TABLE IF NOT EXISTS invitation (
+            	id INTEGER PRIMARY KEY AUTOINCREMENT,
+            	jobSeekerEmail INTEGER NOT NULL,
+            	recruiterEmail INTEGER NOT NULL,
+            	jobId INTEGER NOT NULL,
+            	dateSent TEXT NOT NULL,
+            	dateOfInterview TEXT,
+            	locationId INTEGER,
+            	'message' TEXT,
+            	type TEXT,
+            	accepted TEXT,
+            	FOREIGN KEY (jobSeekerEmail) REFERENCES user(id) ON DELETE CASCADE,
+            	FOREIGN KEY (recruiterEmail) REFERENCES user(id) ON DELETE CASCADE,
+            	FOREIGN KEY (jobId) REFERENCES job(id) ON DELETE CASCADE,
+            	FOREIGN KEY (locationId) REFERENCES location(id) ON DELETE CASCADE)""",
+            """
+            CREATE TABLE IF NOT EXISTS keyword (
+            	id INTEGER PRIMARY KEY AUTOINCREMENT,
+            	keyword TEXT NOT NULL)"""
+    };
+    /**
+     * Version 2, indexes for the columns which are looked up by value rather than by primary key.
+     */
+    private static final String[] LOOKUP_INDEXES = {
+            "CREATE INDEX IF NOT EXISTS application_jobId ON " + ApplicationDB.NAME + " (" + ApplicationDB.Column.JOBID + ")",
+            "CREATE INDEX IF NOT EXISTS invitation_jobSeekerEmail ON " + InvitationDB.NAME + " (" + InvitationDB.Column.JOBSEEKEREMAIL + ")",
+            "CREATE INDEX IF NOT EXISTS invitation_recruiterEmail ON " + InvitationDB.NAME + " (" + InvitationDB.Column.RECRUITEREMAIL + ")",
+            "CREATE INDEX IF NOT EXISTS job_recruiterEmail ON " + JobDB.NAME + " (" + JobDB.Column.RECRUITEREMAIL + ")",
+            "CREATE INDEX IF NOT EXISTS location_address ON " + LocationDB.NAME + " (" + LocationDB.Column.COUNTRY + ", " + LocationDB.Column.STATE + ", " + LocationDB.Column.CITY + ", " + LocationDB.Column.POSTCODE + ")",
+            "CREATE INDEX IF NOT EXISTS keyword_keyword ON " + KeywordDB.NAME + " (" + KeywordDB.Column.KEYWORD + ")",
+            "CREATE INDEX IF NOT EXISTS category_category ON " + CategoryDB.NAME + " (" + CategoryDB.Column.CATEGORY + ")"
+    };
+    /**
+     * Version 3, indexes which read one user's invitations already in interview date order, so they can be paged
+     * without sorting. They replace the indexes on the email columns alone, which they cover.
+     */
+    private static final String[] INVITATION_PAGING_INDEXES = {
+            "CREATE INDEX IF NOT EXISTS invitation_jobSeekerEmail_dateOfInterview ON " + InvitationDB.NAME + " (" + InvitationDB.Column.JOBSEEKEREMAIL + ", " + InvitationDB.Column.DATEOFINTERVIEW + ")",
+            "CREATE INDEX IF NOT EXISTS invitation_recruiterEmail_dateOfInterview ON " + InvitationDB.NAME + " (" + InvitationDB.Column.RECRUITEREMAIL + ", " + InvitationDB.Column.DATEOFINTERVIEW + ")",
+            "DROP INDEX IF EXISTS invitation_jobSeekerEmail",
+            "DROP INDEX IF EXISTS invitation_recruiterEmail"
+    };
+    /**
+     * Version 4, an index which counts a job's applications by status without reading the application table. It
+     * replaces the index on the job id alone, which it covers.
+     */
+    private static final String[] APPLICATION_STATUS_INDEX = {
+            "CREATE INDEX IF NOT EXISTS application_jobId_status ON " + ApplicationDB.NAME + " (" + ApplicationDB.Column.JOBID + ", " + ApplicationDB.Column.STATUS + ")",
+            "DROP INDEX IF EXISTS application_jobId"
+    };
+    /**
+     * Every migration in order. Migration i moves the schema from version i to version i + 1. New migrations must only
+     * ever be added to the end.
+     */
+    private static final String[][] MIGRATIONS = {BASE_TABLES, LOOKUP_INDEXES, INVITATION_PAGING_INDEXES, APPLICATION_STATUS_INDEX};
+
+    private SchemaMigrator()
+    {
+    }
+
+    /**
+     * Runs every migration the database hasn't had yet, each in its own transaction, and switches the database to WAL
+     * mode. WAL mode is stored in the database file, so it only needs to be set once rather than per connection.
+     *
+     * @param conn An open connection to the database, which should not be in use by anything else.
+     * @return The schema version the database is now at.
+     * @throws SQLException Throws an SQLException if a migration fails, in which case that migration is rolled back.
+     */
+    public static int migrate(Connection conn) throws SQLException
+    {
+        try (Statement statement = conn.createStatement())
+        {
+            statement.execute("PRAGMA journal_mode = WAL");
+            int version = getVersion(statement);
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try
+            {
+                while (version < MIGRATIONS.length)
+                {
+                    for (String sql : MIGRATIONS[version])
+                        statement.execute(sql);
+                    version++;
+                    statement.execute("PRAGMA user_version = " + version);
+                    conn.commit();
+                }
+            } catch (SQLException e)
+            {
+                conn.rollback();
+                throw new SQLException("Couldn't migrate database to version " + (version + 1) + ": " + e.getMessage(), e);
+            } finally
+            {
+                conn.setAutoCommit(autoCommit);
+            }
+            return version;
+        }
+    }
+
+    private static int getVersion(Statement statement) throws SQLException
+    {
+        try (ResultSet result = statement.executeQuery("PRAGMA user_version"))
+        {
+            return result.next() ? result.getInt(1) : 0;
+        }
+    }
+}
@@ -22,9 +22,9 @@ public class SessionDB implements DBHelper
      *
      * @see SessionDB.Insert
      */
-    private static PreparedStatement insertSession;
+    private final PreparedStatement insertSession;
 
-    private static PreparedStatement updateSession;
+    private final PreparedStatement updateSession;
 
     /**
      * Establishes connection to SQL database.
@@ -70,13 +70,15 @@ public class SessionDB implements DBHelper
                 throw new SQLException("Couldn't insert session, updated more than one row.");
             } else
             {
-                ResultSet generatedKeys = insertSession.getGeneratedKeys();
-                if (generatedKeys.next())
+                try (ResultSet generatedKeys = insertSession.getGeneratedKeys())
                 {
-                    session.setId(generatedKeys.getInt(1));
-                    return session;
-                } else
-                    throw new SQLException("Couldn't get id from session after insert.");
+                    if (generatedKeys.next())
+                    {
+                        session.setId(generatedKeys.getInt(1));
+                        return session;
+                    } else
+                        throw new SQLException("Couldn't get id from session after insert.");
+                }
             }
         }
     }
@@ -9,6 +9,9 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 
 import static Database.Parser.*;
 import static Database.UserDB.Column.*;
@@ -52,20 +55,38 @@ public class UserDB implements DBHelper
      * @see KeywordDB.Query
      */
     private final PreparedStatement queryUserAccountTypeByEmail;
+    /**
+     * Prepared statement that will return every recruiter who has authored a job.
+     *
+     * @see UserDB.Query
+     */
+    private final PreparedStatement queryJobRecruiters;
+    /**
+     * Shared recruiter instances by email.
+     */
+    private final IdentityMap<String, Recruiter> recruiters;
+    /**
+     * Connection used to prepare queries whose number of parameters varies.
+     */
+    private final Connection connection;
 
     /**
      * Establishes connection to SQL database.
      *
-     * @param conn conn as Connection
+     * @param conn       conn as Connection
+     * @param recruiters Identity map of recruiters shared by the DatabaseManager.
      * @throws SQLException Handles SQL Exception
      */
-    public UserDB(Connection conn) throws SQLException
+    public UserDB(Connection conn, IdentityMap<String, Recruiter> recruiters) throws SQLException
     {
+        this.recruiters = recruiters;
+        this.connection = conn;
         queryUserAccountTypeByEmail = conn.prepareStatement(UserDB.Query.ACCOUNTTYPE_BY_EMAIL);
         queryUserByEmail = conn.prepareStatement(UserDB.Query.USER_BY_EMAIL);
         insertIntoAdmin = conn.prepareStatement(UserDB.Insert.ADMIN);
         insertIntoJobSeeker = conn.prepareStatement(UserDB.Insert.JOBSEEKER);
         insertIntoRecruiter = conn.prepareStatement(UserDB.Insert.RECRUITER);
+        queryJobRecruiters = conn.prepareStatement(UserDB.Query.JOB_RECRUITERS);
     }
 
     @Override
@@ -79,6 +100,8 @@ public class UserDB implements DBHelper
             insertIntoJobSeeker.close();
         if (insertIntoRecruiter != null)
             insertIntoRecruiter.close();
+        if (queryJobRecruiters != null)
+            queryJobRecruiters.close();
     }
 
     /**
@@ -105,11 +128,13 @@ public class UserDB implements DBHelper
         try
         {
             queryUserByEmail.setString(1, email);
-            ResultSet result = queryUserByEmail.executeQuery();
-            if (result.next())
-                return parseAdmin(result);
-            else
-                return null;
+            try (ResultSet result = queryUserByEmail.executeQuery())
+            {
+                if (result.next())
+                    return parseAdmin(result);
+                else
+                    return null;
+            }
         } catch (SQLException e)
         {
             System.out.println("Query failed: " + e.getMessage());
@@ -129,18 +154,20 @@ public class UserDB implements DBHelper
         try
         {
             queryUserByEmail.setString(1, email);
-            ResultSet result = queryUserByEmail.executeQuery();
-            if (result.next())
+            try (ResultSet result = queryUserByEmail.executeQuery())
             {
-                JobSeeker jobSeeker = parseJobSeeker(result, locationDB);
-                if (jobSeeker != null)
+                if (result.next())
                 {
-                    jobSeeker.setKeywords(userKeywordDB.getUserKeywords(jobSeeker));
+                    JobSeeker jobSeeker = parseJobSeeker(result, locationDB);
+                    if (jobSeeker != null)
+                    {
+                        jobSeeker.setKeywords(userKeywordDB.getUserKeywords(jobSeeker));
+                    }
+                    return jobSeeker;
+                } else
+                {
+                    return null;
                 }
-                return jobSeeker;
-            } else
-            {
-                return null;
             }
         } catch (SQLException e)
         {
@@ -149,25 +176,70 @@ public class UserDB implements DBHelper
         }
     }
 
+    /**
+     * Gets several job seekers by email in one query, with their keywords read in one query.
+     *
+     * @param emails        The emails of the job seekers to get.
+     * @param userKeywordDB userKeywordDB as UserKeywordDB
+     * @param locationDB    locationDB as LocationDB
+     * @return job seekers as a HashMap of email to JobSeeker, leaving out emails which aren't job seekers, or null if
+     * the job seekers cannot be queried.
+     */
+    public HashMap<String, JobSeeker> getJobSeekers(Collection<String> emails, UserKeywordDB userKeywordDB, LocationDB locationDB)
+    {
+        HashMap<String, JobSeeker> jobSeekers = new HashMap<>();
+        if (emails.isEmpty())
+            return jobSeekers;
+        try (PreparedStatement query = connection.prepareStatement(Query.usersByEmail(emails.size())))
+        {
+            int index = 1;
+            for (String email : emails)
+                query.setString(index++, email);
+            try (ResultSet results = query.executeQuery())
+            {
+                while (results.next())
+                {
+                    JobSeeker jobSeeker = parseJobSeeker(results, locationDB);
+                    if (jobSeeker != null)
+                        jobSeekers.put(jobSeeker.getEmail(), jobSeeker);
+                }
+            }
+            HashMap<String, ArrayList<String>> keywords = userKeywordDB.getUserKeywords(jobSeekers.keySet());
+            for (JobSeeker jobSeeker : jobSeekers.values())
+                jobSeeker.setKeywords(keywords.get(jobSeeker.getEmail()));
+            return jobSeekers;
+        } catch (SQLException e)
+        {
+            System.out.println("Error querying job seekers by email: " + e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * TESTED
      * Given an email returns a Recruiter object. Returns null if email doesn't exist or user is not of a Recruiter type.
+     * Recruiters which have already been loaded are returned from the identity map without querying.
      *
      * @param email The email you would like to check against and get the Recruiter from.
      * @return A Recruiter object with the given email address.
      */
     public Recruiter getRecruiter(String email)
     {
+        Recruiter cached = recruiters.get(email);
+        if (cached != null)
+            return cached;
         try
         {
             queryUserByEmail.setString(1, email);
-            ResultSet result = queryUserByEmail.executeQuery();
-            if (result.next())
-            {
-                return parseRecruiter(result);
-            } else
+            try (ResultSet result = queryUserByEmail.executeQuery())
             {
-                return null;
+                if (result.next())
+                {
+                    return recruiters.put(email, parseRecruiter(result));
+                } else
+                {
+                    return null;
+                }
             }
         } catch (SQLException e)
         {
@@ -176,6 +248,27 @@ public class UserDB implements DBHelper
         }
     }
 
+    /**
+     * Gets every recruiter who has authored a job with a single query.
+     *
+     * @return Returns a HashMap of recruiter email to Recruiter.
+     * @throws SQLException Throws an SQLException if the user table cannot be queried.
+     */
+    public HashMap<String, Recruiter> getJobRecruiters() throws SQLException
+    {
+        HashMap<String, Recruiter> jobRecruiters = new HashMap<>();
+        try (ResultSet results = queryJobRecruiters.executeQuery())
+        {
+            while (results.next())
+            {
+                Recruiter recruiter = parseRecruiter(results);
+                if (recruiter != null)
+                    jobRecruiters.put(recruiter.getEmail(), recruiters.put(recruiter.getEmail(), recruiter));
+            }
+            return jobRecruiters;
+        }
+    }
+
     /**
      * TESTED
      * Gets the account type of the user based on their email. Returns null if the user doesn't exist.
@@ -188,11 +281,13 @@ public class UserDB implements DBHelper
         try
         {
             queryUserAccountTypeByEmail.setString(1, email);
-            ResultSet result = queryUserAccountTypeByEmail.executeQuery();
-            if (result.next())
-                return result.getString(UserDB.Column.ACCOUNTTYPE);
-            else
-                return null;
+            try (ResultSet result = queryUserAccountTypeByEmail.executeQuery())
+            {
+                if (result.next())
+                    return result.getString(UserDB.Column.ACCOUNTTYPE);
+                else
+                    return null;
+            }
         } catch (SQLException e)
         {
             System.out.println("Error querying user table: " + e.getMessage());
@@ -280,6 +375,7 @@ public class UserDB implements DBHelper
      */
     public Recruiter insertRecruiter(Recruiter recruiter) throws SQLException
     {
+        recruiters.invalidate(recruiter.getEmail());
         if (doesUserExist(recruiter))
         {
             return recruiter;
@@ -341,6 +437,18 @@ public class UserDB implements DBHelper
     {
         public static final String USER_BY_EMAIL = "SELECT * FROM " + NAME + " WHERE " + EMAIL + " = ?";
         public static final String ACCOUNTTYPE_BY_EMAIL = "SELECT " + ACCOUNTTYPE + " FROM " + NAME + " WHERE " + EMAIL + " = ?";
+        public static final String JOB_RECRUITERS = "SELECT * FROM " + NAME + " WHERE " + EMAIL + " IN (SELECT " + JobDB.Column.RECRUITEREMAIL + " FROM " + JobDB.NAME + ")";
+
+        /**
+         * Builds a query for any of the given number of users by email.
+         *
+         * @param count The number of email parameters.
+         * @return The query string.
+         */
+        public static String usersByEmail(int count)
+        {
+            return "SELECT * FROM " + NAME + " WHERE " + EMAIL + " IN (" + DBHelper.parameters(count) + ")";
+        }
     }
 
     /**
@@ -5,9 +5,9 @@ import Entities.User;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 
-import static Database.KeywordDB.getKeyword;
-import static Database.KeywordDB.insertKeyword;
 import static Database.UserKeywordDB.Column.KEYWORDID;
 import static Database.UserKeywordDB.Column.USEREMAIL;
 
@@ -35,15 +35,26 @@ public class UserKeywordDB implements DBHelper
      * @see UserKeywordDB.Insert
      */
     private final PreparedStatement insertUserKeyword;
+    /**
+     * Keyword helper on the same connection, used to resolve keyword ids.
+     */
+    private final KeywordDB keywordDB;
+    /**
+     * Connection used to prepare queries whose number of parameters varies.
+     */
+    private final Connection connection;
 
     /**
      * Default constructor which creates the object of the class UserKeywordDB.
      *
-     * @param conn Accepts the driver's full name as a string.
+     * @param conn      Accepts the driver's full name as a string.
+     * @param keywordDB Keyword helper on the same connection.
      * @throws SQLException If there is an access error with the database.
      */
-    public UserKeywordDB(Connection conn) throws SQLException
+    public UserKeywordDB(Connection conn, KeywordDB keywordDB) throws SQLException
     {
+        this.keywordDB = keywordDB;
+        this.connection = conn;
         queryUserKeywords = conn.prepareStatement(UserKeywordDB.Query.USER_KEYWORD, Statement.RETURN_GENERATED_KEYS);
         insertUserKeyword = conn.prepareStatement(UserKeywordDB.Insert.USER_KEYWORD, Statement.RETURN_GENERATED_KEYS);
     }
@@ -72,12 +83,14 @@ public class UserKeywordDB implements DBHelper
         try
         {
             queryUserKeywords.setString(1, user.getEmail());
-            ResultSet results = queryUserKeywords.executeQuery();
-            while (results.next())
+            try (ResultSet results = queryUserKeywords.executeQuery())
             {
-                keywordIds.add(results.getInt(UserKeywordDB.Column.KEYWORDID));
+                while (results.next())
+                {
+                    keywordIds.add(results.getInt(UserKeywordDB.Column.KEYWORDID));
+                }
+                return keywordIds.size() == 0 ? null : keywordIds;
             }
-            return keywordIds.size() == 0 ? null : keywordIds;
         } catch (SQLException e)
         {
             System.out.println("Error querying user_keyword table to get keywordIds: " + e.getMessage());
@@ -98,55 +111,88 @@ public class UserKeywordDB implements DBHelper
     {
         ArrayList<Integer> keywordIds = getUserKeywordIds(user);
         if (keywordIds != null)
-        {
-            ArrayList<String> keywords = new ArrayList<>();
-            keywordIds.forEach(id -> keywords.add(getKeyword(id)));
-            return keywords;
-        } else
+            return keywordDB.resolveKeywords(keywordIds.stream().mapToInt(Integer::intValue).toArray());
+        else
             return null;
     }
 
     /**
-     * TESTED
-     * Inserts all user keywords into the user_keyword table. Uses insertKeyword function.
+     * Gets the keywords of a set of users with a single query, used to load the job seekers of a list of applications
+     * or invitations together.
      *
-     * @param jobSeeker The job seeker whos keywords will be added against.
+     * @param userEmails The emails of the users.
+     * @return Returns a HashMap of user email to that user's keywords, in the same order as
+     * {@link #getUserKeywords(User)}. Users without keywords are not in the map.
+     * @throws SQLException Throws an SQLException if the user_keyword table cannot be queried.
      */
-    public void insertJobSeekerKeywords(JobSeeker jobSeeker)
+    public HashMap<String, ArrayList<String>> getUserKeywords(Collection<String> userEmails) throws SQLException
     {
-        jobSeeker.getKeywords().forEach(keyword ->
+        HashMap<String, ArrayList<Integer>> keywordIds = new HashMap<>();
+        if (!userEmails.isEmpty())
         {
-            try
-            {
-                insertUserKeyword(jobSeeker, keyword);
-            } catch (SQLException e)
+            try (PreparedStatement query = connection.prepareStatement(Query.userKeywordsByEmail(userEmails.size())))
             {
-                System.out.println("Error inserting user keywords: " + e.getMessage());
+                int index = 1;
+                for (String userEmail : userEmails)
+                    query.setString(index++, userEmail);
+                try (ResultSet results = query.executeQuery())
+                {
+                    while (results.next())
+                    {
+                        keywordIds.computeIfAbsent(results.getString(USEREMAIL), email -> new ArrayList<>()).add(results.getInt(KEYWORDID));
+                    }
+                }
             }
-        });
+        }
+        HashMap<String, ArrayList<String>> userKeywords = new HashMap<>();
+        for (String userEmail : keywordIds.keySet())
+            userKeywords.put(userEmail, keywordDB.resolveKeywords(keywordIds.get(userEmail).stream().mapToInt(Integer::intValue).toArray()));
+        return userKeywords;
     }
 
     /**
      * TESTED
-     * Inserts a user keyword into the user_keyword table. Checks to see if the keyword exists, if not will be added.
-     * Then checks to see if userKeyword combonation exists, addes it if not.
+     * Inserts all user keywords into the user_keyword table. The keyword ids are resolved in bulk, inserting any new
+     * keywords, and the user's keyword pairs which don't exist yet are added with one batch in a single transaction.
      *
-     * @param user    The userEmail to match the keyword against.
-     * @param keyword The keywordId to associate with the user.
-     * @throws SQLException Throws SQLException if the given combination cannot be inserted. Would be thrown if the
-     *                      pair already exists, but this shouldn't happen as its already checked.
+     * @param jobSeeker The job seeker whos keywords will be added against.
      */
-    private void insertUserKeyword(User user, String keyword) throws SQLException
+    public void insertJobSeekerKeywords(JobSeeker jobSeeker)
     {
-        int keywordId = insertKeyword(keyword);
-        ArrayList<Integer> userKeywordIds = getUserKeywordIds(user);
-        if (userKeywordIds == null || !userKeywordIds.contains(keywordId))
+        try
+        {
+            int[] keywordIds = keywordDB.resolveIds(jobSeeker.getKeywords());
+            ArrayList<Integer> existingIds = getUserKeywordIds(jobSeeker);
+            Connection conn = insertUserKeyword.getConnection();
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try
+            {
+                for (int keywordId : keywordIds)
+                {
+                    if (existingIds == null || !existingIds.contains(keywordId))
+                    {
+                        insertUserKeyword.setString(1, jobSeeker.getEmail());
+                        insertUserKeyword.setInt(2, keywordId);
+                        insertUserKeyword.addBatch();
+                    }
+                }
+                insertUserKeyword.executeBatch();
+                if (autoCommit)
+                    conn.commit();
+            } catch (SQLException e)
+            {
+                insertUserKeyword.clearBatch();
+                if (autoCommit)
+                    conn.rollback();
+                throw e;
+            } finally
+            {
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e)
         {
-            insertUserKeyword.setString(1, user.getEmail());
-            insertUserKeyword.setInt(2, keywordId);
-            int affectedRows = insertUserKeyword.executeUpdate();
-            if (affectedRows != 1)
-                throw new SQLException("Couldn't insert user keyword.");
+            System.out.println("Error inserting user keywords: " + e.getMessage());
         }
     }
 
@@ -172,8 +218,18 @@ public class UserKeywordDB implements DBHelper
     public static class Query
     {
         public static final String CHECK_USER_KEYWORD = "SELECT * FROM " + NAME + " WHERE " + USEREMAIL + " = ? AND " + KEYWORDID + " = ?";
-        public static final String USER_KEYWORD = "SELECT * FROM " + NAME + " WHERE " + USEREMAIL + " = ?";
+        public static final String USER_KEYWORD = "SELECT * FROM " + NAME + " WHERE " + USEREMAIL + " = ? ORDER BY " + KEYWORDID;
 
+        /**
+         * Builds a query for the keyword ids of any of the given number of users.
+         *
+         * @param count The number of user email parameters.
+         * @return The query string.
+         */
+        public static String userKeywordsByEmail(int count)
+        {
+            return "SELECT * FROM " + NAME + " WHERE " + USEREMAIL + " IN (" + DBHelper.parameters(count) + ") ORDER BY " + USEREMAIL + ", " + KEYWORDID;
+        }
     }
 
     /**
@@ -1,5 +1,7 @@
 package Entities;
 
+import Utilities.LazyReference;
+
 import java.sql.Date;
 import java.util.LinkedHashMap;
 
@@ -12,8 +14,17 @@ import java.util.LinkedHashMap;
 public class Application
 {
     private int id;
-    private JobSeeker jobSeeker;
-    private Job job;
+    /**
+     * The job seeker and job, which are only loaded when they are first asked for if the application was read with
+     * references to them.
+     */
+    private LazyReference<JobSeeker> jobSeeker;
+    private LazyReference<Job> job;
+    /**
+     * The email of the job seeker and id of the job, known before they have been loaded.
+     */
+    private String jobSeekerEmail;
+    private int jobId;
     private String coverLetterDir;
     private String resumeDir;
     private String status;
@@ -25,8 +36,10 @@ public class Application
     public Application()
     {
         id = -1;
-        jobSeeker = null;
-        job = null;
+        jobSeeker = LazyReference.of(null);
+        job = LazyReference.of(null);
+        jobSeekerEmail = null;
+        jobId = -1;
         coverLetterDir = "";
         resumeDir = "";
         status = "";
@@ -46,8 +59,10 @@ public class Application
     public Application(JobSeeker jobSeeker, Job job, String coverLetterDir, String resumeDir, String status, Date applicationDate)
     {
         id = -1;
-        this.jobSeeker = jobSeeker;
-        this.job = job;
+        this.jobSeeker = LazyReference.of(jobSeeker);
+        this.job = LazyReference.of(job);
+        jobSeekerEmail = null;
+        jobId = -1;
         this.coverLetterDir = coverLetterDir;
         this.resumeDir = resumeDir;
         this.status = status;
@@ -68,8 +83,10 @@ public class Application
     public Application(int id, JobSeeker jobSeeker, Job job, String coverLetterDir, String resumeDir, String status, Date applicationDate)
     {
         this.id = -1;
-        this.jobSeeker = jobSeeker;
-        this.job = job;
+        this.jobSeeker = LazyReference.of(jobSeeker);
+        this.job = LazyReference.of(job);
+        jobSeekerEmail = null;
+        jobId = -1;
         this.coverLetterDir = coverLetterDir;
         this.resumeDir = resumeDir;
         this.status = status;
@@ -87,9 +104,9 @@ public class Application
         System.out.println("status: " + status);
         System.out.println("applicationDate: " + applicationDate);
         System.out.println("JOB SEEKER--");
-        jobSeeker.display();
+        getJobSeeker().display();
         System.out.println("JOB--");
-        job.display();
+        getJob().display();
     }
 
     /**
@@ -107,7 +124,7 @@ public class Application
         LinkedHashMap<String, String> applicationDetails = new LinkedHashMap<>();
         applicationDetails.put("Application Date", applicationDate.toString());
         applicationDetails.put("Status", status);
-        applicationDetails.putAll(jobSeeker.getUserDetailMap());
+        applicationDetails.putAll(getJobSeeker().getUserDetailMap());
         return applicationDetails;
     }
 
@@ -132,23 +149,47 @@ public class Application
     }
 
     /**
-     * Accessor method to get the application's job details.
+     * Accessor method to get the application's job details, loading the job the first time it is asked for if the
+     * application was read with only a reference to it.
      *
-     * @return The job details as an object of the Job class.
+     * @return The job details as an object of the Job class, or null if it cannot be loaded.
      */
     public Job getJob()
     {
-        return job;
+        return job.get();
     }
 
     /**
-     * Accessor method to get the application's job seeker details.
+     * Accessor method to get the id of the application's job without loading the job.
      *
-     * @return The job seeker details as an object of the JobSeeker class.
+     * @return The job's identification number as an integer, or -1 if there is no job.
+     */
+    public int getJobId()
+    {
+        Job loaded = job.isLoaded() ? job.get() : null;
+        return loaded != null ? loaded.getId() : jobId;
+    }
+
+    /**
+     * Accessor method to get the application's job seeker details, loading the job seeker the first time they are
+     * asked for if the application was read with only a reference to them.
+     *
+     * @return The job seeker details as an object of the JobSeeker class, or null if they cannot be loaded.
      */
     public JobSeeker getJobSeeker()
     {
-        return jobSeeker;
+        return jobSeeker.get();
+    }
+
+    /**
+     * Accessor method to get the email of the application's job seeker without loading the job seeker.
+     *
+     * @return The job seeker's email as a string, or null if there is no job seeker.
+     */
+    public String getJobSeekerEmail()
+    {
+        JobSeeker loaded = jobSeeker.isLoaded() ? jobSeeker.get() : null;
+        return loaded != null ? loaded.getEmail() : jobSeekerEmail;
     }
 
     /**
@@ -208,6 +249,19 @@ public class Application
      */
     public void setJob(Job job)
     {
+        this.job = LazyReference.of(job);
+        jobId = -1;
+    }
+
+    /**
+     * Mutator method to refer to the application's job by id, so that the job is only loaded if it is asked for.
+     *
+     * @param jobId The job's identification number as an integer.
+     * @param job   The reference which loads the job when {@link #getJob()} is first called.
+     */
+    public void setJobReference(int jobId, LazyReference<Job> job)
+    {
+        this.jobId = jobId;
         this.job = job;
     }
 
@@ -218,6 +272,20 @@ public class Application
      */
     public void setJobSeeker(JobSeeker jobSeeker)
     {
+        this.jobSeeker = LazyReference.of(jobSeeker);
+        jobSeekerEmail = null;
+    }
+
+    /**
+     * Mutator method to refer to the application's job seeker by email, so that the job seeker is only loaded if they
+     * are asked for.
+     *
+     * @param jobSeekerEmail The job seeker's email as a string.
+     * @param jobSeeker      The reference which loads the job seeker when {@link #getJobSeeker()} is first called.
+     */
+    public void setJobSeekerReference(String jobSeekerEmail, LazyReference<JobSeeker> jobSeeker)
+    {
+        this.jobSeekerEmail = jobSeekerEmail;
         this.jobSeeker = jobSeeker;
     }
 
@@ -0,0 +1,133 @@
+package Entities;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An entity class which stores the number of applications for a job by status, or for several jobs added together.
+ * Counts are read with a single grouped query, so recruiters can see how many people have applied without loading
+ * the applications themselves. A counts object never changes; a new application gives a new object.
+ *
+ * @author Team R
+ * @version 1.0
+ */
+public class ApplicationCounts
+{
+    private final int jobId;
+    /**
+     * The number of applications with each status, in status order. Statuses without applications are left out.
+     */
+    private final TreeMap<String, Integer> statusCounts;
+    private final int total;
+
+    /**
+     * Non-default constructor which creates the object of the ApplicationCounts class.
+     *
+     * @param jobId        Accepts the job's identification number as an integer, or -1 for counts over several jobs.
+     * @param statusCounts Accepts the number of applications with each status.
+     */
+    public ApplicationCounts(int jobId, Map<String, Integer> statusCounts)
+    {
+        this.jobId = jobId;
+        this.statusCounts = new TreeMap<>(statusCounts);
+        int sum = 0;
+        for (int count : statusCounts.values())
+            sum += count;
+        this.total = sum;
+    }
+
+    /**
+     * Creates the counts of a job which has no applications.
+     *
+     * @param jobId The job's identification number as an integer.
+     * @return The counts, all zero.
+     */
+    public static ApplicationCounts none(int jobId)
+    {
+        return new ApplicationCounts(jobId, Collections.emptyMap());
+    }
+
+    /**
+     * Adds together the counts of several jobs, such as all of a recruiter's jobs.
+     *
+     * @param counts The counts to add.
+     * @return The counts of every application of the jobs, with a job id of -1.
+     */
+    public static ApplicationCounts sum(Collection<ApplicationCounts> counts)
+    {
+        TreeMap<String, Integer> statusCounts = new TreeMap<>();
+        for (ApplicationCounts jobCounts : counts)
+            jobCounts.statusCounts.forEach((status, count) -> statusCounts.merge(status, count, Integer::sum));
+        return new ApplicationCounts(-1, statusCounts);
+    }
+
+    /**
+     * Gives the counts after one more application has been made.
+     *
+     * @param status The status of the new application.
+     * @return New counts with the application added. These counts are unchanged.
+     */
+    public ApplicationCounts withApplication(String status)
+    {
+        TreeMap<String, Integer> added = new TreeMap<>(statusCounts);
+        added.merge(status, 1, Integer::sum);
+        return new ApplicationCounts(jobId, added);
+    }
+
+    /**
+     * Accessor method to get the number of applications with a status.
+     *
+     * @param status The status of the applications as a string.
+     * @return The number of applications with the status as an integer.
+     */
+    public int getCount(String status)
+    {
+        return statusCounts.getOrDefault(status, 0);
+    }
+
+    /**
+     * Accessor method to get the id of the job counted.
+     *
+     * @return The job's identification number as an integer, or -1 for counts over several jobs.
+     */
+    public int getJobId()
+    {
+        return jobId;
+    }
+
+    /**
+     * Accessor method to get the number of applications with each status.
+     *
+     * @return An unmodifiable map of status to number of applications, in status order.
+     */
+    public Map<String, Integer> getStatusCounts()
+    {
+        return Collections.unmodifiableMap(statusCounts);
+    }
+
+    /**
+     * Accessor method to get the number of applications with any status.
+     *
+     * @return The total number of applications as an integer.
+     */
+    public int getTotal()
+    {
+        return total;
+    }
+
+    /**
+     * Gets the counts as labels and values to be printed, starting with the total and then each status.
+     *
+     * @return A LinkedHashMap of label to count, in status order after the total.
+     */
+    public LinkedHashMap<String, String> getApplicationCountsDetailMap()
+    {
+        LinkedHashMap<String, String> countDetails = new LinkedHashMap<>();
+        countDetails.put("Applicants", String.valueOf(total));
+        statusCounts.forEach((status, count) -> countDetails.put(status, String.valueOf(count)));
+        return countDetails;
+    }
+}
@@ -1,5 +1,6 @@
 package Entities;
 
+import Utilities.LazyReference;
 import Utilities.UserIO;
 
 import java.sql.Date;
@@ -14,9 +15,19 @@ import java.util.LinkedHashMap;
 public class Invitation
 {
     private int id;
-    private JobSeeker jobSeeker;
+    /**
+     * The job seeker and job, which are only loaded when they are first asked for if the invitation was read with
+     * references to them.
+     */
+    private LazyReference<JobSeeker> jobSeeker;
     private Recruiter recruiter;
-    private Job job;
+    private LazyReference<Job> job;
+    /**
+     * The email of the job seeker and the id and title of the job, known before they have been loaded.
+     */
+    private String jobSeekerEmail;
+    private int jobId;
+    private String jobTitle;
     private Date dateSent;
     private Date dateOfInterview;
     private Location locationOfInterview;
@@ -30,9 +41,12 @@ public class Invitation
     public Invitation()
     {
         id = -1;
-        jobSeeker = null;
+        jobSeeker = LazyReference.of(null);
         recruiter = null;
-        job = null;
+        job = LazyReference.of(null);
+        jobSeekerEmail = null;
+        jobId = -1;
+        jobTitle = null;
         dateSent = null;
         dateOfInterview = null;
         locationOfInterview = null;
@@ -57,9 +71,12 @@ public class Invitation
     public Invitation(JobSeeker jobSeeker, Recruiter recruiter, Job job, Date dateSent, Date dateOfInterview, Location locationOfInterview, String attachedMessage, String typeOfInterview, boolean accepted)
     {
         id = -1;
-        this.jobSeeker = jobSeeker;
+        this.jobSeeker = LazyReference.of(jobSeeker);
         this.recruiter = recruiter;
-        this.job = job;
+        this.job = LazyReference.of(job);
+        jobSeekerEmail = null;
+        jobId = -1;
+        jobTitle = null;
         this.dateSent = dateSent;
         this.dateOfInterview = dateOfInterview;
         this.locationOfInterview = locationOfInterview;
@@ -85,9 +102,12 @@ public class Invitation
     public Invitation(int id, JobSeeker jobSeeker, Recruiter recruiter, Job job, Date dateSent, Date dateOfInterview, Location locationOfInterview, String attachedMessage, String typeOfInterview, boolean accepted)
     {
         this.id = id;
-        this.jobSeeker = jobSeeker;
+        this.jobSeeker = LazyReference.of(jobSeeker);
         this.recruiter = recruiter;
-        this.job = job;
+        this.job = LazyReference.of(job);
+        jobSeekerEmail = null;
+        jobId = -1;
+        jobTitle = null;
         this.dateSent = dateSent;
         this.dateOfInterview = dateOfInterview;
         this.locationOfInterview = locationOfInterview;
@@ -139,10 +159,10 @@ public class Invitation
     public LinkedHashMap<String, String> getInvitationDetailMap()
     {
         LinkedHashMap<String, String> invitationDetails = new LinkedHashMap<>();
-        invitationDetails.put("Job Title", job.getJobTitle());
+        invitationDetails.put("Job Title", getJobTitle());
         invitationDetails.put("Recruiter Name", recruiter.getFirstName() + " " + recruiter.getLastName());
         invitationDetails.put("Location", locationOfInterview.toString());
-        invitationDetails.put("Date of Interview", dateOfInterview.toString());
+        invitationDetails.put("Date of Interview", dateOfInterview == null ? null : dateOfInterview.toString());
         invitationDetails.put("Date Received", dateSent.toString());
         invitationDetails.put("Message from Recruiter", attachedMessage);
         invitationDetails.put("Accepted", String.valueOf(accepted));
@@ -150,23 +170,59 @@ public class Invitation
     }
 
     /**
-     * Accessor method to get the invitation's job details.
+     * Accessor method to get the invitation's job details, loading the job the first time it is asked for if the
+     * invitation was read with only a reference to it.
      *
-     * @return The invitation's job details as an object of the Job class.
+     * @return The invitation's job details as an object of the Job class, or null if it cannot be loaded.
      */
     public Job getJob()
     {
-        return job;
+        return job.get();
+    }
+
+    /**
+     * Accessor method to get the id of the invitation's job without loading the job.
+     *
+     * @return The job's identification number as an integer, or -1 if there is no job.
+     */
+    public int getJobId()
+    {
+        Job loaded = job.isLoaded() ? job.get() : null;
+        return loaded != null ? loaded.getId() : jobId;
+    }
+
+    /**
+     * Accessor method to get the title of the invitation's job without loading the job.
+     *
+     * @return The job's title as a string.
+     */
+    public String getJobTitle()
+    {
+        Job loaded = job.isLoaded() ? job.get() : null;
+        return loaded != null ? loaded.getJobTitle() : jobTitle;
     }
 
     /**
-     * Accessor method to get the invitation's job seeker details.
+     * Accessor method to get the invitation's job seeker details, loading the job seeker the first time they are
+     * asked for if the invitation was read with only a reference to them.
      *
-     * @return The invitation's job seeker details as an object of the JobSeeker class.
+     * @return The invitation's job seeker details as an object of the JobSeeker class, or null if they cannot be
+     * loaded.
      */
     public JobSeeker getJobSeeker()
     {
-        return jobSeeker;
+        return jobSeeker.get();
+    }
+
+    /**
+     * Accessor method to get the email of the invitation's job seeker without loading the job seeker.
+     *
+     * @return The job seeker's email as a string, or null if there is no job seeker.
+     */
+    public String getJobSeekerEmail()
+    {
+        JobSeeker loaded = jobSeeker.isLoaded() ? jobSeeker.get() : null;
+        return loaded != null ? loaded.getEmail() : jobSeekerEmail;
     }
 
     /**
@@ -266,6 +322,22 @@ public class Invitation
      */
     public void setJob(Job job)
     {
+        this.job = LazyReference.of(job);
+        jobId = -1;
+        jobTitle = null;
+    }
+
+    /**
+     * Mutator method to refer to the invitation's job by id, so that the job is only loaded if it is asked for.
+     *
+     * @param jobId    The job's identification number as an integer.
+     * @param jobTitle The job's title as a string, shown without loading the job.
+     * @param job      The reference which loads the job when {@link #getJob()} is first called.
+     */
+    public void setJobReference(int jobId, String jobTitle, LazyReference<Job> job)
+    {
+        this.jobId = jobId;
+        this.jobTitle = jobTitle;
         this.job = job;
     }
 
@@ -276,6 +348,20 @@ public class Invitation
      */
     public void setJobSeeker(JobSeeker jobSeeker)
     {
+        this.jobSeeker = LazyReference.of(jobSeeker);
+        jobSeekerEmail = null;
+    }
+
+    /**
+     * Mutator method to refer to the invitation's job seeker by email, so that the job seeker is only loaded if they
+     * are asked for.
+     *
+     * @param jobSeekerEmail The job seeker's email as a string.
+     * @param jobSeeker      The reference which loads the job seeker when {@link #getJobSeeker()} is first called.
+     */
+    public void setJobSeekerReference(String jobSeekerEmail, LazyReference<JobSeeker> jobSeeker)
+    {
+        this.jobSeekerEmail = jobSeekerEmail;
         this.jobSeeker = jobSeeker;
     }
 
@@ -1,11 +1,12 @@
 package Entities;
 
+import Utilities.FieldWeights;
 import Utilities.RelevanceScorer;
+import Utilities.TermVector;
 import Utilities.UserIO;
 
 import java.util.ArrayList;
 import java.sql.Date;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 
 /**
@@ -16,6 +17,13 @@ import java.util.LinkedHashMap;
  */
 public class Job
 {
+    /**
+     * Weight of each field out of 100 when a job is matched against a search term, in the order title, keywords,
+     * categories and description. Used by the job search index, which holds the term vector of each field as its
+     * postings.
+     */
+    public static final FieldWeights FIELD_WEIGHTS = new FieldWeights(50, 15, 15, 20);
+
     private int id;
     private String jobTitle;
     private Recruiter author;
@@ -32,6 +40,10 @@ public class Job
     private String description;
     private boolean isAdvertised;
     private ArrayList<String> keywords;
+    /**
+     * Term vector of the job string, built when first needed and cleared whenever a field it uses is changed.
+     */
+    private TermVector jobVector;
 
     /**
      * Default constructor which creates the object of the Job class.
@@ -198,20 +210,6 @@ public class Job
         return compensation;
     }
 
-    public int getCosine(String matchingTerm)
-    {
-        HashMap<String, Integer> matches = new HashMap<>();
-        matches.put(jobTitle, 50);
-        matches.put(getStringKeywords(" "), 15);
-        matches.put(getStringCategories(" "), 15);
-        matches.put(description, 20);
-        if (RelevanceScorer.getCosine(matches, matchingTerm) == -1)
-        {
-            System.out.println("Job failed: id = " + id);
-        }
-        return RelevanceScorer.getCosine(matches, matchingTerm);
-    }
-
     /**
      * Accessor method to get the job's description creation date.
      *
@@ -323,6 +321,22 @@ public class Job
         return jobTitle + getStringKeywords(" ") + getStringCategories(" ") + description + jobLevel;
     }
 
+    /**
+     * Accessor method to get the term vector of the job string, building it the first time it is needed.
+     *
+     * @return The term vector of {@link #getJobString()}.
+     */
+    public TermVector getJobVector()
+    {
+        TermVector vector = jobVector;
+        if (vector == null)
+        {
+            vector = TermVector.of(getJobString());
+            jobVector = vector;
+        }
+        return vector;
+    }
+
     /**
      * Accessor method to get the job's title.
      *
@@ -355,12 +369,14 @@ public class Job
 
     public int getPersonalRelevancy(JobSeeker jobSeeker)
     {
-        int resumeScore = RelevanceScorer.getCosineScore(jobSeeker.getResumeContent(), getJobString());
-        int keywordScore = RelevanceScorer.getCosineScore(jobSeeker.getKeywordsAsString(" "), getJobString());
-        int jobNameScore = RelevanceScorer.getCosineScore(jobSeeker.getCurrentJobName(), getJobString());
-        int jobLevelScore = RelevanceScorer.getCosineScore(jobSeeker.getCurrentJobLevel(), getJobString());
+        TermVector jobVector = getJobVector();
+        int resumeScore = RelevanceScorer.getCosineScore(jobSeeker.getResumeVector(), jobVector);
+        int keywordScore = RelevanceScorer.getCosineScore(jobSeeker.getKeywordVector(), jobVector);
+        int jobNameScore = RelevanceScorer.getCosineScore(jobSeeker.getCurrentJobNameVector(), jobVector);
+        int jobLevelScore = RelevanceScorer.getCosineScore(jobSeeker.getCurrentJobLevelVector(), jobVector);
         int expectedComp = jobSeeker.getExpectedCompensation();
-        int compensationScore = (expectedComp > 5000 && expectedComp <= 1000000) ? (Math.abs(expectedComp / compensation - 1) + 1) : 100;
+        // A job without a compensation is scored the same as a job seeker without an expected compensation.
+        int compensationScore = (compensation > 0 && expectedComp > 5000 && expectedComp <= 1000000) ? (Math.abs(expectedComp / compensation - 1) + 1) : 100;
 
         double resumeWeight = 0.2;
         double keywordWeight = 0.3;
@@ -425,6 +441,7 @@ public class Job
     public void setCategories(ArrayList<String> categories)
     {
         this.categories = categories;
+        jobVector = null;
     }
 
     /**
@@ -485,6 +502,7 @@ public class Job
     public void setDescription(String description)
     {
         this.description = description;
+        jobVector = null;
     }
 
     /**
@@ -515,6 +533,7 @@ public class Job
     public void setJobLevel(String jobLevel)
     {
         this.jobLevel = jobLevel;
+        jobVector = null;
     }
 
     /**
@@ -525,6 +544,7 @@ public class Job
     public void setJobTitle(String jobTitle)
     {
         this.jobTitle = jobTitle;
+        jobVector = null;
     }
 
     /**
@@ -535,6 +555,7 @@ public class Job
     public void setKeywords(ArrayList<String> keywords)
     {
         this.keywords = keywords;
+        jobVector = null;
     }
 
     /**
@@ -1,5 +1,6 @@
 package Entities;
 
+import Utilities.TermVector;
 import Utilities.UserIO;
 
 import java.util.ArrayList;
@@ -23,6 +24,15 @@ public class JobSeeker extends User
     private int expectedCompensation;
     private ArrayList<String> keywords;
     private String resumeContent;
+    /**
+     * Term vectors used for scoring jobs, built when first needed and cleared whenever their field is changed. Their
+     * words are only looked up in the term dictionary, and they are built again once words they didn't know may have
+     * been added by new jobs.
+     */
+    private TermVector resumeVector;
+    private TermVector keywordVector;
+    private TermVector currentJobNameVector;
+    private TermVector currentJobLevelVector;
 
     /**
      * Default constructor which creates the object of the class JobSeeker partly by extending the User class.
@@ -138,6 +148,38 @@ public class JobSeeker extends User
         return currentJobName;
     }
 
+    /**
+     * Accessor method to get the term vector of the job seeker's current job level.
+     *
+     * @return The term vector of the current job level.
+     */
+    public TermVector getCurrentJobLevelVector()
+    {
+        TermVector vector = currentJobLevelVector;
+        if (vector == null || vector.isOutOfDate())
+        {
+            vector = TermVector.ofQuery(currentJobLevel);
+            currentJobLevelVector = vector;
+        }
+        return vector;
+    }
+
+    /**
+     * Accessor method to get the term vector of the job seeker's current job name.
+     *
+     * @return The term vector of the current job name.
+     */
+    public TermVector getCurrentJobNameVector()
+    {
+        TermVector vector = currentJobNameVector;
+        if (vector == null || vector.isOutOfDate())
+        {
+            vector = TermVector.ofQuery(currentJobName);
+            currentJobNameVector = vector;
+        }
+        return vector;
+    }
+
     /**
      * Accessor method to get the job seeker's date of birth.
      *
@@ -168,6 +210,22 @@ public class JobSeeker extends User
         return keywords;
     }
 
+    /**
+     * Accessor method to get the term vector of the job seeker's keywords.
+     *
+     * @return The term vector of the keywords, empty if the job seeker has no keywords.
+     */
+    public TermVector getKeywordVector()
+    {
+        TermVector vector = keywordVector;
+        if (vector == null || vector.isOutOfDate())
+        {
+            vector = keywords == null ? TermVector.EMPTY : TermVector.ofQuery(String.join(" ", keywords));
+            keywordVector = vector;
+        }
+        return vector;
+    }
+
     public String getKeywordsAsString(String separator)
     {
         StringBuilder sb = new StringBuilder();
@@ -200,6 +258,22 @@ public class JobSeeker extends User
         return resumeContent;
     }
 
+    /**
+     * Accessor method to get the term vector of the job seeker's resume content.
+     *
+     * @return The term vector of the resume content.
+     */
+    public TermVector getResumeVector()
+    {
+        TermVector vector = resumeVector;
+        if (vector == null || vector.isOutOfDate())
+        {
+            vector = TermVector.ofQuery(resumeContent);
+            resumeVector = vector;
+        }
+        return vector;
+    }
+
     public LinkedHashMap<String, String> getUserDetailMap()
     {
         LinkedHashMap<String, String> jobDetails = new LinkedHashMap<>();
@@ -231,6 +305,7 @@ public class JobSeeker extends User
     public void setCurrentJobLevel(String currentJobLevel)
     {
         this.currentJobLevel = currentJobLevel;
+        currentJobLevelVector = null;
     }
 
     /**
@@ -241,6 +316,7 @@ public class JobSeeker extends User
     public void setCurrentJobName(String currentJobName)
     {
         this.currentJobName = currentJobName;
+        currentJobNameVector = null;
     }
 
     /**
@@ -271,6 +347,7 @@ public class JobSeeker extends User
     public void setKeywords(ArrayList<String> keywords)
     {
         this.keywords = keywords;
+        keywordVector = null;
     }
 
     /**
@@ -291,6 +368,7 @@ public class JobSeeker extends User
     public void setResumeContent(String resumeContent)
     {
         this.resumeContent = resumeContent;
+        resumeVector = null;
     }
 
     public String stringForCosine()
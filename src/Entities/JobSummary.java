@@ -0,0 +1,101 @@
+package Entities;
+
+import java.sql.Date;
+
+/**
+ * An entity class which stores the few details of a job shown when jobs are listed, along with the number of job
+ * seekers who have applied for it. Summaries are read straight from the job table, so listing jobs doesn't load each
+ * job's author, location, keywords and categories. The full {@link Job} is loaded by its id when it is opened.
+ *
+ * @author Team R
+ * @version 1.0
+ */
+public class JobSummary
+{
+    private final int id;
+    private final String jobTitle;
+    private final String company;
+    private final int compensation;
+    private final Date dateListed;
+    private final int applicantCount;
+
+    /**
+     * Non-default constructor which creates the object of the JobSummary class.
+     *
+     * @param id             Accepts the job's identification number as an integer.
+     * @param jobTitle       Accepts the job's title as a String.
+     * @param company        Accepts the job's company name as a String.
+     * @param compensation   Accepts the job's compensation level as an integer.
+     * @param dateListed     Accepts the job's listing date as a Date, may be null.
+     * @param applicantCount Accepts the number of applications for the job as an integer.
+     */
+    public JobSummary(int id, String jobTitle, String company, int compensation, Date dateListed, int applicantCount)
+    {
+        this.id = id;
+        this.jobTitle = jobTitle;
+        this.company = company;
+        this.compensation = compensation;
+        this.dateListed = dateListed;
+        this.applicantCount = applicantCount;
+    }
+
+    /**
+     * Accessor method to get the number of applications for the job.
+     *
+     * @return The number of applications as an integer.
+     */
+    public int getApplicantCount()
+    {
+        return applicantCount;
+    }
+
+    /**
+     * Accessor method to get the job's company.
+     *
+     * @return The job's company name as a string.
+     */
+    public String getCompany()
+    {
+        return company;
+    }
+
+    /**
+     * Accessor method to get the job's compensation level.
+     *
+     * @return The job's compensation level as an integer.
+     */
+    public int getCompensation()
+    {
+        return compensation;
+    }
+
+    /**
+     * Accessor method to get the job's listing date.
+     *
+     * @return The job's listing date as a Date, or null if it hasn't been listed.
+     */
+    public Date getDateListed()
+    {
+        return dateListed;
+    }
+
+    /**
+     * Accessor method to get the job's identification number.
+     *
+     * @return The job's identification number as an integer.
+     */
+    public int getId()
+    {
+        return id;
+    }
+
+    /**
+     * Accessor method to get the job's title.
+     *
+     * @return The job's title as a string.
+     */
+    public String getJobTitle()
+    {
+        return jobTitle;
+    }
+}
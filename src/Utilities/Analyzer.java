@@ -0,0 +1,166 @@
+package Utilities;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+
+/**
+ * Turns text into the words which are indexed and searched for. Text is read one character at a time, so punctuation,
+ * tabs and the line breaks left by PDF extraction all separate words instead of becoming part of them. Each word is
+ * folded to lower case, common English words which say nothing about a job are dropped, and plurals are reduced to
+ * their singular form, so that "Engineers," matches "engineer".
+ * <p>
+ * The same analyzer is used for indexed text and for search terms, so both sides always agree on what a word is.
+ * Text is read in place rather than split or copied, so analysing it creates little besides the returned words.
+ *
+ * @author Charlie Timlock, Levi Quilliam, Tim Perkins, and Merrill Nguyen
+ * @version 1.0
+ */
+public final class Analyzer
+{
+    /**
+     * Changes whenever the words produced for the same text change, so that stored indexes built with an older
+     * version can be detected and rebuilt.
+     */
+    public static final int VERSION = 1;
+    /**
+     * Words shorter than this aren't stemmed, so short words such as "bus" and "gas" are left alone.
+     */
+    private static final int MIN_STEM_LENGTH = 4;
+    /**
+     * Common words which carry no meaning on their own. "it" is left out because it is also a job category.
+     */
+    private static final HashSet<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "from", "has", "have", "if", "in", "into",
+            "is", "no", "not", "of", "on", "or", "our", "such", "that", "the", "their", "then", "there", "these",
+            "they", "this", "to", "was", "we", "will", "with", "you", "your"));
+    private static final int LONGEST_STOP_WORD = STOP_WORDS.stream().mapToInt(String::length).max().orElse(0);
+
+    private Analyzer()
+    {
+    }
+
+    /**
+     * Analyses a text into a list of its words, in the order they appear.
+     *
+     * @param text The text to be analysed, may be null.
+     * @return The words of the text, including repeats.
+     */
+    public static ArrayList<String> analyze(CharSequence text)
+    {
+        ArrayList<String> words = new ArrayList<>();
+        TokenStream stream = tokens(text);
+        for (String word = stream.next(); word != null; word = stream.next())
+            words.add(word);
+        return words;
+    }
+
+    /**
+     * Creates a stream which reads the words of a text one at a time, without holding them all in memory.
+     *
+     * @param text The text to be analysed, may be null.
+     * @return The stream of words.
+     */
+    public static TokenStream tokens(CharSequence text)
+    {
+        return new TokenStream(text == null ? "" : text);
+    }
+
+    /**
+     * Reduces a plural to its singular form in place, using the rules of the S stemmer: "ies" becomes "y" unless it
+     * follows "a" or "e", and otherwise a trailing "s" is removed unless the word ends in "us" or "ss", where it isn't a
+     * plural. So "companies" becomes "company", "employees" becomes "employee", "heroes" becomes "heroe", "algaes"
+     * becomes "algae" and "horses" becomes "horse", while "status" and "glass" are left alone.
+     *
+     * @return The length of the stemmed word.
+     */
+    private static int stem(char[] word, int length)
+    {
+        if (length < MIN_STEM_LENGTH || word[length - 1] != 's')
+            return length;
+        char second = word[length - 2];
+        if (second == 'e' && word[length - 3] == 'i' && word[length - 4] != 'e' && word[length - 4] != 'a')
+        {
+            word[length - 3] = 'y';
+            return length - 2;
+        }
+        if (second != 'u' && second != 's')
+            return length - 1;
+        return length;
+    }
+
+    private static boolean isWordChar(char c)
+    {
+        return Character.isLetterOrDigit(c);
+    }
+
+    /**
+     * Reads the words of a text one at a time. A word is a run of letters and digits, which may end in "+" or "#" so
+     * that skills like "C++" and "C#" aren't lost. Apostrophes inside a word are dropped, so "don't" is read as "dont",
+     * and so is the s of a possessive, so "recruiter's" is read as "recruiter".
+     */
+    public static final class TokenStream
+    {
+        private final CharSequence text;
+        private int position;
+        private char[] buffer;
+
+        private TokenStream(CharSequence text)
+        {
+            this.text = text;
+            this.position = 0;
+            this.buffer = new char[32];
+        }
+
+        /**
+         * Reads the next word which isn't a stop word.
+         *
+         * @return The next word, or null when the end of the text has been reached.
+         */
+        public String next()
+        {
+            int end = text.length();
+            while (position < end)
+            {
+                int length = 0;
+                while (position < end)
+                {
+                    char c = text.charAt(position);
+                    if (isWordChar(c))
+                        append(Character.toLowerCase(c), length++);
+                    else if (c == '\'' && length > 0 && position + 1 < end && isWordChar(text.charAt(position + 1)))
+                    {
+                        // Dropped along with a possessive s, otherwise the word carries on after it.
+                        char next = text.charAt(position + 1);
+                        if ((next == 's' || next == 'S') && (position + 2 == end || !isWordChar(text.charAt(position + 2))))
+                            position++;
+                    } else if ((c == '+' || c == '#') && length > 0)
+                        append(c, length++);
+                    else if (length > 0)
+                        break;
+                    position++;
+                }
+                if (length == 0)
+                    continue;
+
+                String word = null;
+                if (length <= LONGEST_STOP_WORD)
+                {
+                    word = new String(buffer, 0, length);
+                    if (STOP_WORDS.contains(word))
+                        continue;
+                }
+                int stemmed = stem(buffer, length);
+                return word == null || stemmed != length ? new String(buffer, 0, stemmed) : word;
+            }
+            return null;
+        }
+
+        private void append(char c, int length)
+        {
+            if (length == buffer.length)
+                buffer = Arrays.copyOf(buffer, length * 2);
+            buffer[length] = c;
+        }
+    }
+}
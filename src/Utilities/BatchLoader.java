@@ -0,0 +1,124 @@
+package Utilities;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Loads objects by key in batches for {@link LazyReference}s. Each reference the loader makes adds its key to a list
+ * of pending keys, and the first time any of them is asked for, it is loaded along with the other pending keys in one
+ * call, up to the batch size. A screen which lists many rows and then shows a detail of each one therefore costs one
+ * query per batch instead of one per row, and rows which are never looked at cost nothing.
+ * <p>
+ * Objects are kept once loaded, so references to the same key share the same object. A loader is meant to live as
+ * long as the list its references belong to.
+ *
+ * @param <K> The type of key objects are loaded by.
+ * @param <V> The type of object loaded.
+ * @author Charlie Timlock, Levi Quilliam, Tim Perkins, and Merrill Nguyen
+ * @version 1.0
+ */
+public class BatchLoader<K, V>
+{
+    /**
+     * The largest number of keys loaded at once, which keeps IN clauses well within SQLite's parameter limit.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    private final Function<Collection<K>, Map<K, V>> loadAll;
+    private final int batchSize;
+    /**
+     * Keys which have been referred to but not loaded yet, in the order they were referred to.
+     */
+    private final LinkedHashSet<K> pending;
+    /**
+     * Keys which have been loaded, mapped to null if there was nothing to load.
+     */
+    private final HashMap<K, V> loaded;
+
+    /**
+     * Non-default constructor which creates a loader with the default batch size.
+     *
+     * @param loadAll Loads the objects for some keys, returning a map of key to object which leaves out keys with no
+     *                object, or null if they cannot be loaded.
+     */
+    public BatchLoader(Function<Collection<K>, Map<K, V>> loadAll)
+    {
+        this(loadAll, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Non-default constructor which creates a loader.
+     *
+     * @param loadAll   Loads the objects for some keys, returning a map of key to object which leaves out keys with no
+     *                  object, or null if they cannot be loaded.
+     * @param batchSize The largest number of keys to load at once, at least 1.
+     */
+    public BatchLoader(Function<Collection<K>, Map<K, V>> loadAll, int batchSize)
+    {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Batch size must be at least 1 but was " + batchSize);
+        this.loadAll = loadAll;
+        this.batchSize = batchSize;
+        pending = new LinkedHashSet<>();
+        loaded = new HashMap<>();
+    }
+
+    /**
+     * Makes a reference to the object with a key, which is loaded along with the other pending keys when it is first
+     * asked for.
+     *
+     * @param key The key of the object.
+     * @return The reference.
+     */
+    public synchronized LazyReference<V> reference(K key)
+    {
+        if (loaded.containsKey(key))
+            return LazyReference.of(loaded.get(key));
+        pending.add(key);
+        return new LazyReference<>(() -> get(key));
+    }
+
+    /**
+     * Adds an object which has already been loaded, so that references to its key don't load it again.
+     *
+     * @param key   The key of the object.
+     * @param value The object.
+     */
+    public synchronized void put(K key, V value)
+    {
+        pending.remove(key);
+        loaded.put(key, value);
+    }
+
+    /**
+     * Gets the object with a key, loading it along with up to a batch of the other pending keys if it hasn't been
+     * loaded yet.
+     *
+     * @param key The key of the object.
+     * @return The object, or null if there is none or it cannot be loaded.
+     */
+    public synchronized V get(K key)
+    {
+        if (loaded.containsKey(key))
+            return loaded.get(key);
+        pending.remove(key);
+        ArrayList<K> batch = new ArrayList<>(Math.min(batchSize, pending.size() + 1));
+        batch.add(key);
+        Iterator<K> keys = pending.iterator();
+        while (batch.size() < batchSize && keys.hasNext())
+        {
+            batch.add(keys.next());
+            keys.remove();
+        }
+        Map<K, V> values = loadAll.apply(batch);
+        if (values == null)
+        {
+            // Left for the next reference to try again.
+            pending.addAll(batch.subList(1, batch.size()));
+            return null;
+        }
+        for (K batchKey : batch)
+            loaded.put(batchKey, values.get(batchKey));
+        return values.get(key);
+    }
+}
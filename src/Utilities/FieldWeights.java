@@ -0,0 +1,55 @@
+package Utilities;
+
+import java.util.Arrays;
+
+/**
+ * A fixed set of weights, one per field of a document, which together make up a score out of 100. The weights are
+ * checked once when the set is made, so scoring a document is only a matter of scaling each field's score by its
+ * weight and adding them up.
+ *
+ * @author Charlie Timlock, Levi Quilliam, Tim Perkins, and Merrill Nguyen
+ * @version 1.0
+ */
+public final class FieldWeights
+{
+    /**
+     * The sum of the weights of every field.
+     */
+    public static final int TOTAL = 100;
+
+    private final int[] weights;
+
+    /**
+     * Non-default constructor which creates a set of field weights.
+     *
+     * @param weights The weight of each field in field order, none negative and summing to {@link #TOTAL}.
+     */
+    public FieldWeights(int... weights)
+    {
+        if (weights == null || weights.length == 0)
+            throw new IllegalArgumentException("At least one field weight is needed");
+        int total = 0;
+        for (int weight : weights)
+        {
+            if (weight < 0)
+                throw new IllegalArgumentException("Field weights can't be negative: " + Arrays.toString(weights));
+            total += weight;
+        }
+        if (total != TOTAL)
+            throw new IllegalArgumentException("Field weights must sum to " + TOTAL + " but sum to " + total + ": " + Arrays.toString(weights));
+        this.weights = weights.clone();
+    }
+
+    /**
+     * Scales a field's score by the field's weight, rounding down, so that the weighted scores of every field add up
+     * to a score from 0-100.
+     *
+     * @param field The number of the field.
+     * @param score The field's score, from 0-100.
+     * @return The field's share of the total score.
+     */
+    public int weigh(int field, int score)
+    {
+        return score * weights[field] / TOTAL;
+    }
+}
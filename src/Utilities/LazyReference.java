@@ -0,0 +1,71 @@
+package Utilities;
+
+import java.util.function.Supplier;
+
+/**
+ * A reference to an object which is only loaded the first time it is asked for, so that an entity can refer to the
+ * entities it belongs to without loading them until they are needed. Once loaded the object is kept, and the loader
+ * is let go. If loading fails the reference tries again the next time it is asked for.
+ * <p>
+ * References made by the same {@link BatchLoader} load together, so asking for one loads its neighbours too.
+ *
+ * @param <T> The type of object referred to.
+ * @author Charlie Timlock, Levi Quilliam, Tim Perkins, and Merrill Nguyen
+ * @version 1.0
+ */
+public final class LazyReference<T>
+{
+    private Supplier<? extends T> loader;
+    private T value;
+
+    /**
+     * Non-default constructor which creates a reference which hasn't been loaded.
+     *
+     * @param loader Loads the object, returning null if it cannot be loaded.
+     */
+    public LazyReference(Supplier<? extends T> loader)
+    {
+        this.loader = loader;
+        this.value = null;
+    }
+
+    /**
+     * Creates a reference to an object which has already been loaded.
+     *
+     * @param value The object, may be null.
+     * @param <T>   The type of object referred to.
+     * @return The loaded reference.
+     */
+    public static <T> LazyReference<T> of(T value)
+    {
+        LazyReference<T> reference = new LazyReference<>(null);
+        reference.value = value;
+        return reference;
+    }
+
+    /**
+     * Gets the object, loading it if this is the first time it has been asked for.
+     *
+     * @return The object, or null if it cannot be loaded.
+     */
+    public synchronized T get()
+    {
+        if (value == null && loader != null)
+        {
+            value = loader.get();
+            if (value != null)
+                loader = null;
+        }
+        return value;
+    }
+
+    /**
+     * Checks whether the object has been loaded, without loading it.
+     *
+     * @return True if {@link #get()} will return without loading anything.
+     */
+    public synchronized boolean isLoaded()
+    {
+        return loader == null;
+    }
+}
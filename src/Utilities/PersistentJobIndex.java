@@ -0,0 +1,834 @@
+package Utilities;
+
+import Entities.Job;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * A job search index stored on disk, so searches can be served as soon as the program starts instead of after every
+ * job has been read from the database and indexed. Each field of a job is scored on its own and the field scores are
+ * combined using {@link Job#FIELD_WEIGHTS}.
+ * <p>
+ * The index is a base file and a log. The base file holds a table of jobs with the length of each of their field
+ * vectors, a table of words sorted by their UTF-8 bytes and the postings of each word. It is memory mapped and never
+ * changed once written, so words and jobs are found by binary search in the mapping and the OS page cache keeps the
+ * parts which are used in memory. Jobs added or removed after the base file was written are appended to the log and
+ * kept in memory. When the index is opened with a long log, the base file and log are merged into a new base file
+ * before it is mapped.
+ * <p>
+ * Jobs can be ranked by cosine similarity or BM25, see {@link RankingMode}. The numbers BM25 needs about the whole
+ * index, the number of jobs containing each word and the total length of each field, are kept up to date as jobs are
+ * added and removed rather than worked out again for each search.
+ * <p>
+ * The index only stores job ids, so search results are looked up in the database.
+ *
+ * @author Charlie Timlock, Levi Quilliam, Tim Perkins, and Merrill Nguyen
+ * @version 1.0
+ */
+public class PersistentJobIndex implements Closeable
+{
+    /**
+     * The number of logged changes above which the log is merged into the base file when the index is opened.
+     */
+    public static final int COMPACT_THRESHOLD = 10000;
+
+    private static final int MAGIC = 0x4A534958;
+    private static final int VERSION = 3;
+    /**
+     * Header: magic, version, analyzer version, job count, word count, posting count, last job id and the total number
+     * of words in each field.
+     */
+    private static final int HEADER_SIZE = 28 + 8 * 4;
+    /**
+     * Job entry: id, advertised flag, the length of each field vector and the number of words in each field.
+     */
+    private static final int JOB_ENTRY_SIZE = 8 + 8 * 4 + 4 * 4;
+    /**
+     * Word entry: offset and length of the word's UTF-8 bytes, first posting and number of postings.
+     */
+    private static final int TERM_ENTRY_SIZE = 16;
+    /**
+     * Posting: job id, field and frequency.
+     */
+    private static final int POSTING_SIZE = 8;
+    private static final byte LOG_ADD = 1;
+    private static final byte LOG_REMOVE = 2;
+
+    private static final int TITLE = 0;
+    private static final int KEYWORDS = 1;
+    private static final int CATEGORIES = 2;
+    private static final int DESCRIPTION = 3;
+    private static final int FIELD_COUNT = 4;
+
+    private final Path logFile;
+    private final FileChannel log;
+    private final ByteBuffer base;
+    private final int baseJobCount;
+    private final int baseTermCount;
+    private final int jobsOffset;
+    private final int termsOffset;
+    private final int postingsOffset;
+    private final int stringsOffset;
+    /**
+     * Jobs added since the base file was written.
+     */
+    private final HashMap<Integer, Entry> added;
+    /**
+     * Jobs in the base file which have been removed or replaced since it was written.
+     */
+    private final HashSet<Integer> masked;
+    /**
+     * Each word in the added jobs mapped to the number of added jobs it appears in, for each field.
+     */
+    private final HashMap<String, int[]> addedDocumentFrequencies;
+    /**
+     * The total number of words in each field over every job in the index.
+     */
+    private final long[] totalLengths;
+    private int lastJobId;
+
+    private PersistentJobIndex(Path logFile, ByteBuffer base) throws IOException
+    {
+        this.logFile = logFile;
+        this.base = base;
+        if (base.capacity() < HEADER_SIZE || base.getInt(0) != MAGIC || base.getInt(4) != VERSION)
+            throw new IOException("Not a job index or an unsupported version");
+        if (base.getInt(8) != Analyzer.VERSION)
+            throw new IOException("Job index was built with a different analyzer");
+        baseJobCount = base.getInt(12);
+        baseTermCount = base.getInt(16);
+        int postingCount = base.getInt(20);
+        lastJobId = base.getInt(24);
+        totalLengths = new long[FIELD_COUNT];
+        for (int field = 0; field < FIELD_COUNT; field++)
+            totalLengths[field] = base.getLong(28 + field * 8);
+        jobsOffset = HEADER_SIZE;
+        termsOffset = jobsOffset + baseJobCount * JOB_ENTRY_SIZE;
+        postingsOffset = termsOffset + baseTermCount * TERM_ENTRY_SIZE;
+        stringsOffset = postingsOffset + postingCount * POSTING_SIZE;
+        if (stringsOffset > base.capacity())
+            throw new IOException("Job index is truncated");
+        added = new HashMap<>();
+        masked = new HashSet<>();
+        addedDocumentFrequencies = new HashMap<>();
+        log = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        replayLog();
+    }
+
+    /**
+     * Opens an index which has been written with {@link #build}. If the log has grown past {@link #COMPACT_THRESHOLD}
+     * changes it is merged into the base file first.
+     *
+     * @param file The base file of the index.
+     * @return The open index.
+     * @throws IOException Throws an IOException if the index doesn't exist, can't be read or was built with another
+     *                     version of the {@link Analyzer}, in which case it should be built again.
+     */
+    public static PersistentJobIndex open(Path file) throws IOException
+    {
+        PersistentJobIndex index = map(file);
+        if (index.added.size() + index.masked.size() <= COMPACT_THRESHOLD)
+            return index;
+        index.close();
+        // Merge from a copy in memory, as a file can't be replaced on every platform while it is mapped.
+        new PersistentJobIndex(getLogFile(file), ByteBuffer.wrap(Files.readAllBytes(file))).compact(file);
+        return map(file);
+    }
+
+    /**
+     * Writes a new index of the given jobs, replacing any index already in the file, and opens it.
+     *
+     * @param file The base file of the index.
+     * @param jobs The jobs to be indexed, which must have been given ids by the database.
+     * @return The open index.
+     * @throws IOException Throws an IOException if the index can't be written.
+     */
+    public static PersistentJobIndex build(Path file, Iterator<Job> jobs) throws IOException
+    {
+        Builder builder = new Builder();
+        while (jobs.hasNext())
+        {
+            Job job = jobs.next();
+            builder.add(job.getId(), Entry.of(job));
+        }
+        builder.write(file);
+        Files.deleteIfExists(getLogFile(file));
+        return open(file);
+    }
+
+    /**
+     * Adds a job to the index, replacing it if it is already indexed. The job is written to the log before it is
+     * searchable.
+     *
+     * @param job The job to be indexed, must have been given an id by the database.
+     * @throws IOException Throws an IOException if the job can't be written to the log.
+     */
+    public synchronized void addJob(Job job) throws IOException
+    {
+        Entry entry = Entry.of(job);
+        appendToLog(entry.encode(job.getId()));
+        applyAdd(job.getId(), entry);
+    }
+
+    /**
+     * Removes a job from the index.
+     *
+     * @param jobId The id of the job to be removed.
+     * @throws IOException Throws an IOException if the removal can't be written to the log.
+     */
+    public synchronized void removeJob(int jobId) throws IOException
+    {
+        ByteBuffer record = ByteBuffer.allocate(5);
+        record.put(LOG_REMOVE).putInt(jobId).flip();
+        appendToLog(record);
+        applyRemove(jobId);
+    }
+
+    /**
+     * Searches the index for advertised jobs relevant to the search term, ranked by cosine similarity.
+     *
+     * @param searchTerm The term to search for.
+     * @param limit      The maximum number of jobs to return.
+     * @return Returns the ids of up to limit jobs ordered from most to least relevant.
+     * @see #search(String, int, RankingMode)
+     */
+    public synchronized ArrayList<Integer> search(String searchTerm, int limit)
+    {
+        return search(searchTerm, limit, RankingMode.COSINE);
+    }
+
+    /**
+     * Searches the index for advertised jobs relevant to the search term. Jobs which don't share any words with the
+     * search term, or which score below half of the range of scores, are left out. Only the postings of the words in
+     * the search term are read, whichever ranking is used.
+     *
+     * @param searchTerm The term to search for.
+     * @param limit      The maximum number of jobs to return.
+     * @param mode       How the jobs are scored.
+     * @return Returns the ids of up to limit jobs ordered from most to least relevant.
+     */
+    public synchronized ArrayList<Integer> search(String searchTerm, int limit, RankingMode mode)
+    {
+        LinkedHashMap<String, Integer> query = TermVector.countWords(searchTerm);
+        double sumOfSquares = 0;
+        for (int count : query.values())
+            sumOfSquares += (double) count * count;
+        double queryNorm = Math.sqrt(sumOfSquares);
+        if (queryNorm == 0 || limit <= 0)
+            return new ArrayList<>();
+
+        boolean bm25 = mode == RankingMode.BM25;
+        int jobCount = size();
+        double[] averageLengths = new double[FIELD_COUNT];
+        for (int field = 0; field < FIELD_COUNT && jobCount > 0; field++)
+            averageLengths[field] = (double) totalLengths[field] / jobCount;
+        // For BM25, the largest sum each field could reach, which a perfect match would score 100 against.
+        double[] maxima = new double[FIELD_COUNT];
+        HashMap<Integer, double[]> sums = new HashMap<>();
+        HashMap<Integer, int[]> baseLengths = new HashMap<>();
+        query.forEach((word, queryCount) ->
+        {
+            int first = 0;
+            int count = 0;
+            int term = findTerm(word.getBytes(StandardCharsets.UTF_8));
+            if (term >= 0)
+            {
+                int entry = termsOffset + term * TERM_ENTRY_SIZE;
+                first = base.getInt(entry + 8);
+                count = base.getInt(entry + 12);
+            }
+            int[] addedFrequencies = addedDocumentFrequencies.get(word);
+            double[] idf = new double[FIELD_COUNT];
+            if (bm25)
+            {
+                int[] documentFrequencies = addedFrequencies == null ? new int[FIELD_COUNT] : addedFrequencies.clone();
+                for (int p = first; p < first + count; p++)
+                {
+                    int posting = postingsOffset + p * POSTING_SIZE;
+                    if (!masked.contains(base.getInt(posting)))
+                        documentFrequencies[base.getChar(posting + 4)]++;
+                }
+                if (Arrays.stream(documentFrequencies).sum() == 0)
+                    return;
+                for (int field = 0; field < FIELD_COUNT; field++)
+                {
+                    idf[field] = RelevanceScorer.getBm25Idf(jobCount, documentFrequencies[field]);
+                    maxima[field] += queryCount * idf[field] * RelevanceScorer.getBm25MaxTermWeight();
+                }
+            }
+            for (int p = first; p < first + count; p++)
+            {
+                int posting = postingsOffset + p * POSTING_SIZE;
+                int jobId = base.getInt(posting);
+                if (masked.contains(jobId))
+                    continue;
+                int field = base.getChar(posting + 4);
+                double[] jobSums = sums.computeIfAbsent(jobId, id -> new double[FIELD_COUNT]);
+                if (bm25)
+                {
+                    int length = baseLengths.computeIfAbsent(jobId, id -> getBaseLengths(findJob(id)))[field];
+                    jobSums[field] += queryCount * idf[field] * RelevanceScorer.getBm25TermWeight(base.getChar(posting + 6), length, averageLengths[field]);
+                } else
+                    jobSums[field] += (double) queryCount * base.getChar(posting + 6);
+            }
+            if (addedFrequencies != null)
+            {
+                added.forEach((jobId, entry) ->
+                {
+                    int[] counts = entry.counts.get(word);
+                    if (counts == null)
+                        return;
+                    double[] jobSums = sums.computeIfAbsent(jobId, id -> new double[FIELD_COUNT]);
+                    for (int field = 0; field < FIELD_COUNT; field++)
+                    {
+                        if (counts[field] == 0)
+                            continue;
+                        if (bm25)
+                            jobSums[field] += queryCount * idf[field] * RelevanceScorer.getBm25TermWeight(counts[field], entry.lengths[field], averageLengths[field]);
+                        else
+                            jobSums[field] += (double) queryCount * counts[field];
+                    }
+                });
+            }
+        });
+
+        HashMap<Integer, Integer> scores = new HashMap<>();
+        HashMap<Integer, Boolean> advertised = new HashMap<>();
+        sums.forEach((jobId, jobSums) ->
+        {
+            Entry entry = added.get(jobId);
+            if (entry != null)
+            {
+                scores.put(jobId, bm25 ? bm25Score(jobSums, maxima) : score(jobSums, entry.norms, queryNorm));
+                advertised.put(jobId, entry.advertised);
+            } else
+            {
+                int job = jobsOffset + findJob(jobId) * JOB_ENTRY_SIZE;
+                double[] norms = new double[FIELD_COUNT];
+                for (int field = 0; field < FIELD_COUNT; field++)
+                    norms[field] = base.getDouble(job + 8 + field * 8);
+                scores.put(jobId, bm25 ? bm25Score(jobSums, maxima) : score(jobSums, norms, queryNorm));
+                advertised.put(jobId, base.getInt(job + 4) != 0);
+            }
+        });
+        int max = scores.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+        int min = scores.size() < size() ? 0 : scores.values().stream().mapToInt(Integer::intValue).min().orElse(0);
+        int threshold = (max - min) / 2;
+
+        // Min-heap holding the best jobs seen so far, ties are broken in favour of the newest job.
+        Comparator<Integer> byScore = Comparator.<Integer>comparingInt(scores::get).thenComparingInt(Integer::intValue);
+        PriorityQueue<Integer> best = new PriorityQueue<>(byScore);
+        scores.forEach((jobId, score) ->
+        {
+            if (score > 0 && score >= threshold && advertised.get(jobId))
+            {
+                best.add(jobId);
+                if (best.size() > limit)
+                    best.poll();
+            }
+        });
+
+        ArrayList<Integer> results = new ArrayList<>(best.size());
+        while (!best.isEmpty())
+            results.add(best.poll());
+        Collections.reverse(results);
+        return results;
+    }
+
+    /**
+     * Gets the largest job id which has been indexed, so jobs inserted while the index wasn't open can be caught up.
+     *
+     * @return The largest job id added to the index, or 0 if no job has been added.
+     */
+    public synchronized int getLastJobId()
+    {
+        return lastJobId;
+    }
+
+    /**
+     * Gets the number of jobs in the index.
+     *
+     * @return The number of indexed jobs.
+     */
+    public synchronized int size()
+    {
+        return baseJobCount - masked.size() + added.size();
+    }
+
+    /**
+     * Closes the log. The mapping of the base file is released when the index is garbage collected.
+     *
+     * @throws IOException Throws an IOException if the log can't be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException
+    {
+        log.close();
+    }
+
+    /**
+     * Gets the path of the log which goes with a base file.
+     *
+     * @param file The base file of the index.
+     * @return The path of the log.
+     */
+    public static Path getLogFile(Path file)
+    {
+        return file.resolveSibling(file.getFileName() + ".log");
+    }
+
+    /**
+     * Reads the changes in the log. A record which was only partly written when the program stopped is cut off.
+     */
+    private void replayLog() throws IOException
+    {
+        ByteBuffer records = ByteBuffer.allocate((int) log.size());
+        while (records.hasRemaining() && log.read(records, records.position()) > 0)
+            ;
+        records.flip();
+        int end = 0;
+        try
+        {
+            while (records.hasRemaining())
+            {
+                byte type = records.get();
+                int jobId = records.getInt();
+                if (type == LOG_ADD)
+                    applyAdd(jobId, Entry.decode(records));
+                else if (type == LOG_REMOVE)
+                    applyRemove(jobId);
+                else
+                    break;
+                end = records.position();
+            }
+        } catch (BufferUnderflowException e)
+        {
+            // The last record was only partly written.
+        }
+        log.truncate(end);
+        log.position(end);
+    }
+
+    private void appendToLog(ByteBuffer record) throws IOException
+    {
+        long start = log.position();
+        try
+        {
+            while (record.hasRemaining())
+                log.write(record);
+        } catch (IOException e)
+        {
+            log.truncate(start);
+            throw e;
+        }
+    }
+
+    private void applyAdd(int jobId, Entry entry)
+    {
+        applyRemove(jobId);
+        added.put(jobId, entry);
+        for (int field = 0; field < FIELD_COUNT; field++)
+            totalLengths[field] += entry.lengths[field];
+        entry.counts.forEach((word, counts) ->
+        {
+            int[] frequencies = addedDocumentFrequencies.computeIfAbsent(word, w -> new int[FIELD_COUNT]);
+            for (int field = 0; field < FIELD_COUNT; field++)
+            {
+                if (counts[field] > 0)
+                    frequencies[field]++;
+            }
+        });
+        lastJobId = Math.max(lastJobId, jobId);
+    }
+
+    private void applyRemove(int jobId)
+    {
+        Entry entry = added.remove(jobId);
+        if (entry != null)
+        {
+            for (int field = 0; field < FIELD_COUNT; field++)
+                totalLengths[field] -= entry.lengths[field];
+            entry.counts.forEach((word, counts) ->
+            {
+                int[] frequencies = addedDocumentFrequencies.get(word);
+                for (int field = 0; field < FIELD_COUNT; field++)
+                {
+                    if (counts[field] > 0)
+                        frequencies[field]--;
+                }
+                if (Arrays.stream(frequencies).sum() == 0)
+                    addedDocumentFrequencies.remove(word);
+            });
+        }
+        int job = findJob(jobId);
+        if (job >= 0 && masked.add(jobId))
+        {
+            int[] lengths = getBaseLengths(job);
+            for (int field = 0; field < FIELD_COUNT; field++)
+                totalLengths[field] -= lengths[field];
+        }
+    }
+
+    /**
+     * Reads the number of words in each field of a job in the base file.
+     *
+     * @param job The position of the job in the job table.
+     */
+    private int[] getBaseLengths(int job)
+    {
+        int[] lengths = new int[FIELD_COUNT];
+        for (int field = 0; field < FIELD_COUNT; field++)
+            lengths[field] = base.getInt(jobsOffset + job * JOB_ENTRY_SIZE + 40 + field * 4);
+        return lengths;
+    }
+
+    /**
+     * Writes a new base file with the logged changes merged in, closes the log and deletes it.
+     */
+    private void compact(Path file) throws IOException
+    {
+        log.close();
+        Builder builder = new Builder();
+        for (int i = 0; i < baseJobCount; i++)
+        {
+            int job = jobsOffset + i * JOB_ENTRY_SIZE;
+            int jobId = base.getInt(job);
+            if (!masked.contains(jobId))
+            {
+                double[] norms = new double[FIELD_COUNT];
+                for (int field = 0; field < FIELD_COUNT; field++)
+                    norms[field] = base.getDouble(job + 8 + field * 8);
+                builder.addJob(jobId, base.getInt(job + 4) != 0, norms, getBaseLengths(i));
+            }
+        }
+        for (int t = 0; t < baseTermCount; t++)
+        {
+            int entry = termsOffset + t * TERM_ENTRY_SIZE;
+            String word = getTerm(t);
+            int first = base.getInt(entry + 8);
+            int count = base.getInt(entry + 12);
+            for (int p = first; p < first + count; p++)
+            {
+                int posting = postingsOffset + p * POSTING_SIZE;
+                int jobId = base.getInt(posting);
+                if (!masked.contains(jobId))
+                    builder.addPosting(word, jobId, base.getChar(posting + 4), base.getChar(posting + 6));
+            }
+        }
+        added.forEach(builder::add);
+        builder.lastJobId = lastJobId;
+        builder.write(file);
+        Files.deleteIfExists(logFile);
+    }
+
+    /**
+     * Finds a job in the base file by binary search.
+     *
+     * @return The position of the job in the job table, or -1 if it isn't in the base file.
+     */
+    private int findJob(int jobId)
+    {
+        int low = 0;
+        int high = baseJobCount - 1;
+        while (low <= high)
+        {
+            int middle = (low + high) >>> 1;
+            int id = base.getInt(jobsOffset + middle * JOB_ENTRY_SIZE);
+            if (id < jobId)
+                low = middle + 1;
+            else if (id > jobId)
+                high = middle - 1;
+            else
+                return middle;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds a word in the base file by binary search over the UTF-8 bytes of the words.
+     *
+     * @return The position of the word in the word table, or -1 if it isn't in the base file.
+     */
+    private int findTerm(byte[] word)
+    {
+        int low = 0;
+        int high = baseTermCount - 1;
+        while (low <= high)
+        {
+            int middle = (low + high) >>> 1;
+            int entry = termsOffset + middle * TERM_ENTRY_SIZE;
+            int order = compareTerm(stringsOffset + base.getInt(entry), base.getInt(entry + 4), word);
+            if (order < 0)
+                low = middle + 1;
+            else if (order > 0)
+                high = middle - 1;
+            else
+                return middle;
+        }
+        return -1;
+    }
+
+    private int compareTerm(int offset, int length, byte[] word)
+    {
+        int shared = Math.min(length, word.length);
+        for (int i = 0; i < shared; i++)
+        {
+            int order = Integer.compare(base.get(offset + i) & 0xFF, word[i] & 0xFF);
+            if (order != 0)
+                return order;
+        }
+        return Integer.compare(length, word.length);
+    }
+
+    private String getTerm(int term)
+    {
+        int entry = termsOffset + term * TERM_ENTRY_SIZE;
+        byte[] bytes = new byte[base.getInt(entry + 4)];
+        base.get(stringsOffset + base.getInt(entry), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Combines the per field dot products into a weighted cosine score, rounding in the same places as
+     * {@link RelevanceScorer#getCosine(HashMap, String)}.
+     */
+    private static int score(double[] dotProducts, double[] norms, double queryNorm)
+    {
+        int total = 0;
+        for (int field = 0; field < FIELD_COUNT; field++)
+        {
+            if (norms[field] > 0)
+            {
+                int fieldScore = (int) Math.round(dotProducts[field] / (norms[field] * queryNorm) * 100);
+                total += Job.FIELD_WEIGHTS.weigh(field, fieldScore);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Combines the per field BM25 sums into a weighted score, scaling each field by the largest sum it could reach.
+     */
+    private static int bm25Score(double[] sums, double[] maxima)
+    {
+        int total = 0;
+        for (int field = 0; field < FIELD_COUNT; field++)
+        {
+            if (maxima[field] > 0)
+            {
+                int fieldScore = (int) Math.round(sums[field] / maxima[field] * 100);
+                total += Job.FIELD_WEIGHTS.weigh(field, fieldScore);
+            }
+        }
+        return total;
+    }
+
+    private static PersistentJobIndex map(Path file) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            return new PersistentJobIndex(getLogFile(file), channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    private static String[] getFields(Job job)
+    {
+        String[] fields = new String[FIELD_COUNT];
+        fields[TITLE] = job.getJobTitle();
+        fields[KEYWORDS] = job.getKeywords() == null ? null : String.join(" ", job.getKeywords());
+        fields[CATEGORIES] = job.getCategories() == null ? null : String.join(" ", job.getCategories());
+        fields[DESCRIPTION] = job.getDescription();
+        return fields;
+    }
+
+    /**
+     * The indexed words of a job which hasn't been merged into the base file yet.
+     */
+    private static class Entry
+    {
+        private final boolean advertised;
+        private final double[] norms;
+        private final int[] lengths;
+        /**
+         * Each word mapped to the number of times it appears in each field.
+         */
+        private final HashMap<String, int[]> counts;
+
+        private Entry(boolean advertised, HashMap<String, int[]> counts)
+        {
+            this.advertised = advertised;
+            this.counts = counts;
+            this.norms = new double[FIELD_COUNT];
+            this.lengths = new int[FIELD_COUNT];
+            double[] sumsOfSquares = new double[FIELD_COUNT];
+            for (int[] fieldCounts : counts.values())
+            {
+                for (int field = 0; field < FIELD_COUNT; field++)
+                {
+                    sumsOfSquares[field] += (double) fieldCounts[field] * fieldCounts[field];
+                    lengths[field] += fieldCounts[field];
+                }
+            }
+            for (int field = 0; field < FIELD_COUNT; field++)
+                norms[field] = Math.sqrt(sumsOfSquares[field]);
+        }
+
+        private static Entry of(Job job)
+        {
+            HashMap<String, int[]> counts = new HashMap<>();
+            String[] fields = getFields(job);
+            for (int field = 0; field < FIELD_COUNT; field++)
+            {
+                int f = field;
+                TermVector.countWords(fields[field]).forEach((word, count) -> counts.computeIfAbsent(word, w -> new int[FIELD_COUNT])[f] = count);
+            }
+            return new Entry(job.getIsAdvertised(), counts);
+        }
+
+        private static Entry decode(ByteBuffer record)
+        {
+            boolean advertised = record.get() != 0;
+            int words = record.getInt();
+            HashMap<String, int[]> counts = new HashMap<>();
+            for (int i = 0; i < words; i++)
+            {
+                byte[] bytes = new byte[record.getChar()];
+                record.get(bytes);
+                int[] fieldCounts = new int[FIELD_COUNT];
+                for (int field = 0; field < FIELD_COUNT; field++)
+                    fieldCounts[field] = record.getInt();
+                counts.put(new String(bytes, StandardCharsets.UTF_8), fieldCounts);
+            }
+            return new Entry(advertised, counts);
+        }
+
+        private ByteBuffer encode(int jobId) throws IOException
+        {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(LOG_ADD);
+            out.writeInt(jobId);
+            out.writeByte(advertised ? 1 : 0);
+            out.writeInt(counts.size());
+            for (Map.Entry<String, int[]> word : counts.entrySet())
+            {
+                byte[] utf8 = word.getKey().getBytes(StandardCharsets.UTF_8);
+                out.writeChar(utf8.length);
+                out.write(utf8);
+                for (int count : word.getValue())
+                    out.writeInt(count);
+            }
+            out.flush();
+            return ByteBuffer.wrap(bytes.toByteArray());
+        }
+    }
+
+    /**
+     * Collects jobs and postings in memory and writes them out as a base file.
+     */
+    private static class Builder
+    {
+        private final TreeMap<Integer, Object[]> jobs = new TreeMap<>();
+        private final HashMap<String, ArrayList<long[]>> postings = new HashMap<>();
+        private final long[] totalLengths = new long[FIELD_COUNT];
+        private int lastJobId;
+        private int postingCount;
+
+        private void add(int jobId, Entry entry)
+        {
+            addJob(jobId, entry.advertised, entry.norms, entry.lengths);
+            entry.counts.forEach((word, counts) ->
+            {
+                for (int field = 0; field < FIELD_COUNT; field++)
+                {
+                    if (counts[field] > 0)
+                        addPosting(word, jobId, field, counts[field]);
+                }
+            });
+        }
+
+        private void addJob(int jobId, boolean advertised, double[] norms, int[] lengths)
+        {
+            jobs.put(jobId, new Object[]{advertised, norms, lengths});
+            for (int field = 0; field < FIELD_COUNT; field++)
+                totalLengths[field] += lengths[field];
+            lastJobId = Math.max(lastJobId, jobId);
+        }
+
+        private void addPosting(String word, int jobId, int field, int frequency)
+        {
+            postings.computeIfAbsent(word, w -> new ArrayList<>()).add(new long[]{jobId, field, Math.min(frequency, Character.MAX_VALUE)});
+            postingCount++;
+        }
+
+        /**
+         * Writes the base file to a temporary file next to it and moves it into place, so a reader never sees a
+         * partly written index.
+         */
+        private void write(Path file) throws IOException
+        {
+            byte[][] words = new byte[postings.size()][];
+            int w = 0;
+            for (String word : postings.keySet())
+                words[w++] = word.getBytes(StandardCharsets.UTF_8);
+            Arrays.sort(words, Arrays::compareUnsigned);
+            int stringsSize = 0;
+            for (byte[] word : words)
+                stringsSize += word.length;
+
+            long size = (long) HEADER_SIZE + (long) jobs.size() * JOB_ENTRY_SIZE + (long) words.length * TERM_ENTRY_SIZE + (long) postingCount * POSTING_SIZE + stringsSize;
+            if (size > Integer.MAX_VALUE)
+                throw new IOException("Job index would be larger than 2GB");
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(Analyzer.VERSION).putInt(jobs.size()).putInt(words.length).putInt(postingCount).putInt(lastJobId);
+            for (long length : totalLengths)
+                buffer.putLong(length);
+            jobs.forEach((jobId, job) ->
+            {
+                buffer.putInt(jobId).putInt((Boolean) job[0] ? 1 : 0);
+                for (double norm : (double[]) job[1])
+                    buffer.putDouble(norm);
+                for (int length : (int[]) job[2])
+                    buffer.putInt(length);
+            });
+            int stringOffset = 0;
+            int first = 0;
+            for (byte[] word : words)
+            {
+                int count = postings.get(new String(word, StandardCharsets.UTF_8)).size();
+                buffer.putInt(stringOffset).putInt(word.length).putInt(first).putInt(count);
+                stringOffset += word.length;
+                first += count;
+            }
+            for (byte[] word : words)
+            {
+                for (long[] posting : postings.get(new String(word, StandardCharsets.UTF_8)))
+                    buffer.putInt((int) posting[0]).putChar((char) posting[1]).putChar((char) posting[2]);
+            }
+            for (byte[] word : words)
+                buffer.put(word);
+
+            Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
+            {
+                buffer.flip();
+                while (buffer.hasRemaining())
+                    channel.write(buffer);
+                channel.force(true);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+}
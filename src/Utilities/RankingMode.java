@@ -0,0 +1,22 @@
+package Utilities;
+
+/**
+ * The ways a job search can rank the jobs matching a search term. Both give each job a score from 0-100 made up of
+ * the same weighted fields.
+ *
+ * @author Charlie Timlock, Levi Quilliam, Tim Perkins, and Merrill Nguyen
+ * @version 1.0
+ */
+public enum RankingMode
+{
+    /**
+     * Cosine similarity of raw word counts, see {@link RelevanceScorer#getCosineScore(TermVector, TermVector)}. Every
+     * word counts the same however many jobs it appears in.
+     */
+    COSINE,
+    /**
+     * Okapi BM25, see {@link RelevanceScorer#getBm25Idf(int, int)}. Words which appear in fewer jobs count for more,
+     * repeating a word has diminishing returns, and long fields don't win just by being long.
+     */
+    BM25
+}
@@ -1,18 +1,28 @@
 package Utilities;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
- * This class can be used to test for the similarity between two texts, and will provide a score.
+ * This class can be used to test for the similarity between two texts, and will provide a score. Texts are split into
+ * words by the {@link Analyzer} and compared as {@link TermVector}s, which can be made once and reused for many
+ * comparisons.
  *
  * @author Charlie Timlock
  * @version 1.0
  */
 public abstract class RelevanceScorer
 {
+    /**
+     * How quickly repeating a word stops raising a BM25 score.
+     */
+    public static final double BM25_K1 = 1.2;
+    /**
+     * How much a BM25 score is scaled down for text which is longer than average, from 0 for not at all to 1 for
+     * fully in proportion to its length.
+     */
+    public static final double BM25_B = 0.75;
+
     /**
      * This method will return a similarity score for two given texts, based off of the Cosine Similarity score.
      * The two strings are checked for the frequency of common words on a word-by-word basis, and a rounded score is returned.
@@ -25,71 +35,25 @@ public abstract class RelevanceScorer
      */
     public static int getCosineScore(String textA, String textB)
     {
-        if ((textA == null || textA.isBlank()) || (textB == null || textB.isBlank()))
-        {
-            return 0;
-        }
-
-        String[] text1Words = textA.split(" ");
-        String[] text2Words = textB.split(" ");
-        Map<String, Values> wordFreqVector = new HashMap<>();
-        List<String> distinctWords = new ArrayList<>();
-
-        for (String text : text1Words)
-        {
-            String word = text.trim().toLowerCase();
-            if (!word.isEmpty())
-            {
-                if (wordFreqVector.containsKey(word))
-                {
-                    Values vals1 = wordFreqVector.get(word);
-                    int freq1 = vals1.val1 + 1;
-                    int freq2 = vals1.val2;
-                    vals1.updateValues(freq1, freq2);
-                    wordFreqVector.put(word, vals1);
-                } else
-                {
-                    Values vals1 = new Values(1, 0);
-                    wordFreqVector.put(word, vals1);
-                    distinctWords.add(word);
-                }
-            }
-        }
-
-        for (String text : text2Words)
-        {
-            String word = text.trim().toLowerCase();
-            if (!word.isEmpty())
-            {
-                if (wordFreqVector.containsKey(word))
-                {
-                    Values vals1 = wordFreqVector.get(word);
-                    int freq1 = vals1.val1;
-                    int freq2 = vals1.val2 + 1;
-                    vals1.updateValues(freq1, freq2);
-                    wordFreqVector.put(word, vals1);
-                } else
-                {
-                    Values vals1 = new Values(0, 1);
-                    wordFreqVector.put(word, vals1);
-                    distinctWords.add(word);
-                }
-            }
-        }
+        HashMap<String, Integer> ids = new HashMap<>();
+        return getCosineScore(TermVector.of(textA, ids), TermVector.of(textB, ids));
+    }
 
-        double vectorAB = 0.0000000;
-        double vectorA = 0.0000000;
-        double vectorB = 0.0000000;
-        for (String distinctWord : distinctWords)
+    /**
+     * Gets the cosine similarity score of two term vectors. Gives the same score as {@link #getCosineScore(String, String)}
+     * on the texts the vectors were made from, without splitting or hashing either text again.
+     *
+     * @param vectorA The first vector to be compared.
+     * @param vectorB The second vector to be compared.
+     * @return The similarity rating, from 0-100.
+     */
+    public static int getCosineScore(TermVector vectorA, TermVector vectorB)
+    {
+        if (vectorA.isEmpty() || vectorB.isEmpty())
         {
-            Values vals12 = wordFreqVector.get(distinctWord);
-            double freq1 = vals12.val1;
-            double freq2 = vals12.val2;
-            vectorAB = vectorAB + freq1 * freq2;
-            vectorA = vectorA + freq1 * freq1;
-            vectorB = vectorB + freq2 * freq2;
+            return 0;
         }
-        return (int) Math.round((vectorAB) / (Math.sqrt(vectorA) * Math.sqrt(vectorB)) * 100);
+        return (int) Math.round(vectorA.dot(vectorB) / (vectorA.getNorm() * vectorB.getNorm()) * 100);
     }
 
     /**
@@ -101,34 +65,73 @@ public abstract class RelevanceScorer
      */
     public static int getCosine(HashMap<String, Integer> inputs, String matchingTerm)
     {
-        if (inputs.values().stream().mapToInt(Integer::intValue).sum() == 100)
+        int totalWeight = 0;
+        for (int weight : inputs.values())
+            totalWeight += weight;
+        if (totalWeight == 100)
         {
-            return inputs.keySet().stream().mapToInt(key -> getCosineScore(key.toLowerCase(), matchingTerm.toLowerCase()) * inputs.get(key) / 100).sum();
+            // The texts are only compared here, so their words are given ids which are thrown away afterwards.
+            HashMap<String, Integer> ids = new HashMap<>();
+            TermVector[] inputVectors = new TermVector[inputs.size()];
+            int[] weights = new int[inputs.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> input : inputs.entrySet())
+            {
+                inputVectors[i] = TermVector.of(input.getKey(), ids);
+                weights[i++] = input.getValue();
+            }
+            TermVector matchingVector = TermVector.of(matchingTerm, ids);
+            int score = 0;
+            for (i = 0; i < inputVectors.length; i++)
+                score += getCosineScore(inputVectors[i], matchingVector) * weights[i] / 100;
+            return score;
         } else
         {
             System.out.println("Please ensure weights sum to 100");
-            System.out.println(inputs.values().stream().mapToInt(Integer::intValue).sum());
+            System.out.println(totalWeight);
             inputs.keySet().forEach((k) -> System.out.println(k + " - " + inputs.get(k)));
             return -1;
         }
     }
 
-    private static class Values
+    /**
+     * Gets the inverse document frequency of a word for BM25, which is larger for words which appear in fewer
+     * documents. Always positive, so a word in every document still counts for a little.
+     * See <a href="https://en.wikipedia.org/wiki/Okapi_BM25">Okapi BM25 (Wikipedia)</a>.
+     *
+     * @param documentCount     The number of documents searched.
+     * @param documentFrequency The number of those documents containing the word.
+     * @return The weight of the word.
+     */
+    public static double getBm25Idf(int documentCount, int documentFrequency)
     {
+        return Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
 
-        private int val1;
-        private int val2;
-
-        private Values(int v1, int v2)
-        {
-            this.val1 = v1;
-            this.val2 = v2;
-        }
+    /**
+     * Gets the BM25 weight of a word's frequency in a document, before it is multiplied by the word's
+     * {@link #getBm25Idf(int, int)}. The weight rises with the frequency towards {@link #getBm25MaxTermWeight()} and
+     * is lower in documents longer than average.
+     *
+     * @param termFrequency         The number of times the word appears in the document.
+     * @param documentLength        The number of words in the document.
+     * @param averageDocumentLength The average number of words in a document.
+     * @return The weight of the frequency.
+     */
+    public static double getBm25TermWeight(double termFrequency, double documentLength, double averageDocumentLength)
+    {
+        double relativeLength = averageDocumentLength > 0 ? documentLength / averageDocumentLength : 1;
+        return termFrequency * (BM25_K1 + 1) / (termFrequency + BM25_K1 * (1 - BM25_B + BM25_B * relativeLength));
+    }
 
-        public void updateValues(int v1, int v2)
-        {
-            this.val1 = v1;
-            this.val2 = v2;
-        }
+    /**
+     * Gets the limit which {@link #getBm25TermWeight(double, double, double)} approaches as a word is repeated, used
+     * to scale BM25 scores to 0-100.
+     *
+     * @return The largest possible term weight.
+     */
+    public static double getBm25MaxTermWeight()
+    {
+        return BM25_K1 + 1;
     }
 }
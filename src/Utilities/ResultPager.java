@@ -0,0 +1,155 @@
+package Utilities;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Pages through a list of results in ranked order without sorting the whole list. Each result's sort key is worked
+ * out once, and only as many of the best results as the requested page needs are picked out with bounded min-heaps,
+ * so showing the first page of n results costs O(n log k) for a page size of k. Later pages are picked out when they
+ * are first asked for. Keys are worked out and the best results picked out on the shared {@link ScoringEngine}.
+ *
+ * @param <T> The type of result being paged.
+ * @author Charlie Timlock, Levi Quilliam, Tim Perkins, and Merrill Nguyen
+ * @version 1.0
+ */
+public class ResultPager<T>
+{
+    private final List<T> items;
+    /**
+     * Sort key of each item, or null if the items are already in order.
+     */
+    private final int[] keys;
+    private final boolean descending;
+    private final int pageSize;
+    /**
+     * Positions in items of the results ranked so far, best first. Only the first rankedCount entries are valid.
+     */
+    private int[] ranked;
+    private int rankedCount;
+
+    private ResultPager(List<T> items, int[] keys, boolean descending, int pageSize)
+    {
+        this.items = items;
+        this.keys = keys;
+        this.descending = descending;
+        this.pageSize = pageSize;
+        this.ranked = new int[0];
+        this.rankedCount = 0;
+    }
+
+    /**
+     * Creates a pager which keeps the results in the order given.
+     *
+     * @param items    The results in the order they should be shown.
+     * @param pageSize The number of results on each page.
+     * @param <T>      The type of result being paged.
+     * @return Returns the pager.
+     */
+    public static <T> ResultPager<T> inOrder(List<T> items, int pageSize)
+    {
+        return new ResultPager<>(items, null, false, pageSize);
+    }
+
+    /**
+     * Creates a pager which ranks results by a key. Results with equal keys keep their original order when ascending
+     * and are reversed when descending.
+     *
+     * @param items      The results to be ranked.
+     * @param key        Function giving the sort key of a result, called once per result.
+     * @param descending True to show the largest keys first, false to show the smallest first.
+     * @param pageSize   The number of results on each page.
+     * @param <T>        The type of result being paged.
+     * @return Returns the pager.
+     */
+    public static <T> ResultPager<T> ranked(List<T> items, ToIntFunction<T> key, boolean descending, int pageSize)
+    {
+        return new ResultPager<>(items, ScoringEngine.getDefault().score(items, key), descending, pageSize);
+    }
+
+    /**
+     * Gets a result by its overall rank.
+     *
+     * @param index The rank of the result, starting at 0.
+     * @return The result at that rank.
+     */
+    public T get(int index)
+    {
+        if (index < 0 || index >= items.size())
+            throw new IndexOutOfBoundsException("Result " + index + " out of " + items.size());
+        if (keys == null)
+            return items.get(index);
+        rankUpTo(index + 1);
+        return items.get(ranked[index]);
+    }
+
+    /**
+     * Gets the sort key a result was ranked by, so it can be shown without working it out again.
+     *
+     * @param index The rank of the result, starting at 0.
+     * @return The sort key of the result at that rank.
+     * @throws IllegalStateException If the pager keeps the results in the order given instead of ranking them.
+     */
+    public int getKey(int index)
+    {
+        if (keys == null)
+            throw new IllegalStateException("Results kept in the order given have no sort keys");
+        if (index < 0 || index >= items.size())
+            throw new IndexOutOfBoundsException("Result " + index + " out of " + items.size());
+        rankUpTo(index + 1);
+        return keys[ranked[index]];
+    }
+
+    /**
+     * Gets the results on a page, ranking any results the page needs which haven't been ranked yet.
+     *
+     * @param pageNo The page number, starting at 0.
+     * @return The results on the page, which may be fewer than the page size on the last page.
+     */
+    public List<T> getPage(int pageNo)
+    {
+        int from = Math.min(pageNo * pageSize, items.size());
+        int to = Math.min(from + pageSize, items.size());
+        if (keys == null)
+            return items.subList(from, to);
+        rankUpTo(to);
+        ArrayList<T> page = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++)
+            page.add(items.get(ranked[i]));
+        return page;
+    }
+
+    /**
+     * Accessor method to get the number of results on each page.
+     *
+     * @return The page size.
+     */
+    public int getPageSize()
+    {
+        return pageSize;
+    }
+
+    /**
+     * Gets the total number of results.
+     *
+     * @return The number of results.
+     */
+    public int size()
+    {
+        return items.size();
+    }
+
+    /**
+     * Makes sure at least the best count results are ranked. The number ranked at least doubles each time so that
+     * paging through every result costs O(n log n) overall.
+     */
+    private void rankUpTo(int count)
+    {
+        if (count <= rankedCount)
+            return;
+        int target = Math.min(items.size(), Math.max(count, rankedCount * 2));
+        ranked = ScoringEngine.getDefault().top(keys, target, descending);
+        rankedCount = ranked.length;
+    }
+}
@@ -0,0 +1,266 @@
+package Utilities;
+
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.ToIntFunction;
+
+/**
+ * Scores and ranks results on a dedicated fork-join pool. The results are split into chunks which are scored in
+ * parallel, and when ranking each chunk keeps its own bounded heap of its best results, so the chunks never contend
+ * with each other. The chunk heaps are merged pairwise as the chunks finish. Inputs smaller than the sequential
+ * threshold aren't split and run on the calling thread, since handing them to the pool would cost more than it saves.
+ * <p>
+ * Scoring functions are called from several threads at once, so they must not change shared state.
+ *
+ * @author Charlie Timlock, Levi Quilliam, Tim Perkins, and Merrill Nguyen
+ * @version 1.0
+ */
+public class ScoringEngine
+{
+    /**
+     * The number of results below which work isn't split up.
+     */
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 256;
+    /**
+     * The number of chunks each worker is given, so that a slow chunk doesn't leave the other workers idle.
+     */
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private static ScoringEngine defaultEngine;
+
+    private final ForkJoinPool pool;
+    private final int sequentialThreshold;
+
+    /**
+     * Non-default constructor which creates an engine with its own pool.
+     *
+     * @param parallelism         The number of worker threads, at least 1.
+     * @param sequentialThreshold The number of results below which work runs on the calling thread, at least 1.
+     */
+    public ScoringEngine(int parallelism, int sequentialThreshold)
+    {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism must be at least 1 but was " + parallelism);
+        if (sequentialThreshold < 1)
+            throw new IllegalArgumentException("Sequential threshold must be at least 1 but was " + sequentialThreshold);
+        this.pool = new ForkJoinPool(parallelism);
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    /**
+     * Gets the engine shared by the program, creating one with a worker per core if one hasn't been set.
+     *
+     * @return The shared engine.
+     */
+    public static synchronized ScoringEngine getDefault()
+    {
+        if (defaultEngine == null)
+            defaultEngine = new ScoringEngine(Runtime.getRuntime().availableProcessors(), DEFAULT_SEQUENTIAL_THRESHOLD);
+        return defaultEngine;
+    }
+
+    /**
+     * Replaces the engine shared by the program, shutting down the previous one.
+     *
+     * @param engine The engine to share.
+     */
+    public static synchronized void setDefault(ScoringEngine engine)
+    {
+        if (defaultEngine != null && defaultEngine != engine)
+            defaultEngine.shutdown();
+        defaultEngine = engine;
+    }
+
+    /**
+     * Accessor method to get the number of worker threads.
+     *
+     * @return The parallelism of the engine's pool.
+     */
+    public int getParallelism()
+    {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Accessor method to get the number of results below which work isn't split up.
+     *
+     * @return The sequential threshold.
+     */
+    public int getSequentialThreshold()
+    {
+        return sequentialThreshold;
+    }
+
+    /**
+     * Scores every result.
+     *
+     * @param items  The results to be scored.
+     * @param scorer Function giving the score of a result, called once per result.
+     * @param <T>    The type of result being scored.
+     * @return The score of each result, in the same order as the results.
+     */
+    public <T> int[] score(List<T> items, ToIntFunction<? super T> scorer)
+    {
+        int[] scores = new int[items.size()];
+        ScoreTask<T> task = new ScoreTask<>(items, scorer, scores, 0, scores.length, chunkSize(scores.length));
+        if (scores.length < sequentialThreshold)
+            task.compute();
+        else
+            pool.invoke(task);
+        return scores;
+    }
+
+    /**
+     * Picks out the best results by score without sorting every score. Results are ordered by score and then by
+     * position, both in the same direction, so equal scores keep their original order when ascending and are reversed
+     * when descending.
+     *
+     * @param scores     The score of each result.
+     * @param count      The number of results to pick out.
+     * @param descending True to pick the largest scores, false to pick the smallest.
+     * @return The positions of the best results, best first. There are fewer than count if there aren't enough results.
+     */
+    public int[] top(int[] scores, int count, boolean descending)
+    {
+        int k = Math.min(count, scores.length);
+        if (k <= 0)
+            return new int[0];
+        TopTask task = new TopTask(scores, k, descending, 0, scores.length, chunkSize(scores.length));
+        return scores.length < sequentialThreshold ? task.compute() : pool.invoke(task);
+    }
+
+    /**
+     * Stops the engine's worker threads once any work in progress has finished.
+     */
+    public void shutdown()
+    {
+        pool.shutdown();
+    }
+
+    private int chunkSize(int size)
+    {
+        return Math.max(sequentialThreshold, size / (pool.getParallelism() * CHUNKS_PER_WORKER) + 1);
+    }
+
+    /**
+     * Compares two positions by score and then by position, the best first.
+     */
+    private static int compare(int[] scores, int a, int b, boolean descending)
+    {
+        int order = scores[a] != scores[b] ? Integer.compare(scores[a], scores[b]) : Integer.compare(a, b);
+        return descending ? -order : order;
+    }
+
+    /**
+     * Scores a range of results into a shared array, splitting the range in half until it is one chunk.
+     */
+    private static class ScoreTask<T> extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final List<T> items;
+        private final ToIntFunction<? super T> scorer;
+        private final int[] scores;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        private ScoreTask(List<T> items, ToIntFunction<? super T> scorer, int[] scores, int from, int to, int chunkSize)
+        {
+            this.items = items;
+            this.scorer = scorer;
+            this.scores = scores;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (to - from <= chunkSize)
+            {
+                for (int i = from; i < to; i++)
+                    scores[i] = scorer.applyAsInt(items.get(i));
+            } else
+            {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ScoreTask<>(items, scorer, scores, from, middle, chunkSize), new ScoreTask<>(items, scorer, scores, middle, to, chunkSize));
+            }
+        }
+    }
+
+    /**
+     * Picks out the best positions of a range, keeping a bounded min-heap per chunk and merging the two halves of a
+     * split range.
+     */
+    private static class TopTask extends RecursiveTask<int[]>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] scores;
+        private final int count;
+        private final boolean descending;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        private TopTask(int[] scores, int count, boolean descending, int from, int to, int chunkSize)
+        {
+            this.scores = scores;
+            this.count = count;
+            this.descending = descending;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected int[] compute()
+        {
+            if (to - from <= chunkSize)
+                return chunkTop();
+            int middle = (from + to) >>> 1;
+            TopTask left = new TopTask(scores, count, descending, from, middle, chunkSize);
+            TopTask right = new TopTask(scores, count, descending, middle, to, chunkSize);
+            right.fork();
+            int[] leftTop = left.compute();
+            return merge(leftTop, right.join());
+        }
+
+        private int[] chunkTop()
+        {
+            int k = Math.min(count, to - from);
+            // Worst of the best seen so far at the head.
+            PriorityQueue<Integer> best = new PriorityQueue<>(k + 1, (a, b) -> compare(scores, b, a, descending));
+            for (int i = from; i < to; i++)
+            {
+                best.add(i);
+                if (best.size() > k)
+                    best.poll();
+            }
+            int[] top = new int[best.size()];
+            for (int i = top.length - 1; i >= 0; i--)
+                top[i] = best.poll();
+            return top;
+        }
+
+        private int[] merge(int[] a, int[] b)
+        {
+            int[] merged = new int[Math.min(count, a.length + b.length)];
+            int i = 0;
+            int j = 0;
+            for (int m = 0; m < merged.length; m++)
+            {
+                if (j >= b.length || (i < a.length && compare(scores, a[i], b[j], descending) <= 0))
+                    merged[m] = a[i++];
+                else
+                    merged[m] = b[j++];
+            }
+            return merged;
+        }
+    }
+}
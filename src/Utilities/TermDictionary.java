@@ -0,0 +1,102 @@
+package Utilities;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gives every distinct word a small integer id so that term vectors and search indexes can store ints instead of
+ * Strings. Ids start at 0 and are never reused, so they can be used directly as array indexes.
+ * <p>
+ * Words are never removed, so only the words of job text are interned. Resumes and search terms only look their words
+ * up, so typos and one-off words in them don't stay in memory for the life of the program.
+ *
+ * @author Charlie Timlock, Levi Quilliam, Tim Perkins, and Merrill Nguyen
+ * @version 1.0
+ */
+public final class TermDictionary
+{
+    /**
+     * Returned by {@link #lookup(String)} when a word has never been interned.
+     */
+    public static final int UNKNOWN = -1;
+
+    /**
+     * The id of each word, read without locking.
+     */
+    private static final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    /**
+     * Each word by id. This is an unsynchronized ArrayList, so it is only read or written while holding its own lock,
+     * which is also held while a new word is added to ids so that each word gets exactly one id.
+     */
+    private static final ArrayList<String> terms = new ArrayList<>();
+    /**
+     * The number of words, written while holding the lock on terms and read without locking.
+     */
+    private static volatile int size = 0;
+
+    private TermDictionary()
+    {
+    }
+
+    /**
+     * Gets the id of a word, giving it a new id if it hasn't been seen before.
+     *
+     * @param term The word to be interned.
+     * @return The id of the word.
+     */
+    public static int intern(String term)
+    {
+        Integer id = ids.get(term);
+        if (id != null)
+            return id;
+        synchronized (terms)
+        {
+            id = ids.get(term);
+            if (id == null)
+            {
+                id = terms.size();
+                terms.add(term);
+                ids.put(term, id);
+                size = terms.size();
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Gets the id of a word without adding it to the dictionary.
+     *
+     * @param term The word to look up.
+     * @return The id of the word or {@link #UNKNOWN} if it has never been interned.
+     */
+    public static int lookup(String term)
+    {
+        Integer id = ids.get(term);
+        return id == null ? UNKNOWN : id;
+    }
+
+    /**
+     * Gets the word with the given id.
+     *
+     * @param id The id of the word.
+     * @return The word the id was given to.
+     */
+    public static String getTerm(int id)
+    {
+        synchronized (terms)
+        {
+            return terms.get(id);
+        }
+    }
+
+    /**
+     * Gets the number of words in the dictionary, which is also one more than the largest id given out. It only ever
+     * grows, so it can be compared with an earlier size to tell whether words have been added since.
+     *
+     * @return The number of interned words.
+     */
+    public static int size()
+    {
+        return size;
+    }
+}
@@ -0,0 +1,244 @@
+package Utilities;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * An immutable sparse vector of word frequencies for a piece of text, with its euclidean length worked out once when
+ * the vector is made. Words are stored as {@link TermDictionary} ids in a sorted int array with a parallel float array
+ * of weights, so two vectors can be compared with
+ * {@link RelevanceScorer#getCosineScore(TermVector, TermVector)} by merging the arrays, without splitting either text
+ * again or creating any objects.
+ *
+ * @author Charlie Timlock, Levi Quilliam, Tim Perkins, and Merrill Nguyen
+ * @version 1.0
+ */
+public final class TermVector
+{
+    /**
+     * A vector with no words, used for blank text.
+     */
+    public static final TermVector EMPTY = new TermVector(new int[0], new float[0], 0, -1);
+
+    private final int[] termIds;
+    private final float[] weights;
+    private final double norm;
+    /**
+     * The size of the {@link TermDictionary} before the vector's words were looked up, or -1 if every word was known.
+     */
+    private final int dictionarySize;
+
+    private TermVector(int[] termIds, float[] weights, double norm, int dictionarySize)
+    {
+        this.termIds = termIds;
+        this.weights = weights;
+        this.norm = norm;
+        this.dictionarySize = dictionarySize;
+    }
+
+    /**
+     * Creates the term vector of a text, splitting it into words with the {@link Analyzer}. Words which haven't been
+     * seen before are added to the {@link TermDictionary}.
+     *
+     * @param text The text to be turned into a vector, may be null.
+     * @return The term vector of the text.
+     */
+    public static TermVector of(String text)
+    {
+        return build(text, TermDictionary::intern, -1);
+    }
+
+    /**
+     * Creates the term vector of a search query or other text which is only matched against job text. Unlike
+     * {@link #of(String)} words which haven't been seen before are not added to the {@link TermDictionary}, as they
+     * can't match anything. They are still counted in the length of the vector so that scores are the same as for
+     * {@link #of(String)}. A vector which is kept should be made again once it {@link #isOutOfDate()}.
+     *
+     * @param text The query to be turned into a vector, may be null.
+     * @return The term vector of the query.
+     */
+    public static TermVector ofQuery(String text)
+    {
+        return build(text, TermDictionary::lookup, TermDictionary.size());
+    }
+
+    /**
+     * Creates the term vector of a text with ids from a dictionary of the caller's own instead of the
+     * {@link TermDictionary}, so that texts which are only compared once don't add their words to it. Vectors can only
+     * be compared with vectors made with the same dictionary.
+     *
+     * @param text The text to be turned into a vector, may be null.
+     * @param ids  The dictionary to take ids from, which words that haven't been seen before are added to.
+     * @return The term vector of the text.
+     */
+    public static TermVector of(String text, HashMap<String, Integer> ids)
+    {
+        return build(text, word -> ids.computeIfAbsent(word, newWord -> ids.size()), -1);
+    }
+
+    /**
+     * Creates a term vector, taking the id of each word from a dictionary.
+     *
+     * @param dictionarySize The size of the {@link TermDictionary} before any words were looked up, kept if some of
+     *                       the words are unknown, or -1 if the vector can't go out of date.
+     */
+    private static TermVector build(String text, ToIntFunction<String> dictionary, int dictionarySize)
+    {
+        if (text == null || text.isBlank())
+            return EMPTY;
+
+        int[] ids = new int[16];
+        int count = 0;
+        HashMap<String, Integer> unknown = null;
+        Analyzer.TokenStream tokens = Analyzer.tokens(text);
+        for (String word = tokens.next(); word != null; word = tokens.next())
+        {
+            if (count == ids.length)
+                ids = Arrays.copyOf(ids, count * 2);
+            int id = dictionary.applyAsInt(word);
+            if (id == TermDictionary.UNKNOWN)
+            {
+                if (unknown == null)
+                    unknown = new HashMap<>();
+                unknown.merge(word, 1, Integer::sum);
+            } else
+                ids[count++] = id;
+        }
+        Arrays.sort(ids, 0, count);
+
+        int[] termIds = new int[count];
+        float[] weights = new float[count];
+        int size = 0;
+        double sumOfSquares = 0;
+        for (int i = 0; i < count; )
+        {
+            int j = i;
+            while (j < count && ids[j] == ids[i])
+                j++;
+            termIds[size] = ids[i];
+            weights[size] = j - i;
+            sumOfSquares += (double) (j - i) * (j - i);
+            size++;
+            i = j;
+        }
+        if (unknown != null)
+        {
+            for (int frequency : unknown.values())
+                sumOfSquares += (double) frequency * frequency;
+        }
+        if (sumOfSquares == 0)
+            return EMPTY;
+        return new TermVector(Arrays.copyOf(termIds, size), Arrays.copyOf(weights, size), Math.sqrt(sumOfSquares), unknown == null ? -1 : dictionarySize);
+    }
+
+    /**
+     * Splits text into words the same way as {@link #of(String)} and counts each word, without using the
+     * {@link TermDictionary}. Used by indexes which keep their own dictionary of words.
+     *
+     * @param text The text to be split, may be null.
+     * @return Each distinct word mapped to the number of times it appears, in the order the words first appear.
+     */
+    static LinkedHashMap<String, Integer> countWords(String text)
+    {
+        LinkedHashMap<String, Integer> counts = new LinkedHashMap<>();
+        Analyzer.TokenStream tokens = Analyzer.tokens(text);
+        for (String word = tokens.next(); word != null; word = tokens.next())
+            counts.merge(word, 1, Integer::sum);
+        return counts;
+    }
+
+    /**
+     * Works out the dot product of this vector and another vector by walking both sorted id arrays together.
+     *
+     * @param other The vector to multiply with.
+     * @return The sum of the products of the weights of every word in both vectors.
+     */
+    public double dot(TermVector other)
+    {
+        int[] otherIds = other.termIds;
+        float[] otherWeights = other.weights;
+        double total = 0;
+        int i = 0;
+        int j = 0;
+        while (i < termIds.length && j < otherIds.length)
+        {
+            int a = termIds[i];
+            int b = otherIds[j];
+            if (a == b)
+            {
+                total += (double) weights[i] * otherWeights[j];
+                i++;
+                j++;
+            } else if (a < b)
+                i++;
+            else
+                j++;
+        }
+        return total;
+    }
+
+    /**
+     * Accessor method to get the euclidean length of the vector.
+     *
+     * @return The length of the vector, 0 if the text was blank.
+     */
+    public double getNorm()
+    {
+        return norm;
+    }
+
+    /**
+     * Accessor method to get the dictionary id of one of the words in the vector.
+     *
+     * @param index The position of the word in the vector, from 0 to {@link #size()} - 1.
+     * @return The {@link TermDictionary} id of the word. Ids are in ascending order.
+     */
+    public int getTermId(int index)
+    {
+        return termIds[index];
+    }
+
+    /**
+     * Accessor method to get the weight of one of the words in the vector.
+     *
+     * @param index The position of the word in the vector, from 0 to {@link #size()} - 1.
+     * @return The weight (frequency) of the word.
+     */
+    public float getWeight(int index)
+    {
+        return weights[index];
+    }
+
+    /**
+     * Checks whether words which were unknown when the vector was made may since have been added to the
+     * {@link TermDictionary}, in which case the vector misses matches on them and should be made again.
+     *
+     * @return True if the vector was made with {@link #ofQuery(String)} and is out of date.
+     */
+    public boolean isOutOfDate()
+    {
+        return dictionarySize >= 0 && TermDictionary.size() > dictionarySize;
+    }
+
+    /**
+     * Checks whether the vector has no words.
+     *
+     * @return True if the vector was made from blank text.
+     */
+    public boolean isEmpty()
+    {
+        return norm == 0;
+    }
+
+    /**
+     * Gets the number of distinct known words in the vector.
+     *
+     * @return The number of words in the vector.
+     */
+    public int size()
+    {
+        return termIds.length;
+    }
+}
@@ -3,6 +3,7 @@ package Utilities;
 import Entities.Invitation;
 import Entities.Job;
 import Entities.JobSeeker;
+import Entities.JobSummary;
 
 import java.sql.Date;
 import java.text.DecimalFormat;
@@ -457,6 +458,20 @@ public class UserIO
         System.out.println("\n" + "-".repeat(CHAR_WIDTH));
     }
 
+    /**
+     * Prints the Heading of a list of job summaries.
+     */
+    public static void printJobSummaryHeading()
+    {
+        printBlock("No.", " | ", 10);
+        printBlock("Job Title", " | ", 25);
+        printBlock("Company", " | ", 20);
+        printBlock("Listed", " | ", 15);
+        printBlock("Compensation", " | ", 20);
+        printBlock("Applicants", " | ", 15);
+        System.out.println("\n" + "-".repeat(CHAR_WIDTH));
+    }
+
     /**
      * Formats compensation with commas and cents.
      *
@@ -487,6 +502,23 @@ public class UserIO
         System.out.println("\n");
     }
 
+    /**
+     * Prints a summary of a job when listing a recruiter's jobs.
+     *
+     * @param summary The summary to be printed.
+     * @param number  The number as indexed on the job list.
+     */
+    public static void printJobSummary(JobSummary summary, int number)
+    {
+        printBlock(String.valueOf(number), " - ", 10);
+        printBlock(summary.getJobTitle(), " - ", 25);
+        printBlock(summary.getCompany(), " - ", 20);
+        printBlock(summary.getDateListed() == null ? null : summary.getDateListed().toString(), " - ", 15);
+        printBlock(formatCompensation(summary.getCompensation()), " - ", 20);
+        printBlock(String.valueOf(summary.getApplicantCount()), " - ", 15);
+        System.out.println("\n");
+    }
+
     /**
      * Prints the Job Summary.
      *
@@ -694,10 +726,10 @@ public class UserIO
     public static void printInvitationSummary(Invitation invitation, int number)
     {
         printBlock(String.valueOf(number), " - ", 10);
-        printBlock(invitation.getJob().getJobTitle(), " - ", 25);
+        printBlock(invitation.getJobTitle(), " - ", 25);
         printBlock(invitation.getRecruiter().getFirstName() + " " + invitation.getRecruiter().getLastName(), " - ", 25);
         printBlock(invitation.getDateSent().toString(), " - ", 25);
-        printBlock(invitation.getDateOfInterview().toString(), " - ", 25);
+        printBlock(invitation.getDateOfInterview() == null ? null : invitation.getDateOfInterview().toString(), " - ", 25);
         System.out.println("\n");
     }
 }